@@ -0,0 +1,240 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.processors.lifecycle.SenderStateHolder;
+
+/**
+ * Predicate that caches the decisions of another predicate per command sender, for predicates that are expensive to
+ * evaluate, such as permission checks that query a remote backend.
+ *
+ * <p>The predicate may be used as the bypass predicate of the processors. Decisions are evaluated again once they are
+ * older than the time-to-live, or once they have been invalidated. As the decisions are keyed by the sender only,
+ * the wrapped predicate should not depend on anything but the sender.</p>
+ *
+ * <p>Decisions that are being evaluated while the sender is invalidated are not cached, so an invalidation is never
+ * undone by an evaluation that started before it.</p>
+ *
+ * <p>The cache holds onto the senders until their decisions expire or are invalidated, so the predicate should be
+ * registered to a {@link org.incendo.cloud.processors.lifecycle.SenderLifecycle} if the senders are temporary.</p>
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class CachingContextPredicate<C> implements Predicate<@NonNull CommandContext<C>>, SenderStateHolder<C> {
+
+    /**
+     * Returns a predicate that caches the decisions of the given {@code predicate} per sender.
+     *
+     * <p>Expired decisions are evicted at most once per time-to-live when a decision is cached.</p>
+     *
+     * @param <C>        command sender type
+     * @param predicate  predicate to cache
+     * @param timeToLive how long the decisions are cached for
+     * @param clock      clock used to expire the decisions
+     * @return the predicate
+     */
+    public static <C> @NonNull CachingContextPredicate<C> of(
+            final @NonNull Predicate<@NonNull CommandContext<C>> predicate,
+            final @NonNull Duration timeToLive,
+            final @NonNull Clock clock
+    ) {
+        final long timeToLiveMillis = Objects.requireNonNull(timeToLive, "timeToLive").toMillis();
+        if (timeToLiveMillis <= 0L) {
+            throw new IllegalArgumentException("timeToLive must be positive");
+        }
+        return new CachingContextPredicate<>(
+                Objects.requireNonNull(predicate, "predicate"),
+                new ExpiringCache<>(timeToLiveMillis, Objects.requireNonNull(clock, "clock"))
+        );
+    }
+
+    /**
+     * Returns a predicate that caches the decisions of the given {@code predicate} per sender in the given
+     * {@code cache}.
+     *
+     * <p>The cache is responsible for expiring the decisions, such as a {@link CaffeineCache} backed by a cache that
+     * expires entries after they have been written. The cache must support {@link CloudCache#keys()} for
+     * {@link #invalidateAll()} to work.</p>
+     *
+     * @param <C>       command sender type
+     * @param predicate predicate to cache
+     * @param cache     cache that stores the decisions
+     * @return the predicate
+     */
+    public static <C> @NonNull CachingContextPredicate<C> of(
+            final @NonNull Predicate<@NonNull CommandContext<C>> predicate,
+            final @NonNull CloudCache<C, Boolean> cache
+    ) {
+        return new CachingContextPredicate<>(
+                Objects.requireNonNull(predicate, "predicate"),
+                Objects.requireNonNull(cache, "cache")
+        );
+    }
+
+    private final AtomicLong generation = new AtomicLong();
+    private final Predicate<@NonNull CommandContext<C>> predicate;
+    private final CloudCache<C, Boolean> decisions;
+
+    private CachingContextPredicate(
+            final @NonNull Predicate<@NonNull CommandContext<C>> predicate,
+            final @NonNull CloudCache<C, Boolean> decisions
+    ) {
+        this.predicate = predicate;
+        this.decisions = decisions;
+    }
+
+    @Override
+    public boolean test(final @NonNull CommandContext<C> context) {
+        final C sender = context.sender();
+        final Boolean cached = this.decisions.getIfPresent(sender);
+        if (cached != null) {
+            return cached;
+        }
+        // Concurrent misses may evaluate the predicate more than once, which is cheaper than making them wait.
+        final long generation = this.generation.get();
+        final boolean result = this.predicate.test(context);
+        this.decisions.put(sender, result);
+        // The decision may predate an invalidation that happened while it was evaluated, in which case it is dropped.
+        if (this.generation.get() != generation) {
+            this.decisions.delete(sender);
+        }
+        return result;
+    }
+
+    /**
+     * Invalidates the cached decision for the given {@code sender}.
+     *
+     * @param sender the sender
+     */
+    public void invalidate(final @NonNull C sender) {
+        Objects.requireNonNull(sender, "sender");
+        this.generation.incrementAndGet();
+        this.decisions.delete(sender);
+    }
+
+    /**
+     * Invalidates the cached decisions for the given {@code senders}, such as the members of a group whose permissions
+     * have changed.
+     *
+     * @param senders the senders
+     */
+    public void invalidate(final @NonNull Iterable<? extends @NonNull C> senders) {
+        Objects.requireNonNull(senders, "senders");
+        for (final C sender : senders) {
+            this.invalidate(sender);
+        }
+    }
+
+    /**
+     * Invalidates every cached decision.
+     *
+     * @throws UnsupportedOperationException if the cache cannot be iterated
+     */
+    public void invalidateAll() {
+        this.generation.incrementAndGet();
+        for (final C sender : this.decisions.keys()) {
+            this.decisions.delete(sender);
+        }
+    }
+
+    /**
+     * Invalidates the cached decision for the given {@code sender}.
+     *
+     * @param sender the sender
+     */
+    @Override
+    public void releaseSender(final @NonNull C sender) {
+        this.invalidate(sender);
+    }
+
+    private static final class ExpiringCache<K> implements CloudCache<K, Boolean> {
+
+        private final Map<K, Decision> decisions = new ConcurrentHashMap<>();
+        private final long timeToLive;
+        private final Clock clock;
+        // Racing writes only cause an additional eviction pass.
+        private volatile long nextEvictionTime;
+
+        private ExpiringCache(final long timeToLive, final @NonNull Clock clock) {
+            this.timeToLive = timeToLive;
+            this.clock = clock;
+        }
+
+        @Override
+        public void delete(final @NonNull K key) {
+            this.decisions.remove(key);
+        }
+
+        @Override
+        public void put(final @NonNull K key, final @NonNull Boolean value) {
+            final long currentTime = this.clock.millis();
+            final long expiryTime = this.timeToLive > Long.MAX_VALUE - currentTime ? Long.MAX_VALUE : currentTime + this.timeToLive;
+            this.decisions.put(key, new Decision(value, expiryTime));
+            if (currentTime >= this.nextEvictionTime) {
+                this.nextEvictionTime = expiryTime;
+                this.decisions.values().removeIf(decision -> decision.expiryTime <= currentTime);
+            }
+        }
+
+        @Override
+        public @Nullable Boolean getIfPresent(final @NonNull K key) {
+            final Decision decision = this.decisions.get(key);
+            if (decision == null || decision.expiryTime <= this.clock.millis()) {
+                return null;
+            }
+            return decision.result;
+        }
+
+        @Override
+        public @NonNull Collection<@NonNull K> keys() {
+            return new ArrayList<>(this.decisions.keySet());
+        }
+    }
+
+    private static final class Decision {
+
+        private final boolean result;
+        private final long expiryTime;
+
+        private Decision(final boolean result, final long expiryTime) {
+            this.result = result;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
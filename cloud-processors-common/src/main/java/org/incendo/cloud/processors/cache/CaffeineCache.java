@@ -24,6 +24,8 @@
 package org.incendo.cloud.processors.cache;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -75,4 +77,9 @@ public final class CaffeineCache<K, V> implements CloudCache<K, V> {
         Objects.requireNonNull(key, "key");
         return this.cache.getIfPresent(key);
     }
+
+    @Override
+    public @NonNull Collection<@NonNull K> keys() {
+        return List.copyOf(this.cache.asMap().keySet());
+    }
 }
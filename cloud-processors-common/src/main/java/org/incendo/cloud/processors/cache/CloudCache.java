@@ -23,6 +23,7 @@
 //
 package org.incendo.cloud.processors.cache;
 
+import java.util.Collection;
 import java.util.Optional;
 import java.util.function.Function;
 import org.apiguardian.api.API;
@@ -69,6 +70,18 @@ public interface CloudCache<K, V> {
      */
     @Nullable V getIfPresent(@NonNull K key);
 
+    /**
+     * Returns a snapshot of the keys currently stored in the cache.
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}.</p>
+     *
+     * @return the keys
+     * @throws UnsupportedOperationException if the cache cannot be iterated
+     */
+    default @NonNull Collection<@NonNull K> keys() {
+        throw new UnsupportedOperationException("This cache cannot be iterated");
+    }
+
     /**
      * Deletes the value identified by the given {@code key} and returns the value.
      *
@@ -23,6 +23,8 @@
 //
 package org.incendo.cloud.processors.cache;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
@@ -82,4 +84,11 @@ public final class SimpleCache<K, V> implements CloudCache<K, V> {
         Objects.requireNonNull(key, "key");
         return this.map.remove(key);
     }
+
+    @Override
+    public @NonNull Collection<@NonNull K> keys() {
+        synchronized (this.map) {
+            return new ArrayList<>(this.map.keySet());
+        }
+    }
 }
@@ -0,0 +1,108 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.lifecycle;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Releases the state held by every registered {@link SenderStateHolder} when a command sender becomes inactive,
+ * such as when a player disconnects.
+ *
+ * <p>The processors keep state per sender, such as cooldown profiles and pending confirmations, which would otherwise
+ * stay on the heap until it expires. Registering them to a shared lifecycle means that a single {@link #release(Object)}
+ * call cleans up after the sender.</p>
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class SenderLifecycle<C> {
+
+    /**
+     * Creates a new lifecycle without any registered holders.
+     *
+     * @param <C> command sender type
+     * @return the lifecycle
+     */
+    public static <C> @NonNull SenderLifecycle<C> create() {
+        return new SenderLifecycle<>();
+    }
+
+    private final List<SenderStateHolder<C>> holders = new CopyOnWriteArrayList<>();
+
+    private SenderLifecycle() {
+    }
+
+    /**
+     * Registers the given {@code holder}.
+     *
+     * @param holder holder to register
+     * @return {@code this}
+     */
+    public @NonNull SenderLifecycle<C> register(final @NonNull SenderStateHolder<C> holder) {
+        this.holders.add(Objects.requireNonNull(holder, "holder"));
+        return this;
+    }
+
+    /**
+     * Unregisters the given {@code holder}.
+     *
+     * @param holder holder to unregister
+     * @return {@code true} if the holder was registered
+     */
+    public boolean unregister(final @NonNull SenderStateHolder<C> holder) {
+        return this.holders.remove(Objects.requireNonNull(holder, "holder"));
+    }
+
+    /**
+     * Releases the state held for the given {@code sender} by every registered holder.
+     *
+     * <p>Every holder is invoked even if a previous holder fails. The first failure is rethrown once all holders have
+     * been invoked, with any subsequent failures added as suppressed exceptions.</p>
+     *
+     * @param sender the sender
+     */
+    public void release(final @NonNull C sender) {
+        Objects.requireNonNull(sender, "sender");
+        RuntimeException failure = null;
+        for (final SenderStateHolder<C> holder : this.holders) {
+            try {
+                holder.releaseSender(sender);
+            } catch (final RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.lifecycle;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Something that holds state on behalf of command senders, and that can be registered to a {@link SenderLifecycle}.
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ */
+@FunctionalInterface
+@API(status = API.Status.STABLE, since = "1.0.0")
+public interface SenderStateHolder<C> {
+
+    /**
+     * Releases the state held for the given {@code sender}, which is no longer active.
+     *
+     * <p>State that has to outlive the sender, such as state that prevents the sender from bypassing a restriction by
+     * reconnecting, may be persisted or kept instead of being evicted.</p>
+     *
+     * @param sender the sender
+     */
+    void releaseSender(@NonNull C sender);
+}
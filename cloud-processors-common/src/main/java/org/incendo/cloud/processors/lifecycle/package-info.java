@@ -0,0 +1,4 @@
+/**
+ * Hooks into the lifecycle of command senders.
+ */
+package org.incendo.cloud.processors.lifecycle;
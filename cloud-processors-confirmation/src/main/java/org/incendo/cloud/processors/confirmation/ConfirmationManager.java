@@ -35,6 +35,7 @@ import org.incendo.cloud.execution.CommandExecutionHandler;
 import org.incendo.cloud.execution.postprocessor.CommandPostprocessor;
 import org.incendo.cloud.key.CloudKey;
 import org.incendo.cloud.processors.cache.CloudCache;
+import org.incendo.cloud.processors.lifecycle.SenderStateHolder;
 
 /**
  * Manager for the confirmation system.
@@ -43,7 +44,7 @@ import org.incendo.cloud.processors.cache.CloudCache;
  * @since 1.0.0
  */
 @API(status = API.Status.STABLE, since = "1.0.0")
-public final class ConfirmationManager<C> implements Command.Builder.Applicable<C> {
+public final class ConfirmationManager<C> implements Command.Builder.Applicable<C>, SenderStateHolder<C> {
 
     /**
      * {@link org.incendo.cloud.meta.CommandMeta} key that indicates that the command requires a confirmation
@@ -152,6 +153,16 @@ public final class ConfirmationManager<C> implements Command.Builder.Applicable<
         return Optional.of(context);
     }
 
+    /**
+     * Discards the pending command of the given {@code sender}.
+     *
+     * @param sender command sender
+     */
+    @Override
+    public void releaseSender(final @NonNull C sender) {
+        this.cache.delete(Objects.requireNonNull(sender, "sender"));
+    }
+
     /**
      * Adds the given {@code context} as a pending command.
      *
@@ -32,6 +32,7 @@ import org.incendo.cloud.execution.CommandExecutionHandler;
 import org.incendo.cloud.processors.cache.SimpleCache;
 import org.incendo.cloud.processors.confirmation.util.TestCommandManager;
 import org.incendo.cloud.processors.confirmation.util.TestCommandSender;
+import org.incendo.cloud.processors.lifecycle.SenderLifecycle;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -138,4 +139,29 @@ class ConfirmationManagerTest {
         verify(this.confirmationRequiredNotifier).accept(eq(this.commandSender), any());
         verify(this.commandExecutionHandler).executeFuture(any());
     }
+
+    @Test
+    void testReleaseSenderDiscardsPendingCommand() {
+        // Arrange
+        this.commandManager.command(
+                this.commandManager.commandBuilder("command")
+                        .apply(this.confirmationManager)
+                        .handler(this.commandExecutionHandler)
+        );
+        this.commandManager.command(
+                this.commandManager.commandBuilder("confirm")
+                        .handler(this.confirmationManager.createExecutionHandler())
+        );
+        final SenderLifecycle<TestCommandSender> lifecycle = SenderLifecycle.<TestCommandSender>create()
+                .register(this.confirmationManager);
+        this.commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+
+        // Act
+        lifecycle.release(this.commandSender);
+        this.commandManager.commandExecutor().executeCommand(this.commandSender, "confirm").join();
+
+        // Assert
+        verify(this.noPendingCommandNotifier).accept(this.commandSender);
+        verify(this.commandExecutionHandler, never()).executeFuture(any());
+    }
 }
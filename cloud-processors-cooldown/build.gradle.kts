@@ -7,6 +7,8 @@ dependencies {
     api(projects.cloudProcessorsCommon)
 
     compileOnly(libs.cloud.annotations)
+
+    testImplementation(libs.h2)
 }
 
 // TODO(City): Disable this
@@ -0,0 +1,64 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.context.CommandContext;
+
+/**
+ * Hashes parsed argument values into the keys of {@link CooldownGroup.ArgumentCooldownGroup argument-keyed groups}.
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+final class ArgumentKeys {
+
+    // 64-bit FNV-1a, seeded randomly so that colliding values cannot be crafted in advance.
+    private static final long OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+    private static final long SEED = ThreadLocalRandom.current().nextLong();
+
+    private ArgumentKeys() {
+    }
+
+    static long hash(final @NonNull CommandContext<?> context, final @NonNull String @NonNull [] argumentNames) {
+        long hash = OFFSET_BASIS ^ SEED;
+        for (final String name : argumentNames) {
+            final String value = String.valueOf(context.optional(name).orElse(null));
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * PRIME;
+            }
+            // Terminate every value, so that ("ab", "c") and ("a", "bc") produce different keys.
+            hash = (hash ^ 0xFFFF) * PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(final long value) {
+        long hash = value;
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
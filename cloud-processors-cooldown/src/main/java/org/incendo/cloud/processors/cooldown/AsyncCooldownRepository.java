@@ -0,0 +1,161 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfileFactory;
+
+/**
+ * Repository that is able to load profiles asynchronously.
+ *
+ * <p>If the repository of a {@link CooldownManager} implements this interface, then the preprocessor returned by
+ * {@link CooldownManager#createPreprocessor()} starts loading the profile of the sender before the command is parsed.</p>
+ *
+ * @param <K> key type
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public interface AsyncCooldownRepository<K> extends CooldownRepository<K> {
+
+    /**
+     * Returns a new repository backed by the given {@code repository} that loads profiles that do not
+     * exist in memory using the given {@code executor}.
+     *
+     * @param <K>        key type
+     * @param repository backing repository
+     * @param executor   executor that invokes {@link CooldownRepository#getProfile(Object, CooldownProfileFactory)} and
+     *                   {@link CooldownRepository#getProfileIfExists(Object)}
+     * @return the repository
+     */
+    static <K> @NonNull AsyncCooldownRepository<K> executing(
+            final @NonNull CooldownRepository<K> repository,
+            final @NonNull Executor executor
+    ) {
+        return new ExecutingCooldownRepository<>(
+                Objects.requireNonNull(repository, "repository"),
+                Objects.requireNonNull(executor, "executor")
+        );
+    }
+
+    /**
+     * Loads the profile for the given {@code key}.
+     *
+     * <p>If no profile exists in the repository, a new profile will be persisted and returned.</p>
+     *
+     * @param key            key that identifies the profile
+     * @param profileFactory factory that creates profiles
+     * @return future that completes with the profile
+     */
+    @NonNull CompletableFuture<@NonNull CooldownProfile> loadProfile(@NonNull K key, @NonNull CooldownProfileFactory profileFactory);
+
+    /**
+     * Loads the profile for the given {@code key}, if it exists.
+     *
+     * <p>Unlike {@link #loadProfile(Object, CooldownProfileFactory)}, this never creates a profile. The default
+     * implementation invokes {@link #getProfileIfExists(Object)} on the calling thread.</p>
+     *
+     * @param key key that identifies the profile
+     * @return future that completes with the profile, or {@code null} if no profile exists
+     */
+    default @NonNull CompletableFuture<@Nullable CooldownProfile> loadProfileIfExists(final @NonNull K key) {
+        return CompletableFuture.completedFuture(this.getProfileIfExists(key));
+    }
+
+    final class ExecutingCooldownRepository<K> implements AsyncCooldownRepository<K> {
+
+        private final CooldownRepository<K> repository;
+        private final Executor executor;
+
+        private ExecutingCooldownRepository(final @NonNull CooldownRepository<K> repository, final @NonNull Executor executor) {
+            this.repository = repository;
+            this.executor = executor;
+        }
+
+        @Override
+        public @NonNull CompletableFuture<@NonNull CooldownProfile> loadProfile(
+                final @NonNull K key,
+                final @NonNull CooldownProfileFactory profileFactory
+        ) {
+            final CooldownProfile profile = this.repository.getProfileIfExists(key);
+            if (profile != null) {
+                return CompletableFuture.completedFuture(profile);
+            }
+            return CompletableFuture.supplyAsync(() -> this.repository.getProfile(key, profileFactory), this.executor);
+        }
+
+        @Override
+        public @NonNull CompletableFuture<@Nullable CooldownProfile> loadProfileIfExists(final @NonNull K key) {
+            return CompletableFuture.supplyAsync(() -> this.repository.getProfileIfExists(key), this.executor);
+        }
+
+        @Override
+        public @NonNull CooldownProfile getProfile(final @NonNull K key, final @NonNull CooldownProfileFactory profileFactory) {
+            return this.repository.getProfile(key, profileFactory);
+        }
+
+        @Override
+        public @Nullable CooldownProfile getProfileIfExists(final @NonNull K key) {
+            return this.repository.getProfileIfExists(key);
+        }
+
+        @Override
+        public void deleteProfile(final @NonNull K key) {
+            this.repository.deleteProfile(key);
+        }
+
+        @Override
+        public void deleteCooldown(final @NonNull K key, final @NonNull CooldownGroup group) {
+            this.repository.deleteCooldown(key, group);
+        }
+
+        @Override
+        public boolean deleteProfileIfEmpty(final @NonNull K key) {
+            return this.repository.deleteProfileIfEmpty(key);
+        }
+
+        @Override
+        public void putProfiles(final @NonNull Map<@NonNull K, @NonNull CooldownProfile> profiles) {
+            this.repository.putProfiles(profiles);
+        }
+
+        @Override
+        public @NonNull Collection<@NonNull K> keys() {
+            return this.repository.keys();
+        }
+
+        @Override
+        public @NonNull Iterator<@NonNull K> keyIterator() {
+            return this.repository.keyIterator();
+        }
+    }
+}
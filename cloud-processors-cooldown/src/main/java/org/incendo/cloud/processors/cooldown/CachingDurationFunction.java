@@ -0,0 +1,205 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.processors.lifecycle.SenderStateHolder;
+
+/**
+ * {@link DurationFunction} that caches the durations returned by another function, for functions that are expensive
+ * to evaluate, such as permission or rank lookups.
+ *
+ * <p>The durations are cached per sender, and optionally per combination of the values of the arguments that the
+ * duration depends on. Cached durations are evaluated again once they are older than the time-to-live, or once they
+ * have been invalidated using {@link #invalidate(Object)} or {@link #invalidateAll()}. Durations returned by
+ * {@link DurationFunction#constant(Duration)} functions are never cached, as they do not have to be evaluated.</p>
+ *
+ * <p>Expired durations of a sender are evicted at most once per time-to-live when the sender misses the cache, so
+ * the durations cached per sender are bounded by the argument combinations used within roughly two time-to-lives.</p>
+ *
+ * <p>The cache holds onto the senders until they are invalidated, so the function should be registered to a
+ * {@link org.incendo.cloud.processors.lifecycle.SenderLifecycle} if the senders are temporary.</p>
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class CachingDurationFunction<C> implements DurationFunction<C>, SenderStateHolder<C> {
+
+    private static final String[] NO_ARGUMENTS = new String[0];
+
+    /**
+     * Returns a function that caches the durations returned by the given {@code function} per sender.
+     *
+     * @param <C>        command sender type
+     * @param function   function to cache
+     * @param timeToLive how long the durations are cached for
+     * @param clock      clock used to expire the durations
+     * @return the function
+     */
+    public static <C> @NonNull CachingDurationFunction<C> bySender(
+            final @NonNull DurationFunction<C> function,
+            final @NonNull Duration timeToLive,
+            final @NonNull Clock clock
+    ) {
+        return new CachingDurationFunction<>(function, timeToLive, clock, NO_ARGUMENTS);
+    }
+
+    /**
+     * Returns a function that caches the durations returned by the given {@code function} per sender and combination
+     * of the values of the arguments identified by the given {@code argumentNames}.
+     *
+     * <p>Missing arguments are treated as {@code null} values.</p>
+     *
+     * @param <C>           command sender type
+     * @param function      function to cache
+     * @param timeToLive    how long the durations are cached for
+     * @param clock         clock used to expire the durations
+     * @param argumentNames names of the arguments that the duration depends on
+     * @return the function
+     */
+    public static <C> @NonNull CachingDurationFunction<C> bySenderAndArguments(
+            final @NonNull DurationFunction<C> function,
+            final @NonNull Duration timeToLive,
+            final @NonNull Clock clock,
+            final @NonNull String @NonNull... argumentNames
+    ) {
+        if (argumentNames.length == 0) {
+            throw new IllegalArgumentException("At least one argument name is required");
+        }
+        return new CachingDurationFunction<>(function, timeToLive, clock, argumentNames.clone());
+    }
+
+    private final Map<C, SenderDurations> cache = new ConcurrentHashMap<>();
+    private final DurationFunction<C> function;
+    private final long timeToLive;
+    private final Clock clock;
+    private final String[] argumentNames;
+
+    private CachingDurationFunction(
+            final @NonNull DurationFunction<C> function,
+            final @NonNull Duration timeToLive,
+            final @NonNull Clock clock,
+            final @NonNull String @NonNull [] argumentNames
+    ) {
+        this.function = Objects.requireNonNull(function, "function");
+        this.timeToLive = Objects.requireNonNull(timeToLive, "timeToLive").toMillis();
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.argumentNames = argumentNames;
+        if (this.timeToLive <= 0L) {
+            throw new IllegalArgumentException("timeToLive must be positive");
+        }
+    }
+
+    @Override
+    public @NonNull Duration getDuration(final @NonNull CommandContext<C> context) {
+        if (this.function instanceof ConstantDurationFunction) {
+            return ((ConstantDurationFunction<C>) this.function).duration();
+        }
+        final long key = this.argumentNames.length == 0 ? 0L : ArgumentKeys.hash(context, this.argumentNames);
+        final SenderDurations durations = this.cache.computeIfAbsent(context.sender(), sender -> new SenderDurations());
+        final long currentTime = this.clock.millis();
+        final CachedDuration cached = durations.durations.get(key);
+        if (cached != null && cached.expiryTime > currentTime) {
+            return cached.duration;
+        }
+        // Concurrent misses may evaluate the function more than once, which is cheaper than making them wait.
+        final Duration duration = this.function.getDuration(context);
+        final long expiryTime = this.expiryTime(currentTime);
+        durations.durations.put(key, new CachedDuration(duration, expiryTime));
+        if (currentTime >= durations.nextEvictionTime) {
+            durations.nextEvictionTime = expiryTime;
+            durations.durations.values().removeIf(entry -> entry.expiryTime <= currentTime);
+        }
+        return duration;
+    }
+
+    /**
+     * Returns the number of cached durations, including expired durations that have not been evicted yet.
+     *
+     * @return the number of cached durations
+     */
+    public int size() {
+        int size = 0;
+        for (final SenderDurations durations : this.cache.values()) {
+            size += durations.durations.size();
+        }
+        return size;
+    }
+
+    /**
+     * Invalidates the cached durations of the given {@code sender}.
+     *
+     * @param sender the sender
+     */
+    public void invalidate(final @NonNull C sender) {
+        this.cache.remove(Objects.requireNonNull(sender, "sender"));
+    }
+
+    /**
+     * Invalidates every cached duration.
+     */
+    public void invalidateAll() {
+        this.cache.clear();
+    }
+
+    /**
+     * Invalidates the cached durations of the given {@code sender}.
+     *
+     * @param sender the sender
+     */
+    @Override
+    public void releaseSender(final @NonNull C sender) {
+        this.invalidate(sender);
+    }
+
+    private long expiryTime(final long currentTime) {
+        return this.timeToLive > Long.MAX_VALUE - currentTime ? Long.MAX_VALUE : currentTime + this.timeToLive;
+    }
+
+    private static final class SenderDurations {
+
+        private final Map<Long, CachedDuration> durations = new ConcurrentHashMap<>();
+        // Racing writes only cause an additional eviction pass.
+        private volatile long nextEvictionTime;
+    }
+
+    private static final class CachedDuration {
+
+        private final Duration duration;
+        private final long expiryTime;
+
+        private CachedDuration(final @NonNull Duration duration, final long expiryTime) {
+            this.duration = duration;
+            this.expiryTime = expiryTime;
+        }
+    }
+}
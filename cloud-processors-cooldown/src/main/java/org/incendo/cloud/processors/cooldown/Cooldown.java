@@ -23,6 +23,7 @@
 //
 package org.incendo.cloud.processors.cooldown;
 
+import java.time.Duration;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -68,6 +69,40 @@ public interface Cooldown<C> extends Command.Builder.Applicable<C> {
         return Cooldown.<C>builder().duration(duration).group(group).build();
     }
 
+    /**
+     * Returns a new cooldown that rate limits the command according to the given {@code rateLimit}
+     * using {@link CooldownConfiguration#fallbackGroup()} as the group.
+     *
+     * @param <C>       command sender type
+     * @param rateLimit the rate limit
+     * @return the cooldown
+     */
+    static <C> @NonNull Cooldown<C> rateLimit(final @NonNull RateLimit rateLimit) {
+        return Cooldown.<C>builder()
+                .duration(DurationFunction.constant(rateLimit.refillInterval()))
+                .rateLimit(rateLimit)
+                .build();
+    }
+
+    /**
+     * Returns a new cooldown that rate limits the command according to the given {@code rateLimit}.
+     *
+     * @param <C>       command sender type
+     * @param rateLimit the rate limit
+     * @param group     cooldown group
+     * @return the cooldown
+     */
+    static <C> @NonNull Cooldown<C> rateLimit(
+            final @NonNull RateLimit rateLimit,
+            final @NonNull CooldownGroup group
+    ) {
+        return Cooldown.<C>builder()
+                .duration(DurationFunction.constant(rateLimit.refillInterval()))
+                .group(group)
+                .rateLimit(rateLimit)
+                .build();
+    }
+
     /**
      * Returns a new cooldown builder.
      *
@@ -95,6 +130,74 @@ public interface Cooldown<C> extends Command.Builder.Applicable<C> {
         return null;
     }
 
+    /**
+     * Returns the resolver that derives the group of an execution from the {@link #group()}, for example to track
+     * the cooldown separately per command argument.
+     *
+     * @return the group resolver, or {@code null}
+     * @see CooldownGroupResolver#arguments(String...)
+     */
+    default @Nullable CooldownGroupResolver<C> groupResolver() {
+        return null;
+    }
+
+    /**
+     * Returns the rate limit.
+     *
+     * <p>If set, the command may be executed {@link RateLimit#capacity()} times in a burst rather than once per
+     * {@link #duration()}, as determined by the {@link RateLimit#strategy()}, and the {@link #duration()} is ignored.
+     * Rate limits do not create {@link CooldownInstance} instances, which means that the
+     * {@link CooldownConfiguration#creationListeners()} are not invoked.</p>
+     *
+     * @return the rate limit, or {@code null}
+     */
+    default @Nullable RateLimit rateLimit() {
+        return null;
+    }
+
+    /**
+     * Returns whether the duration is scaled by the {@link CooldownConfiguration#loadScaler()}.
+     *
+     * <p>This is intended for expensive commands, which should be executed less often while the application is
+     * under heavy load.</p>
+     *
+     * @return {@code true} if the duration adapts to the load, else {@code false}
+     */
+    default boolean adaptive() {
+        return false;
+    }
+
+    /**
+     * Returns whether the cooldown is applied in two phases.
+     *
+     * <p>Rather than creating the cooldown before the command is executed, a reservation that lasts for at most
+     * {@link #reservationTimeout()} is created, which prevents the command from being executed concurrently by the
+     * same sender. The reservation is committed when the future returned by a handler decorated using
+     * {@link CooldownManager#reserving(org.incendo.cloud.execution.CommandExecutionHandler)} completes successfully,
+     * starting the cooldown from that point, and released if the future completes exceptionally.
+     * The {@link CooldownConfiguration#creationListeners()} are invoked when the reservation is committed.</p>
+     *
+     * <p>The cooldown is reserved by the decorated handler, which the command must use, or else its executions fail
+     * with an {@link IllegalStateException}.</p>
+     *
+     * @return {@code true} if the cooldown is reserved before the execution, else {@code false}
+     */
+    default boolean reservation() {
+        return false;
+    }
+
+    /**
+     * Returns the maximum duration of a {@link #reservation()}. The reservation expires if the execution has not
+     * completed by then, which allows the command to be executed again.
+     *
+     * <p>The default value is one minute.</p>
+     *
+     * @return the reservation timeout
+     */
+    default @NonNull Duration reservationTimeout() {
+        return Duration.ofMinutes(1L);
+    }
+
     @Override
     default Command.@NonNull Builder<C> applyToCommandBuilder(Command.@NonNull Builder<C> builder) {
         return builder.meta(CooldownManager.META_COOLDOWN_DURATION, this);
@@ -24,18 +24,22 @@
 package org.incendo.cloud.processors.cooldown;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.immutables.value.Value;
 import org.incendo.cloud.Command;
 import org.incendo.cloud.context.CommandContext;
 import org.incendo.cloud.processors.cooldown.listener.CooldownActiveListener;
 import org.incendo.cloud.processors.cooldown.listener.CooldownCreationListener;
+import org.incendo.cloud.processors.cooldown.offender.OffenderTracker;
 import org.incendo.cloud.processors.cooldown.profile.CooldownProfileFactory;
 import org.incendo.cloud.processors.cooldown.profile.StandardCooldownProfileFactory;
+import org.incendo.cloud.processors.cooldown.storage.CooldownStorageException;
 import org.incendo.cloud.processors.immutables.StagedImmutableBuilder;
 
 /**
@@ -105,6 +109,86 @@ public interface CooldownConfiguration<C> {
         return Clock.systemUTC();
     }
 
+    /**
+     * Returns the generation counters used to invalidate cooldowns in bulk.
+     *
+     * @return the generations
+     */
+    default @NonNull CooldownGenerations generations() {
+        return CooldownGenerations.create();
+    }
+
+    /**
+     * Returns the scaler that adjusts the durations of {@link Cooldown#adaptive() adaptive} cooldowns
+     * according to the load of the application.
+     *
+     * <p>The default scaler never changes the durations.</p>
+     *
+     * @return the load scaler
+     */
+    default @NonNull LoadScaler loadScaler() {
+        return LoadScaler.none();
+    }
+
+    /**
+     * Returns the policy that penalizes repeated attempts to execute a command while its cooldown is active.
+     *
+     * <p>If set to {@code null}, which is the default, blocked attempts never extend the cooldown and always invoke
+     * the {@link #activeCooldownListeners()}.</p>
+     *
+     * @return the escalation policy, or {@code null}
+     */
+    default @Nullable EscalationPolicy escalationPolicy() {
+        return null;
+    }
+
+    /**
+     * Returns the tracker that gets informed about blocked attempts and created cooldowns, used to detect the senders
+     * and commands that are blocked the most.
+     *
+     * @return the offender tracker, or {@code null}
+     */
+    default @Nullable OffenderTracker<C> offenderTracker() {
+        return null;
+    }
+
+    /**
+     * Returns the hierarchy that links the cooldown groups to their parent groups. An active cooldown in any of the
+     * ancestors of a group blocks the group.
+     *
+     * <p>The default hierarchy does not link any groups.</p>
+     *
+     * @return the group hierarchy
+     */
+    default @NonNull CooldownHierarchy hierarchy() {
+        return CooldownHierarchy.empty();
+    }
+
+    /**
+     * Returns the maximum number of {@link CooldownGroup#argument(CooldownGroup, long) argument-keyed} cooldowns stored
+     * per profile. Once the limit is exceeded, the least recently used argument-keyed cooldown is evicted.
+     *
+     * <p>The default value is {@code 64}.</p>
+     *
+     * @return the maximum number of argument-keyed cooldowns per profile
+     */
+    default int maxArgumentGroups() {
+        return 64;
+    }
+
+    /**
+     * Returns how long the postprocessor waits for a profile that is being loaded by the preprocessor returned by
+     * {@link CooldownManager#createPreprocessor()}. If the profile has not been loaded in time, the execution fails
+     * with a {@link CooldownStorageException}.
+     *
+     * <p>The default value is {@code 5} seconds.</p>
+     *
+     * @return the maximum time to wait for a profile to be loaded
+     */
+    default @NonNull Duration profileLoadTimeout() {
+        return Duration.ofSeconds(5L);
+    }
+
     /**
      * Returns the factory that produces cooldown profiles.
      *
@@ -118,9 +202,25 @@ public interface CooldownConfiguration<C> {
      * Returns the function that determines the fallback {@link CooldownGroup} in case no group has been provided
      * to the {@link Cooldown}.
      *
+     * <p>The function is invoked for every execution, so it should return the same group for the same command. The
+     * default implementation returns the interned {@link CooldownGroup#command(Command)} group.</p>
+     *
      * @return the fallback group function
      */
     default @NonNull Function<@NonNull Command<C>, @NonNull CooldownGroup> fallbackGroup() {
         return CooldownGroup::command;
     }
+
+    /**
+     * Validates the configuration.
+     */
+    @Value.Check
+    default void validate() {
+        if (this.maxArgumentGroups() < 1) {
+            throw new IllegalArgumentException("maxArgumentGroups must be positive");
+        }
+        if (this.profileLoadTimeout().isNegative() || this.profileLoadTimeout().isZero()) {
+            throw new IllegalArgumentException("profileLoadTimeout must be positive");
+        }
+    }
 }
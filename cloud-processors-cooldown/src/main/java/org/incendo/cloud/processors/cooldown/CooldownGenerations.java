@@ -0,0 +1,107 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Generation counters that allow every cooldown in a {@link CooldownGroup}, or every cooldown in general,
+ * to be invalidated in constant time.
+ *
+ * <p>Every {@link CooldownInstance} is stamped with the {@link #current() current generation} when it is created.
+ * Invalidating a group advances the generation of the group, which means that every cooldown stamped with an earlier
+ * generation is considered to be expired. The invalidated cooldowns are removed lazily when they are accessed, or
+ * when the profile is swept by a {@link CooldownSweeper}.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class CooldownGenerations {
+
+    /**
+     * Creates a new instance where no cooldowns have been invalidated.
+     *
+     * @return the created instance
+     */
+    public static @NonNull CooldownGenerations create() {
+        return new CooldownGenerations();
+    }
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong globalGeneration = new AtomicLong();
+    private final Map<CooldownGroup, Long> groupGenerations = new ConcurrentHashMap<>();
+
+    private CooldownGenerations() {
+    }
+
+    /**
+     * Returns the current generation, which is stamped into newly created cooldowns.
+     *
+     * @return the current generation
+     */
+    public long current() {
+        return this.sequence.get();
+    }
+
+    /**
+     * Invalidates every cooldown belonging to the given {@code group}.
+     *
+     * @param group the group to invalidate
+     */
+    public void invalidate(final @NonNull CooldownGroup group) {
+        Objects.requireNonNull(group, "group");
+        this.groupGenerations.merge(group, this.sequence.incrementAndGet(), Math::max);
+    }
+
+    /**
+     * Invalidates every cooldown.
+     */
+    public void invalidateAll() {
+        this.globalGeneration.accumulateAndGet(this.sequence.incrementAndGet(), Math::max);
+    }
+
+    /**
+     * Returns whether a cooldown belonging to the given {@code group} that was stamped with the given
+     * {@code generation} is still valid.
+     *
+     * @param group      group of the cooldown
+     * @param generation generation that the cooldown was stamped with
+     * @return {@code true} if the cooldown is valid, {@code false} if it has been invalidated
+     */
+    public boolean isCurrent(final @NonNull CooldownGroup group, final long generation) {
+        if (generation < this.globalGeneration.get()) {
+            return false;
+        }
+        if (this.groupGenerations.isEmpty()) {
+            return true;
+        }
+        final Long groupGeneration = this.groupGenerations.get(group);
+        return groupGeneration == null || generation >= groupGeneration;
+    }
+}
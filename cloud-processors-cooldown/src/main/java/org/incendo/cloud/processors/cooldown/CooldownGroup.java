@@ -33,6 +33,9 @@ import org.incendo.cloud.Command;
  *
  * <p>If two commands belong to the same group, the cooldown will be shared between those commands.</p>
  *
+ * <p>Groups may be linked to parent groups using the {@link CooldownHierarchy} of a {@link CooldownManager}, in which case
+ * an active cooldown in any of the ancestors also blocks the group, while the group keeps a cooldown of its own.</p>
+ *
  * @since 1.0.0
  */
 @API(status = API.Status.STABLE, since = "1.0.0")
@@ -41,57 +44,120 @@ public interface CooldownGroup {
     /**
      * Creates a new cooldown group that is unique to the given {@code command}.
      *
-     * <p>This means that the cooldown will not be shared with any other commands.</p>
+     * <p>This means that the cooldown will not be shared with any other commands. The group is interned, meaning that
+     * the same instance is returned for as long as the command is reachable.</p>
      *
      * @param command the command
      * @return the group
      */
     static CooldownGroup command(final @NonNull Command<?> command) {
-        return new CommandCooldownGroup(command);
+        return CooldownGroupRegistry.command(Objects.requireNonNull(command, "command"));
     }
 
     /**
-     * Creates a new cooldown group identified by the given {@code name}.
+     * Returns the cooldown group identified by the given {@code name}.
+     *
+     * <p>Named groups are interned for the lifetime of the application, so the names should come from a bounded set.</p>
      *
      * @param name group name
      * @return the group
      */
     static CooldownGroup named(final @NonNull String name) {
-        return new NamedCooldownGroup(name);
+        return CooldownGroupRegistry.named(Objects.requireNonNull(name, "name"));
+    }
+
+    /**
+     * Returns the group identified by the given {@code key} within the {@code parent} group.
+     *
+     * <p>Argument-keyed groups are not interned, and only retain the parent group and the key. The number of
+     * argument-keyed cooldowns stored in a profile is capped by {@link CooldownConfiguration#maxArgumentGroups()}.</p>
+     *
+     * @param parent the parent group
+     * @param key    key that identifies the group within the parent group
+     * @return the group
+     * @see CooldownGroupResolver#arguments(String...)
+     */
+    static CooldownGroup argument(final @NonNull CooldownGroup parent, final long key) {
+        return new ArgumentCooldownGroup(Objects.requireNonNull(parent, "parent"), key);
     }
 
     final class CommandCooldownGroup implements CooldownGroup {
 
-        private final Command<?> command;
+        private final int hashCode;
 
-        private CommandCooldownGroup(final @NonNull Command<?> command) {
-            this.command = command;
+        CommandCooldownGroup(final @NonNull Command<?> command) {
+            this.hashCode = System.identityHashCode(command);
         }
 
         @Override
         public boolean equals(final Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || this.getClass() != o.getClass()) {
-                return false;
-            }
-            final CommandCooldownGroup that = (CommandCooldownGroup) o;
-            return Objects.equals(this.command, that.command);
+            // Instances are interned, see CooldownGroupRegistry.
+            return this == o;
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(this.command);
+            return this.hashCode;
         }
     }
 
     final class NamedCooldownGroup implements CooldownGroup {
 
         private final String name;
+        private final int hashCode;
 
-        private NamedCooldownGroup(final @NonNull String name) {
+        NamedCooldownGroup(final @NonNull String name) {
             this.name = name;
+            this.hashCode = name.hashCode();
+        }
+
+        /**
+         * Returns the name of the group.
+         *
+         * @return the name
+         */
+        public @NonNull String name() {
+            return this.name;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            // Instances are interned, see CooldownGroupRegistry.
+            return this == o;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    final class ArgumentCooldownGroup implements CooldownGroup {
+
+        private final CooldownGroup parent;
+        private final long key;
+
+        ArgumentCooldownGroup(final @NonNull CooldownGroup parent, final long key) {
+            this.parent = parent;
+            this.key = key;
+        }
+
+        /**
+         * Returns the parent group.
+         *
+         * @return the parent group
+         */
+        public @NonNull CooldownGroup parent() {
+            return this.parent;
+        }
+
+        /**
+         * Returns the key that identifies the group within the parent group.
+         *
+         * @return the key
+         */
+        public long key() {
+            return this.key;
         }
 
         @Override
@@ -99,16 +165,16 @@ public interface CooldownGroup {
             if (this == o) {
                 return true;
             }
-            if (o == null || this.getClass() != o.getClass()) {
+            if (!(o instanceof ArgumentCooldownGroup)) {
                 return false;
             }
-            final NamedCooldownGroup that = (NamedCooldownGroup) o;
-            return Objects.equals(this.name, that.name);
+            final ArgumentCooldownGroup that = (ArgumentCooldownGroup) o;
+            return this.key == that.key && this.parent.equals(that.parent);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(this.name);
+            return 31 * this.parent.hashCode() + Long.hashCode(this.key);
         }
     }
 }
@@ -0,0 +1,122 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.Command;
+
+/**
+ * Registry of canonical {@link CooldownGroup} instances.
+ *
+ * <p>Interning the groups lets them use identity equality and cached hash codes, which makes the lookups in the
+ * cooldown profiles cheap.</p>
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+final class CooldownGroupRegistry {
+
+    private static final Map<String, CooldownGroup.NamedCooldownGroup> NAMED_GROUPS = new ConcurrentHashMap<>();
+    // The commands are only weakly referenced by the keys, and the groups do not reference them either, so the entries
+    // are removed once the commands are unreachable. Lookups of registered commands never lock.
+    private static final Map<Object, CooldownGroup.CommandCooldownGroup> COMMAND_GROUPS = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<Command<?>> COLLECTED_COMMANDS = new ReferenceQueue<>();
+
+    private CooldownGroupRegistry() {
+    }
+
+    static CooldownGroup.@NonNull NamedCooldownGroup named(final @NonNull String name) {
+        return NAMED_GROUPS.computeIfAbsent(name, CooldownGroup.NamedCooldownGroup::new);
+    }
+
+    static CooldownGroup.@NonNull CommandCooldownGroup command(final @NonNull Command<?> command) {
+        final CooldownGroup.CommandCooldownGroup group = COMMAND_GROUPS.get(new CommandLookup(command));
+        if (group != null) {
+            return group;
+        }
+        expungeCollectedCommands();
+        return COMMAND_GROUPS.computeIfAbsent(
+                new CommandKey(command, COLLECTED_COMMANDS),
+                key -> new CooldownGroup.CommandCooldownGroup(command)
+        );
+    }
+
+    private static void expungeCollectedCommands() {
+        Reference<? extends Command<?>> key;
+        while ((key = COLLECTED_COMMANDS.poll()) != null) {
+            COMMAND_GROUPS.remove(key);
+        }
+    }
+
+    private static final class CommandKey extends WeakReference<Command<?>> {
+
+        private final int hashCode;
+
+        private CommandKey(final @NonNull Command<?> command, final @NonNull ReferenceQueue<Command<?>> queue) {
+            super(command, queue);
+            this.hashCode = System.identityHashCode(command);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CommandKey)) {
+                return false;
+            }
+            final Command<?> command = this.get();
+            return command != null && command == ((CommandKey) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    // Strongly references the command for the duration of a lookup, which avoids registering a reference for every lookup.
+    private static final class CommandLookup {
+
+        private final Command<?> command;
+
+        private CommandLookup(final @NonNull Command<?> command) {
+            this.command = command;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof CommandKey && ((CommandKey) o).get() == this.command;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.command);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown;
+
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.context.CommandContext;
+
+/**
+ * Resolves the {@link CooldownGroup} of an execution from its {@link CommandContext}.
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ */
+@FunctionalInterface
+@API(status = API.Status.STABLE, since = "1.0.0")
+public interface CooldownGroupResolver<C> {
+
+    /**
+     * Returns a resolver that keys the group by the parsed values of the given arguments, such that the cooldown
+     * is tracked separately for each combination of values, for example per target player.
+     *
+     * <p>The values are hashed into a {@code long} using their {@link String#valueOf(Object) string representation},
+     * which means that the values are not retained by the cooldowns. The values should therefore have stable string
+     * representations. The hash is seeded randomly when the application starts, so that colliding values cannot be
+     * chosen in advance, but distinct values may still share a key and therefore a cooldown. The keys differ between
+     * restarts, which is why argument-keyed cooldowns are never persisted.</p>
+     *
+     * @param <C>           command sender type
+     * @param argumentNames the names of the arguments
+     * @return the resolver
+     */
+    static <C> @NonNull CooldownGroupResolver<C> arguments(final @NonNull String @NonNull... argumentNames) {
+        final String[] names = argumentNames.clone();
+        return keyed(context -> ArgumentKeys.hash(context, names));
+    }
+
+    /**
+     * Returns a resolver that keys the group by the value returned by the given {@code keyFunction}.
+     *
+     * @param <C>         command sender type
+     * @param keyFunction function that computes the key from the context
+     * @return the resolver
+     */
+    static <C> @NonNull CooldownGroupResolver<C> keyed(final @NonNull ToLongFunction<@NonNull CommandContext<C>> keyFunction) {
+        Objects.requireNonNull(keyFunction, "keyFunction");
+        return (group, context) -> CooldownGroup.argument(group, keyFunction.applyAsLong(context));
+    }
+
+    /**
+     * Resolves the group of the execution.
+     *
+     * @param group   the group of the {@link Cooldown}, or the fallback group
+     * @param context the command context
+     * @return the resolved group
+     */
+    @NonNull CooldownGroup resolve(@NonNull CooldownGroup group, @NonNull CommandContext<C> context);
+}
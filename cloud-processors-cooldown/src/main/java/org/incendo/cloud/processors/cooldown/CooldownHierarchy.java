@@ -0,0 +1,113 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Links cooldown groups to parent groups.
+ *
+ * <p>An active cooldown in the parent group, or in any of its ancestors, blocks the child group, while the child group
+ * keeps a cooldown of its own. The hierarchy belongs to the {@link CooldownConfiguration#hierarchy() configuration} of a
+ * single {@link CooldownManager}, which means that the interned groups are never modified, and that independent managers
+ * may link the same groups differently.</p>
+ *
+ * <p>The ancestor chains are resolved once, when the hierarchy is created.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class CooldownHierarchy {
+
+    private static final CooldownHierarchy EMPTY = new CooldownHierarchy(Map.of());
+
+    private final Map<CooldownGroup, List<CooldownGroup>> ancestors;
+
+    private CooldownHierarchy(final @NonNull Map<CooldownGroup, List<CooldownGroup>> ancestors) {
+        this.ancestors = ancestors;
+    }
+
+    /**
+     * Returns a hierarchy without any links.
+     *
+     * @return the empty hierarchy
+     */
+    public static @NonNull CooldownHierarchy empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a hierarchy that links the keys of the given map to the mapped parent groups.
+     *
+     * <p>{@link CooldownGroup#argument(CooldownGroup, long) Argument-keyed groups} cannot be linked, as they inherit the
+     * ancestors of their parent group.</p>
+     *
+     * @param parents the parent groups, keyed by their child groups
+     * @return the hierarchy
+     * @throws IllegalArgumentException if an argument-keyed group is linked, or if a group would be its own ancestor
+     */
+    public static @NonNull CooldownHierarchy of(final @NonNull Map<@NonNull CooldownGroup, @NonNull CooldownGroup> parents) {
+        Objects.requireNonNull(parents, "parents");
+        final Map<CooldownGroup, List<CooldownGroup>> ancestors = new HashMap<>();
+        for (final CooldownGroup group : parents.keySet()) {
+            if (group instanceof CooldownGroup.ArgumentCooldownGroup) {
+                throw new IllegalArgumentException("Argument-keyed groups inherit the ancestors of their parent group");
+            }
+            final List<CooldownGroup> chain = new ArrayList<>();
+            for (CooldownGroup parent = parents.get(group); parent != null; parent = parents.get(parent)) {
+                if (parent.equals(group) || chain.contains(parent)) {
+                    throw new IllegalArgumentException("Cooldown group cannot be an ancestor of itself");
+                }
+                chain.add(parent);
+            }
+            ancestors.put(group, List.copyOf(chain));
+        }
+        return new CooldownHierarchy(Map.copyOf(ancestors));
+    }
+
+    /**
+     * Returns the ancestors of the given {@code group}, starting with the parent and ending with the root.
+     *
+     * <p>Argument-keyed groups return the ancestors of their parent group. The parent group itself is not an ancestor, as
+     * its cooldown is not shared with the argument-keyed groups.</p>
+     *
+     * @param group the group
+     * @return the ancestors
+     */
+    public @NonNull List<@NonNull CooldownGroup> ancestors(final @NonNull CooldownGroup group) {
+        if (this.ancestors.isEmpty()) {
+            return List.of();
+        }
+        final CooldownGroup linked = group instanceof CooldownGroup.ArgumentCooldownGroup
+                ? ((CooldownGroup.ArgumentCooldownGroup) group).parent()
+                : group;
+        return this.ancestors.getOrDefault(linked, List.of());
+    }
+}
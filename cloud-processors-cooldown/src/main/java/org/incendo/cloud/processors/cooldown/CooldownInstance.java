@@ -77,4 +77,15 @@ public interface CooldownInstance {
      * @return the creation time
      */
     @NonNull Instant creationTime();
+
+    /**
+     * Returns the {@link CooldownGenerations generation} that the cooldown was created in.
+     *
+     * <p>The cooldown is considered to be expired once the generation has been invalidated.</p>
+     *
+     * @return the generation
+     */
+    default long generation() {
+        return 0L;
+    }
 }
@@ -24,12 +24,22 @@
 package org.incendo.cloud.processors.cooldown;
 
 import io.leangen.geantyref.TypeToken;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.Command;
+import org.incendo.cloud.execution.CommandExecutionHandler;
 import org.incendo.cloud.execution.postprocessor.CommandPostprocessor;
+import org.incendo.cloud.execution.preprocessor.CommandPreprocessor;
 import org.incendo.cloud.key.CloudKey;
+import org.incendo.cloud.processors.cooldown.offender.OffenderTracker;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+import org.incendo.cloud.processors.lifecycle.SenderStateHolder;
 
 /**
  * Manager for the cooldown system.
@@ -38,7 +48,7 @@ import org.incendo.cloud.key.CloudKey;
  * @since 1.0.0
  */
 @API(status = API.Status.STABLE, since = "1.0.0")
-public final class CooldownManager<C> {
+public final class CooldownManager<C> implements SenderStateHolder<C> {
 
     /**
      * Meta that adds the given cooldown to the command.
@@ -100,6 +110,106 @@ public final class CooldownManager<C> {
         return this.repository;
     }
 
+    /**
+     * Returns the time remaining on the cooldown of the given {@code sender} in the given {@code group}, in nanoseconds.
+     *
+     * <p>This never creates a profile, and does not create any objects when used with the standard repositories and
+     * profiles, as the current time is read using {@link java.time.Clock#millis()}. It is intended for frequent
+     * polling, such as updating a display every tick.</p>
+     *
+     * @param sender the command sender
+     * @param group  the cooldown group
+     * @return the remaining time in nanoseconds, or {@code 0} if there is no active cooldown
+     */
+    public long remaining(final @NonNull C sender, final @NonNull CooldownGroup group) {
+        final CooldownProfile profile = this.repository.getProfileIfExists(sender);
+        if (profile == null) {
+            return 0L;
+        }
+        return profile.remainingTime(group, this.currentTimeNanos());
+    }
+
+    /**
+     * Stores the time remaining on the cooldowns of the given {@code senders} in the given {@code group} into
+     * {@code result}, in nanoseconds. The remaining time of the sender at index {@code i} is stored at index {@code i}.
+     *
+     * <p>The current time is only read once for the entire batch.</p>
+     *
+     * @param senders the command senders
+     * @param group   the cooldown group
+     * @param result  array to store the remaining times in, must be at least as long as {@code senders}
+     * @return {@code result}
+     * @see #remaining(Object, CooldownGroup)
+     */
+    public long @NonNull [] remaining(
+            final @NonNull List<? extends C> senders,
+            final @NonNull CooldownGroup group,
+            final long @NonNull [] result
+    ) {
+        if (result.length < senders.size()) {
+            throw new IllegalArgumentException("result must be at least as long as senders");
+        }
+        final long currentTime = this.currentTimeNanos();
+        for (int index = 0; index < senders.size(); index++) {
+            final CooldownProfile profile = this.repository.getProfileIfExists(senders.get(index));
+            result[index] = profile == null ? 0L : profile.remainingTime(group, currentTime);
+        }
+        return result;
+    }
+
+    /**
+     * Invalidates every cooldown belonging to the given {@code group} in constant time.
+     *
+     * <p>The invalidated cooldowns are removed from the profiles lazily.</p>
+     *
+     * @param group the group to invalidate
+     * @see CooldownGenerations#invalidate(CooldownGroup)
+     */
+    public void invalidateGroup(final @NonNull CooldownGroup group) {
+        this.configuration.generations().invalidate(group);
+    }
+
+    /**
+     * Invalidates every cooldown in constant time.
+     *
+     * <p>The invalidated cooldowns are removed from the profiles lazily.</p>
+     *
+     * @see CooldownGenerations#invalidateAll()
+     */
+    public void invalidateAll() {
+        this.configuration.generations().invalidateAll();
+    }
+
+    /**
+     * Releases the profile of the given {@code sender}.
+     *
+     * <p>The profile is deleted if none of its cooldowns are active. Profiles with active cooldowns are kept, so that
+     * the sender cannot bypass the cooldowns by reconnecting.</p>
+     *
+     * @param sender the sender
+     * @see CooldownRepository#releaseProfile(Object)
+     */
+    @Override
+    public void releaseSender(final @NonNull C sender) {
+        this.repository.releaseProfile(Objects.requireNonNull(sender, "sender"));
+    }
+
+    /**
+     * Returns a handler that executes the given {@code handler}, and then commits or releases the cooldown that was
+     * reserved for the execution if the {@link Cooldown#reservation()} is enabled.
+     *
+     * <p>The cooldown is reserved right before the handler is invoked. The reservation is committed if the future
+     * returned by the handler completes successfully, which starts the cooldown, and released if the future completes
+     * exceptionally. Executions without a reservation are passed through unchanged. Commands that enable the
+     * {@link Cooldown#reservation()} must use a decorated handler, or else their executions fail.</p>
+     *
+     * @param handler the handler to decorate
+     * @return the decorated handler
+     */
+    public @NonNull CommandExecutionHandler<C> reserving(final @NonNull CommandExecutionHandler<C> handler) {
+        return new ReservingExecutionHandler<>(this, Objects.requireNonNull(handler, "handler"));
+    }
+
     /**
      * Returns a {@link CommandPostprocessor} that will prevent commands from executing if they are marked
      * as needing confirmation.
@@ -109,4 +219,44 @@ public final class CooldownManager<C> {
     public @NonNull CommandPostprocessor<C> createPostprocessor() {
         return new CooldownPostprocessor<>(this);
     }
+
+    /**
+     * Returns a {@link CommandPreprocessor} that starts loading the profile of the sender before the command is parsed,
+     * if the {@link #repository()} is an {@link AsyncCooldownRepository}.
+     *
+     * <p>This hides the latency of the repository behind the parsing of the command. The postprocessor returned by
+     * {@link #createPostprocessor()} waits for the profile to be loaded.</p>
+     *
+     * @return profile loading preprocessor
+     */
+    public @NonNull CommandPreprocessor<C> createPreprocessor() {
+        return new CooldownPreprocessor<>(this);
+    }
+
+    private long currentTimeNanos() {
+        return TimeUnit.MILLISECONDS.toNanos(this.configuration.clock().millis());
+    }
+
+    void notifyActive(
+            final @NonNull C sender,
+            final @NonNull Command<C> command,
+            final @NonNull CooldownInstance instance,
+            final @NonNull Instant currentTime
+    ) {
+        final Duration remainingTime = Duration.between(currentTime, instance.creationTime().plus(instance.duration()));
+        this.configuration.activeCooldownListeners().forEach(listener -> listener.cooldownActive(
+                sender,
+                command,
+                instance,
+                remainingTime
+        ));
+    }
+
+    void notifyCreated(final @NonNull C sender, final @NonNull Command<C> command, final @NonNull CooldownInstance instance) {
+        this.configuration.creationListeners().forEach(listener -> listener.cooldownCreated(sender, command, instance));
+        final OffenderTracker<C> offenderTracker = this.configuration.offenderTracker();
+        if (offenderTracker != null) {
+            offenderTracker.recordCreated(sender, command);
+        }
+    }
 }
@@ -26,11 +26,20 @@ package org.incendo.cloud.processors.cooldown;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.execution.postprocessor.CommandPostprocessingContext;
 import org.incendo.cloud.execution.postprocessor.CommandPostprocessor;
+import org.incendo.cloud.processors.cooldown.offender.OffenderTracker;
 import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+import org.incendo.cloud.processors.cooldown.sketch.SketchRateLimiter;
+import org.incendo.cloud.processors.cooldown.storage.CooldownStorageException;
 import org.incendo.cloud.services.type.ConsumerService;
 
 /**
@@ -52,7 +61,9 @@ final class CooldownPostprocessor<C> implements CommandPostprocessor<C> {
     @SuppressWarnings("unchecked")
     public void accept(final @NonNull CommandPostprocessingContext<C> context) {
         final Cooldown<?> cooldown = context.command().commandMeta().getOrDefault(CooldownManager.META_COOLDOWN_DURATION, null);
-        if (cooldown == null) {
+        final SketchRateLimiter<?> sketchLimiter = context.command().commandMeta()
+                .getOrDefault(SketchRateLimiter.META_SKETCH_LIMITER, null);
+        if (cooldown == null && sketchLimiter == null) {
             return;
         }
 
@@ -60,43 +71,214 @@ final class CooldownPostprocessor<C> implements CommandPostprocessor<C> {
             return;
         }
 
-        final CooldownProfile profile = this.cooldownManager.repository().getProfile(
-                context.commandContext().sender(),
-                this.cooldownManager.configuration().profileFactory()
-        );
-        final CooldownGroup group;
+        // The sketch is consulted first, as it does not need the profile of the sender.
+        if (sketchLimiter != null && !((SketchRateLimiter<C>) sketchLimiter).tryAcquire(
+                context.commandContext(),
+                this.cooldownManager.configuration().clock().millis()
+        )) {
+            this.recordBlocked(context);
+            ConsumerService.interrupt();
+            return;
+        }
+        if (cooldown == null) {
+            return;
+        }
+        if (cooldown.reservation() && !(context.command().commandExecutionHandler() instanceof ReservingExecutionHandler)) {
+            throw new IllegalStateException("Cooldown reservations require a handler decorated using CooldownManager#reserving");
+        }
+
+        final CooldownProfile profile = this.profile(context);
+        CooldownGroup group;
         if (cooldown.group() != null) {
             group = Objects.requireNonNull(cooldown.group(), "group");
         } else {
+            // The default fallback groups are interned, so this resolves to the same instance for every execution.
             group = this.cooldownManager.configuration().fallbackGroup().apply(context.command());
         }
+        final CooldownGroupResolver<C> groupResolver = (CooldownGroupResolver<C>) cooldown.groupResolver();
+        if (groupResolver != null) {
+            group = groupResolver.resolve(group, context.commandContext());
+        }
 
-        final CooldownInstance cooldownInstance = profile.getCooldown(group);
-        if (cooldownInstance != null) {
-            final Instant endTime = cooldownInstance.creationTime().plus(cooldownInstance.duration());
-            final Duration remainingTime = Duration.between(Instant.now(this.cooldownManager.configuration().clock()), endTime);
-            this.cooldownManager.configuration().activeCooldownListeners().forEach(listener -> listener.cooldownActive(
-                    context.commandContext().sender(),
-                    context.command(),
-                    cooldownInstance,
-                    remainingTime
-            ));
-            ConsumerService.interrupt();
+        final RateLimit rateLimit = cooldown.rateLimit();
+        if (rateLimit != null) {
+            this.acquirePermit(context, profile, group, rateLimit);
+            return;
+        }
+
+        // The ancestors are checked in the same profile, as their cooldowns block the group too.
+        final CooldownInstance activeInstance = profile.getBlockingCooldown(
+                group,
+                this.cooldownManager.configuration().hierarchy().ancestors(group)
+        );
+        if (activeInstance != null) {
+            this.blocked(context, profile, activeInstance.group(), activeInstance);
+            return;
+        }
+
+        final DurationFunction<C> durationFunction = (DurationFunction<C>) cooldown.duration();
+        Duration duration = durationFunction instanceof ConstantDurationFunction
+                ? ((ConstantDurationFunction<C>) durationFunction).duration()
+                : durationFunction.getDuration(context.commandContext());
+        if (cooldown.adaptive()) {
+            duration = this.cooldownManager.configuration().loadScaler().scale(duration);
+        }
+        if (cooldown.reservation()) {
+            this.reserve(context, profile, group, cooldown.reservationTimeout(), duration);
             return;
         }
+        CooldownProfile target = profile;
+        CooldownInstance instance;
+        while (true) {
+            instance = CooldownInstance.builder()
+                    .profile(target)
+                    .group(group)
+                    .duration(duration)
+                    .creationTime(Instant.now(this.cooldownManager.configuration().clock()))
+                    .generation(this.cooldownManager.configuration().generations().current())
+                    .build();
+            target.setCooldown(group, instance);
+            // An empty profile may have been deleted by a sweep in the meantime, in which case the cooldown would be lost.
+            if (!target.isDeleted()) {
+                break;
+            }
+            target = this.lookUpProfile(context);
+        }
+        this.cooldownManager.notifyCreated(context.commandContext().sender(), context.command(), instance);
+    }
 
-        final CooldownInstance instance = CooldownInstance.builder()
-                .profile(profile)
+    private void reserve(
+            final @NonNull CommandPostprocessingContext<C> context,
+            final @NonNull CooldownProfile profile,
+            final @NonNull CooldownGroup group,
+            final @NonNull Duration timeout,
+            final @NonNull Duration duration
+    ) {
+        // The cooldown is reserved by the handler, as later postprocessors may still interrupt the execution, which
+        // would leave the reservation behind until it times out.
+        context.commandContext().store(
+                CooldownReservation.RESERVATION_KEY,
+                new CooldownReservation<>(profile, group, timeout, duration, context.command())
+        );
+    }
+
+    private void blocked(
+            final @NonNull CommandPostprocessingContext<C> context,
+            final @NonNull CooldownProfile profile,
+            final @NonNull CooldownGroup group,
+            final @NonNull CooldownInstance activeInstance
+    ) {
+        final Instant currentTime = Instant.now(this.cooldownManager.configuration().clock());
+        CooldownInstance cooldownInstance = activeInstance;
+        boolean silent = false;
+        final EscalationPolicy escalationPolicy = this.cooldownManager.configuration().escalationPolicy();
+        if (escalationPolicy != null) {
+            final int attempts = profile.recordBlockedAttempt(group, currentTime.toEpochMilli(), escalationPolicy.decay().toMillis());
+            Duration extension = escalationPolicy.extension(attempts);
+            if (!extension.isZero()) {
+                extension = profile.recordExtension(activeInstance, extension, escalationPolicy.maxTotalExtension());
+            }
+            if (!extension.isZero()) {
+                final CooldownInstance extendedInstance = CooldownInstance.builder()
+                        .profile(profile)
+                        .group(group)
+                        .duration(activeInstance.duration().plus(extension))
+                        .creationTime(activeInstance.creationTime())
+                        .generation(activeInstance.generation())
+                        .build();
+                // The cooldown is left alone if it has been replaced or deleted since it was looked up.
+                if (profile.replaceCooldown(group, activeInstance, extendedInstance)) {
+                    cooldownInstance = extendedInstance;
+                }
+            }
+            silent = escalationPolicy.silent(attempts);
+        }
+        if (!silent) {
+            this.notifyActive(context, cooldownInstance, currentTime);
+        }
+        this.recordBlocked(context);
+        ConsumerService.interrupt();
+    }
+
+    private void recordBlocked(final @NonNull CommandPostprocessingContext<C> context) {
+        final OffenderTracker<C> offenderTracker = this.cooldownManager.configuration().offenderTracker();
+        if (offenderTracker != null) {
+            offenderTracker.recordBlocked(context.commandContext().sender(), context.command());
+        }
+    }
+
+    private void notifyActive(
+            final @NonNull CommandPostprocessingContext<C> context,
+            final @NonNull CooldownInstance cooldownInstance,
+            final @NonNull Instant currentTime
+    ) {
+        this.cooldownManager.notifyActive(context.commandContext().sender(), context.command(), cooldownInstance, currentTime);
+    }
+
+    private @NonNull CooldownProfile profile(final @NonNull CommandPostprocessingContext<C> context) {
+        // The preprocessor has usually finished loading the profile while the command was being parsed.
+        final CompletableFuture<@Nullable CooldownProfile> future = context.commandContext()
+                .getOrDefault(CooldownPreprocessor.PROFILE_KEY, null);
+        if (future != null) {
+            final Duration timeout = this.cooldownManager.configuration().profileLoadTimeout();
+            final CooldownProfile profile;
+            try {
+                profile = future.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (final TimeoutException e) {
+                throw new CooldownStorageException("Timed out after " + timeout + " while loading the cooldown profile", e);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CooldownStorageException("Interrupted while loading the cooldown profile", e);
+            } catch (final ExecutionException e) {
+                throw new CompletionException(e.getCause());
+            }
+            if (profile != null && !profile.isDeleted()) {
+                return profile;
+            }
+        }
+        // The profile is created on demand, as the preprocessor never creates profiles.
+        return this.lookUpProfile(context);
+    }
+
+    private @NonNull CooldownProfile lookUpProfile(final @NonNull CommandPostprocessingContext<C> context) {
+        return this.cooldownManager.repository().getProfile(
+                context.commandContext().sender(),
+                this.cooldownManager.configuration().profileFactory()
+        );
+    }
+
+    private void acquirePermit(
+            final @NonNull CommandPostprocessingContext<C> context,
+            final @NonNull CooldownProfile profile,
+            final @NonNull CooldownGroup group,
+            final @NonNull RateLimit rateLimit
+    ) {
+        final long currentTime = this.cooldownManager.configuration().clock().millis();
+        CooldownProfile target = profile;
+        long remainingTime = rateLimit.strategy().tryAcquire(target, group, rateLimit, currentTime);
+        // The permit is acquired again if it was taken from a profile that has been deleted by a sweep in the meantime.
+        while (remainingTime == 0L && target.isDeleted()) {
+            target = this.lookUpProfile(context);
+            remainingTime = rateLimit.strategy().tryAcquire(target, group, rateLimit, currentTime);
+        }
+        if (remainingTime == 0L) {
+            return;
+        }
+
+        // The instance is only created when the command is blocked, and represents the wait for the next permit.
+        final CooldownInstance cooldownInstance = CooldownInstance.builder()
+                .profile(target)
                 .group(group)
-                .duration(((DurationFunction<C>) cooldown.duration()).getDuration(context.commandContext()))
-                .creationTime(Instant.now(this.cooldownManager.configuration().clock()))
+                .duration(Duration.ofMillis(remainingTime))
+                .creationTime(Instant.ofEpochMilli(currentTime))
                 .build();
-        profile.setCooldown(group, instance);
-
-        this.cooldownManager.configuration().creationListeners().forEach(listener -> listener.cooldownCreated(
+        this.cooldownManager.configuration().activeCooldownListeners().forEach(listener -> listener.cooldownActive(
                 context.commandContext().sender(),
                 context.command(),
-                instance
+                cooldownInstance,
+                cooldownInstance.duration()
         ));
+        this.recordBlocked(context);
+        ConsumerService.interrupt();
     }
 }
@@ -0,0 +1,76 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown;
+
+import io.leangen.geantyref.TypeToken;
+import java.util.concurrent.CompletableFuture;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.execution.preprocessor.CommandPreprocessingContext;
+import org.incendo.cloud.execution.preprocessor.CommandPreprocessor;
+import org.incendo.cloud.key.CloudKey;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+
+/**
+ * {@link CommandPreprocessor} for {@link CooldownManager} that starts loading the profile of the sender
+ * before the command is parsed.
+ *
+ * <p>The profile is only loaded if it exists, so that senders that never receive a cooldown do not get a profile. The
+ * postprocessor creates the profile if needed. The command is not known before it has been parsed, so the profile is
+ * loaded for every command that is not bypassed.</p>
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+final class CooldownPreprocessor<C> implements CommandPreprocessor<C> {
+
+    /**
+     * Key that stores the future profile in the command context.
+     */
+    static final CloudKey<CompletableFuture<@Nullable CooldownProfile>> PROFILE_KEY = CloudKey.of(
+            "cloud:cooldown_profile",
+            new TypeToken<CompletableFuture<@Nullable CooldownProfile>>() {
+            }
+    );
+
+    private final CooldownManager<C> cooldownManager;
+
+    CooldownPreprocessor(final @NonNull CooldownManager<C> cooldownManager) {
+        this.cooldownManager = cooldownManager;
+    }
+
+    @Override
+    public void accept(final @NonNull CommandPreprocessingContext<C> context) {
+        if (!(this.cooldownManager.repository() instanceof AsyncCooldownRepository)) {
+            return;
+        }
+        if (this.cooldownManager.configuration().bypassCooldown().test(context.commandContext())) {
+            return;
+        }
+        final AsyncCooldownRepository<C> repository = (AsyncCooldownRepository<C>) this.cooldownManager.repository();
+        context.commandContext().store(PROFILE_KEY, repository.loadProfileIfExists(context.commandContext().sender()));
+    }
+}
@@ -23,13 +23,24 @@
 //
 package org.incendo.cloud.processors.cooldown;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.processors.cache.CloudCache;
+import org.incendo.cloud.processors.cooldown.listener.CooldownRepositoryListener;
 import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
 import org.incendo.cloud.processors.cooldown.profile.CooldownProfileFactory;
 
@@ -64,6 +75,33 @@ public interface CooldownRepository<K> {
     ) {
         return new MappingCooldownRepository<>(
                 Objects.requireNonNull(mappingFunction, "mappingFunction"),
+                null,
+                Objects.requireNonNull(otherRepository, "otherRepository")
+        );
+    }
+
+    /**
+     * Returns a new repository backed by the given {@code otherRepository} that maps requests for keys
+     * of type {@link C} to type {@link K} using the given {@code mappingFunction}.
+     *
+     * <p>Unlike {@link #mapping(Function, CooldownRepository)}, the returned repository may be {@link #keys() iterated},
+     * as the keys of the backing repository are mapped back using the given {@code inverseFunction}.</p>
+     *
+     * @param <C>             command sender type
+     * @param <K>             repository key type
+     * @param mappingFunction function that maps between the types
+     * @param inverseFunction function that maps the keys of the backing repository back to the senders
+     * @param otherRepository backing repository
+     * @return the repository
+     */
+    static <C, K> @NonNull CooldownRepository<C> mapping(
+            final @NonNull Function<C, K> mappingFunction,
+            final @NonNull Function<K, C> inverseFunction,
+            final @NonNull CooldownRepository<K> otherRepository
+    ) {
+        return new MappingCooldownRepository<>(
+                Objects.requireNonNull(mappingFunction, "mappingFunction"),
+                Objects.requireNonNull(inverseFunction, "inverseFunction"),
                 Objects.requireNonNull(otherRepository, "otherRepository")
         );
     }
@@ -82,6 +120,8 @@ public interface CooldownRepository<K> {
     /**
      * Returns a new repository backed by the given {@code map}.
      *
+     * <p>If the map is a {@link ConcurrentMap} then profile lookups that do not create profiles are lock-free.</p>
+     *
      * @param <K> key type
      * @param map backing map
      * @return the repository
@@ -90,6 +130,40 @@ public interface CooldownRepository<K> {
         return new MapCooldownRepository<>(Objects.requireNonNull(map, "map"));
     }
 
+    /**
+     * Returns a new repository backed by the given {@code repository} that notifies the given {@code listener}
+     * about modifications made to the stored profiles.
+     *
+     * <p>Only profiles created by the returned repository are observed. The listener is notified while the lock of the
+     * modified profile is held, so the notifications of a profile are ordered like its modifications.</p>
+     *
+     * @param <K>        key type
+     * @param repository backing repository
+     * @param listener   listener to notify
+     * @return the repository
+     */
+    static <K> @NonNull CooldownRepository<K> observing(
+            final @NonNull CooldownRepository<K> repository,
+            final @NonNull CooldownRepositoryListener<K> listener
+    ) {
+        return new ObservingCooldownRepository<>(
+                Objects.requireNonNull(repository, "repository"),
+                Objects.requireNonNull(listener, "listener")
+        );
+    }
+
+    /**
+     * Returns a new repository backed by the given {@code repository} that maintains an index from
+     * {@link CooldownGroup groups} to the keys of the profiles with cooldowns in that group.
+     *
+     * @param <K>        key type
+     * @param repository backing repository
+     * @return the repository
+     */
+    static <K> @NonNull IndexedCooldownRepository<K> indexed(final @NonNull CooldownRepository<K> repository) {
+        return new IndexedCooldownRepository<>(Objects.requireNonNull(repository, "repository"));
+    }
+
     /**
      * Returns the profile for the given {@code key}.
      *
@@ -126,18 +200,122 @@ public interface CooldownRepository<K> {
      */
     void deleteCooldown(@NonNull K key, @NonNull CooldownGroup group);
 
+    /**
+     * Returns a snapshot of the keys of all profiles stored in the repository.
+     *
+     * <p>Modifications to the repository are not reflected by the returned collection.</p>
+     *
+     * <p>The standard repositories can be iterated, with the exception of
+     * {@link #mapping(Function, CooldownRepository) mapping repositories} that were created without an inverse
+     * function. Repositories that decorate another repository iterate the keys of the decorated repository.</p>
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}.</p>
+     *
+     * @return the keys
+     * @throws UnsupportedOperationException if the repository cannot be iterated
+     */
+    default @NonNull Collection<@NonNull K> keys() {
+        throw new UnsupportedOperationException("This repository cannot be iterated");
+    }
+
+    /**
+     * Returns an iterator over the keys of all profiles stored in the repository.
+     *
+     * <p>Unlike {@link #keys()}, the iterator may reflect modifications made to the repository while iterating, which
+     * lets repositories backed by concurrent maps iterate the keys without copying them.</p>
+     *
+     * <p>The default implementation iterates {@link #keys()}.</p>
+     *
+     * @return the iterator
+     * @throws UnsupportedOperationException if the repository cannot be iterated
+     */
+    default @NonNull Iterator<@NonNull K> keyIterator() {
+        return this.keys().iterator();
+    }
+
+    /**
+     * Deletes the profile identified by the given {@code key} if it is empty.
+     *
+     * <p>The check and the deletion are atomic with respect to the other methods of the repository. The profile is
+     * {@link CooldownProfile#markDeletedIfEmpty() marked as deleted} under its own lock before it is deleted, which
+     * lets writers that modified it concurrently look the profile up again. The default implementation synchronizes on
+     * the repository.</p>
+     *
+     * @param key the key
+     * @return {@code true} if the profile was deleted, else {@code false}
+     */
+    default boolean deleteProfileIfEmpty(final @NonNull K key) {
+        synchronized (this) {
+            final CooldownProfile profile = this.getProfileIfExists(key);
+            if (profile == null || !profile.markDeletedIfEmpty()) {
+                return false;
+            }
+            this.deleteProfile(key);
+            return true;
+        }
+    }
+
+    /**
+     * Releases the profile identified by the given {@code key}, as it belongs to a sender that is no longer active.
+     *
+     * <p>The default implementation deletes the expired cooldowns of the profile, and deletes the profile if it is
+     * empty afterwards. Profiles with active cooldowns are kept, as deleting them would reset the cooldowns.</p>
+     *
+     * @param key the key
+     */
+    default void releaseProfile(final @NonNull K key) {
+        final CooldownProfile profile = this.getProfileIfExists(key);
+        if (profile == null) {
+            return;
+        }
+        profile.deleteExpiredCooldowns();
+        this.deleteProfileIfEmpty(key);
+    }
+
+    /**
+     * Stores the given {@code profiles} in bulk.
+     *
+     * <p>If a key already has a profile then that profile is kept, and the cooldowns of the given profile that do not
+     * conflict with the cooldowns of the stored profile are copied into it.</p>
+     *
+     * <p>The default implementation stores every profile using {@link #getProfile(Object, CooldownProfileFactory)}.
+     * Implementations may override it to store all profiles at once. Repositories that decorate another repository
+     * override it so that the stored cooldowns are reported to their listeners, indexes and storage.</p>
+     *
+     * @param profiles profiles to store, identified by their keys
+     */
+    default void putProfiles(final @NonNull Map<@NonNull K, @NonNull CooldownProfile> profiles) {
+        profiles.forEach((key, profile) -> {
+            final CooldownProfile stored = this.getProfile(key, () -> profile);
+            if (stored == profile) {
+                return;
+            }
+            for (final CooldownInstance cooldown : profile.cooldowns()) {
+                stored.setCooldownIfAbsent(cooldown.group(), CooldownInstance.builder()
+                        .profile(stored)
+                        .group(cooldown.group())
+                        .duration(cooldown.duration())
+                        .creationTime(cooldown.creationTime())
+                        .generation(cooldown.generation())
+                        .build());
+            }
+        });
+    }
 
     final class MappingCooldownRepository<C, K> implements CooldownRepository<C> {
 
         private final Function<C, K> mappingFunction;
+        private final @Nullable Function<K, C> inverseFunction;
         private final CooldownRepository<K> otherRepository;
 
 
         private MappingCooldownRepository(
                 final @NonNull Function<C, K> mappingFunction,
+                final @Nullable Function<K, C> inverseFunction,
                 final @NonNull CooldownRepository<K> otherRepository
         ) {
             this.mappingFunction = mappingFunction;
+            this.inverseFunction = inverseFunction;
             this.otherRepository = otherRepository;
         }
 
@@ -163,6 +341,267 @@ public interface CooldownRepository<K> {
         public void deleteCooldown(final @NonNull C key, final @NonNull CooldownGroup group) {
             this.otherRepository.deleteCooldown(this.mappingFunction.apply(key), group);
         }
+
+        @Override
+        public boolean deleteProfileIfEmpty(final @NonNull C key) {
+            return this.otherRepository.deleteProfileIfEmpty(this.mappingFunction.apply(key));
+        }
+
+        @Override
+        public void putProfiles(final @NonNull Map<@NonNull C, @NonNull CooldownProfile> profiles) {
+            final Map<K, CooldownProfile> mapped = new HashMap<>();
+            final List<Map.Entry<K, CooldownProfile>> duplicates = new ArrayList<>();
+            profiles.forEach((key, profile) -> {
+                final K mappedKey = this.mappingFunction.apply(key);
+                if (mapped.putIfAbsent(mappedKey, profile) != null) {
+                    duplicates.add(new AbstractMap.SimpleImmutableEntry<>(mappedKey, profile));
+                }
+            });
+            this.otherRepository.putProfiles(mapped);
+            // Profiles whose keys map to the same key are merged by storing them separately.
+            for (final Map.Entry<K, CooldownProfile> duplicate : duplicates) {
+                this.otherRepository.putProfiles(Collections.singletonMap(duplicate.getKey(), duplicate.getValue()));
+            }
+        }
+
+        /**
+         * Returns the keys of the backing repository, mapped back using the inverse function.
+         *
+         * @return the keys
+         * @throws UnsupportedOperationException if the repository was created without an inverse function
+         */
+        @Override
+        public @NonNull Collection<@NonNull C> keys() {
+            final Function<K, C> inverseFunction = this.inverseFunction();
+            final Collection<K> keys = this.otherRepository.keys();
+            final Collection<C> mappedKeys = new ArrayList<>(keys.size());
+            for (final K key : keys) {
+                mappedKeys.add(inverseFunction.apply(key));
+            }
+            return mappedKeys;
+        }
+
+        @Override
+        public @NonNull Iterator<@NonNull C> keyIterator() {
+            final Function<K, C> inverseFunction = this.inverseFunction();
+            final Iterator<K> iterator = this.otherRepository.keyIterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public @NonNull C next() {
+                    return inverseFunction.apply(iterator.next());
+                }
+            };
+        }
+
+        private @NonNull Function<K, C> inverseFunction() {
+            if (this.inverseFunction == null) {
+                throw new UnsupportedOperationException(
+                        "Mapping repositories without an inverse function cannot be iterated, iterate the backing repository"
+                );
+            }
+            return this.inverseFunction;
+        }
+    }
+
+    final class ObservingCooldownRepository<K> extends AbstractCooldownRepository<K> {
+
+        private final CooldownRepository<K> repository;
+        private final CooldownRepositoryListener<K> listener;
+
+        private ObservingCooldownRepository(
+                final @NonNull CooldownRepository<K> repository,
+                final @NonNull CooldownRepositoryListener<K> listener
+        ) {
+            this.repository = repository;
+            this.listener = listener;
+        }
+
+        @Override
+        public @NonNull CooldownProfile getProfile(
+                final @NonNull K key,
+                final @NonNull CooldownProfileFactory profileFactory
+        ) {
+            // Avoid allocating the wrapping factory when the profile already exists. Deleted profiles are looked up again,
+            // as the backing repository is about to remove them.
+            final CooldownProfile profile = this.repository.getProfileIfExists(key);
+            if (profile != null && !profile.isDeleted()) {
+                return profile;
+            }
+            return this.repository.getProfile(key, () -> new ObservedCooldownProfile(key, profileFactory.create()));
+        }
+
+        @Override
+        public @Nullable CooldownProfile getProfileIfExists(final @NonNull K key) {
+            return this.repository.getProfileIfExists(key);
+        }
+
+        @Override
+        public synchronized void deleteProfile(final @NonNull K key) {
+            final CooldownProfile profile = this.repository.getProfileIfExists(key);
+            if (profile == null) {
+                return;
+            }
+            this.repository.deleteProfile(key);
+            this.listener.profileDeleted(key, profile);
+        }
+
+        @Override
+        public synchronized boolean deleteProfileIfEmpty(final @NonNull K key) {
+            final CooldownProfile profile = this.repository.getProfileIfExists(key);
+            if (profile == null || !this.repository.deleteProfileIfEmpty(key)) {
+                return false;
+            }
+            this.listener.profileDeleted(key, profile);
+            return true;
+        }
+
+        @Override
+        public void putProfiles(final @NonNull Map<@NonNull K, @NonNull CooldownProfile> profiles) {
+            profiles.forEach((key, profile) -> {
+                final ObservedCooldownProfile observed = new ObservedCooldownProfile(key, profile);
+                final CooldownProfile stored = this.repository.getProfile(key, () -> observed);
+                if (stored == observed) {
+                    // The given profile has been stored as is, so its cooldowns are reported individually.
+                    synchronized (observed) {
+                        for (final CooldownInstance cooldown : profile.cooldowns()) {
+                            this.listener.cooldownSet(key, cooldown.group(), cooldown);
+                        }
+                    }
+                    return;
+                }
+                // The stored profile reports the cooldowns that are copied into it.
+                for (final CooldownInstance cooldown : profile.cooldowns()) {
+                    stored.setCooldownIfAbsent(cooldown.group(), CooldownInstance.builder()
+                            .profile(stored)
+                            .group(cooldown.group())
+                            .duration(cooldown.duration())
+                            .creationTime(cooldown.creationTime())
+                            .generation(cooldown.generation())
+                            .build());
+                }
+            });
+        }
+
+        @Override
+        public @NonNull Collection<@NonNull K> keys() {
+            return this.repository.keys();
+        }
+
+        @Override
+        public @NonNull Iterator<@NonNull K> keyIterator() {
+            return this.repository.keyIterator();
+        }
+
+        private final class ObservedCooldownProfile implements CooldownProfile {
+
+            private final K key;
+            private final CooldownProfile profile;
+
+            private ObservedCooldownProfile(final @NonNull K key, final @NonNull CooldownProfile profile) {
+                this.key = key;
+                this.profile = profile;
+            }
+
+            @Override
+            public @Nullable CooldownInstance getCooldown(final @NonNull CooldownGroup group) {
+                return this.profile.getCooldown(group);
+            }
+
+            @Override
+            public @Nullable CooldownInstance getBlockingCooldown(
+                    final @NonNull CooldownGroup group,
+                    final @NonNull List<@NonNull CooldownGroup> ancestors
+            ) {
+                return this.profile.getBlockingCooldown(group, ancestors);
+            }
+
+            @Override
+            public long remainingTime(final @NonNull CooldownGroup group, final @NonNull Instant currentTime) {
+                return this.profile.remainingTime(group, currentTime);
+            }
+
+            @Override
+            public long remainingTime(final @NonNull CooldownGroup group, final long currentTime) {
+                return this.profile.remainingTime(group, currentTime);
+            }
+
+            // Modifications are reported while the lock of this profile is held, which the default implementations of the
+            // conditional modifications hold as well. Listeners may take the same lock to order their own modifications.
+            @Override
+            public synchronized void setCooldown(final @NonNull CooldownGroup group, final @NonNull CooldownInstance cooldown) {
+                this.profile.setCooldown(group, cooldown);
+                ObservingCooldownRepository.this.listener.cooldownSet(this.key, group, cooldown);
+            }
+
+            @Override
+            public synchronized void deleteCooldown(final @NonNull CooldownGroup group) {
+                this.profile.deleteCooldown(group);
+                ObservingCooldownRepository.this.listener.cooldownDeleted(this.key, group);
+            }
+
+            @Override
+            public @NonNull Collection<@NonNull CooldownInstance> cooldowns() {
+                return this.profile.cooldowns();
+            }
+
+            @Override
+            public synchronized @NonNull Collection<@NonNull CooldownInstance> deleteExpiredCooldowns() {
+                final Collection<CooldownInstance> deleted = this.profile.deleteExpiredCooldowns();
+                for (final CooldownInstance cooldown : deleted) {
+                    ObservingCooldownRepository.this.listener.cooldownDeleted(this.key, cooldown.group());
+                }
+                return deleted;
+            }
+
+            @Override
+            public long rateLimitState(final @NonNull CooldownGroup group) {
+                return this.profile.rateLimitState(group);
+            }
+
+            @Override
+            public boolean compareAndSetRateLimitState(
+                    final @NonNull CooldownGroup group,
+                    final long expectedState,
+                    final long updatedState,
+                    final long idleTime
+            ) {
+                return this.profile.compareAndSetRateLimitState(group, expectedState, updatedState, idleTime);
+            }
+
+            @Override
+            public int recordBlockedAttempt(final @NonNull CooldownGroup group, final long currentTime, final long decayInterval) {
+                return this.profile.recordBlockedAttempt(group, currentTime, decayInterval);
+            }
+
+            @Override
+            public @NonNull Duration recordExtension(
+                    final @NonNull CooldownInstance cooldown,
+                    final @NonNull Duration extension,
+                    final @NonNull Duration maxTotalExtension
+            ) {
+                return this.profile.recordExtension(cooldown, extension, maxTotalExtension);
+            }
+
+            @Override
+            public boolean isEmpty() {
+                return this.profile.isEmpty();
+            }
+
+            @Override
+            public synchronized boolean markDeletedIfEmpty() {
+                return this.profile.markDeletedIfEmpty();
+            }
+
+            @Override
+            public boolean isDeleted() {
+                return this.profile.isDeleted();
+            }
+        }
     }
 
     abstract class AbstractCooldownRepository<K> implements CooldownRepository<K> {
@@ -174,18 +613,18 @@ public interface CooldownRepository<K> {
                 return;
             }
             profile.deleteCooldown(group);
-            if (profile.isEmpty()) {
-                this.deleteProfile(key);
-            }
+            this.deleteProfileIfEmpty(key);
         }
     }
 
     final class MapCooldownRepository<K> extends AbstractCooldownRepository<K> {
 
         private final Map<K, CooldownProfile> map;
+        private final boolean concurrent;
 
         private MapCooldownRepository(final @NonNull Map<K, CooldownProfile> map) {
             this.map = map;
+            this.concurrent = map instanceof ConcurrentMap;
         }
 
         @Override
@@ -197,14 +636,60 @@ public interface CooldownRepository<K> {
         }
 
         @Override
-        public synchronized @Nullable CooldownProfile getProfileIfExists(final @NonNull K key) {
-            return this.map.get(key);
+        public @Nullable CooldownProfile getProfileIfExists(final @NonNull K key) {
+            // Concurrent maps may be read without holding the lock of the repository.
+            if (this.concurrent) {
+                return this.map.get(key);
+            }
+            synchronized (this) {
+                return this.map.get(key);
+            }
         }
 
         @Override
         public synchronized void deleteProfile(final @NonNull K key) {
             this.map.remove(key);
         }
+
+        @Override
+        public void putProfiles(final @NonNull Map<@NonNull K, @NonNull CooldownProfile> profiles) {
+            final Map<K, CooldownProfile> conflicts = new HashMap<>();
+            synchronized (this) {
+                profiles.forEach((key, profile) -> {
+                    if (this.map.putIfAbsent(key, profile) != null) {
+                        conflicts.put(key, profile);
+                    }
+                });
+            }
+            // Conflicting profiles are rare, and are merged outside of the lock.
+            if (!conflicts.isEmpty()) {
+                super.putProfiles(conflicts);
+            }
+        }
+
+        @Override
+        public synchronized boolean deleteProfileIfEmpty(final @NonNull K key) {
+            final CooldownProfile profile = this.map.get(key);
+            if (profile == null || !profile.markDeletedIfEmpty()) {
+                return false;
+            }
+            this.map.remove(key);
+            return true;
+        }
+
+        @Override
+        public synchronized @NonNull Collection<@NonNull K> keys() {
+            return new ArrayList<>(this.map.keySet());
+        }
+
+        @Override
+        public @NonNull Iterator<@NonNull K> keyIterator() {
+            // The iterators of concurrent maps are weakly consistent, so the keys do not have to be copied.
+            if (this.concurrent) {
+                return this.map.keySet().iterator();
+            }
+            return this.keys().iterator();
+        }
     }
 
     final class CacheCooldownRepository<K> extends AbstractCooldownRepository<K> {
@@ -229,7 +714,7 @@ public interface CooldownRepository<K> {
         }
 
         @Override
-        public synchronized @Nullable CooldownProfile getProfileIfExists(final @NonNull K key) {
+        public @Nullable CooldownProfile getProfileIfExists(final @NonNull K key) {
             return this.cache.getIfPresent(key);
         }
 
@@ -237,5 +722,10 @@ public interface CooldownRepository<K> {
         public synchronized void deleteProfile(final @NonNull K key) {
             this.cache.delete(key);
         }
+
+        @Override
+        public @NonNull Collection<@NonNull K> keys() {
+            return this.cache.keys();
+        }
     }
 }
@@ -0,0 +1,196 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown;
+
+import io.leangen.geantyref.TypeToken;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.Command;
+import org.incendo.cloud.key.CloudKey;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+
+/**
+ * Cooldown that the {@link CooldownPostprocessor} lets an execution reserve. The {@link ReservingExecutionHandler}
+ * reserves the cooldown right before the execution, and commits or releases it once the execution completes.
+ *
+ * @param <C> command sender type
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+final class CooldownReservation<C> {
+
+    /**
+     * Key that stores the reservation in the command context.
+     */
+    static final CloudKey<CooldownReservation<?>> RESERVATION_KEY = CloudKey.of(
+            "cloud:cooldown_reservation",
+            new TypeToken<CooldownReservation<?>>() {
+            }
+    );
+
+    private final CooldownGroup group;
+    private final Duration timeout;
+    private final Duration duration;
+    private final Command<C> command;
+    // Written by reserve, and read by commit and release once the execution has completed on any thread.
+    private volatile CooldownProfile profile;
+    private volatile @Nullable CooldownInstance reservation;
+
+    CooldownReservation(
+            final @NonNull CooldownProfile profile,
+            final @NonNull CooldownGroup group,
+            final @NonNull Duration timeout,
+            final @NonNull Duration duration,
+            final @NonNull Command<C> command
+    ) {
+        this.profile = profile;
+        this.group = group;
+        this.timeout = timeout;
+        this.duration = duration;
+        this.command = command;
+    }
+
+    /**
+     * Returns the command that the cooldown is reserved for.
+     *
+     * @return the command
+     */
+    @NonNull Command<C> command() {
+        return this.command;
+    }
+
+    /**
+     * Reserves the cooldown for at most the reservation timeout, unless another cooldown or reservation is active.
+     *
+     * @param manager the cooldown manager
+     * @param sender  the sender that executes the command
+     * @return the active cooldown that prevents the reservation, or {@code null} if the cooldown has been reserved
+     */
+    @Nullable CooldownInstance reserve(final @NonNull CooldownManager<C> manager, final @NonNull C sender) {
+        CooldownProfile profile = this.profile;
+        while (true) {
+            final CooldownInstance reservation = CooldownInstance.builder()
+                    .profile(profile)
+                    .group(this.group)
+                    .duration(this.timeout)
+                    .creationTime(Instant.now(manager.configuration().clock()))
+                    .generation(manager.configuration().generations().current())
+                    .build();
+            // Another execution may have created a cooldown or a reservation since the execution was postprocessed.
+            final CooldownInstance existing = profile.setCooldownIfAbsent(this.group, reservation);
+            if (existing != null) {
+                return existing;
+            }
+            if (!profile.isDeleted()) {
+                this.profile = profile;
+                this.reservation = reservation;
+                return null;
+            }
+            profile = manager.repository().getProfile(sender, manager.configuration().profileFactory());
+        }
+    }
+
+    /**
+     * Replaces the reservation with a cooldown of the reserved duration that starts at the given {@code time}.
+     *
+     * <p>If the reservation has been extended by an {@link EscalationPolicy}, the cooldown is extended by the same
+     * amount. If the reservation has expired, the cooldown is created unless another cooldown is active.</p>
+     *
+     * @param manager the cooldown manager
+     * @param sender  the sender that executed the command
+     * @param time    the time the execution completed
+     */
+    void commit(final @NonNull CooldownManager<C> manager, final @NonNull C sender, final @NonNull Instant time) {
+        final CooldownInstance reservation = Objects.requireNonNull(this.reservation, "reservation");
+        CooldownProfile profile = this.profile;
+        while (true) {
+            final CooldownInstance reserved = this.reserved(profile, reservation);
+            final Duration extension = reserved == null ? Duration.ZERO : reserved.duration().minus(reservation.duration());
+            final CooldownInstance instance = CooldownInstance.builder()
+                    .profile(profile)
+                    .group(this.group)
+                    .duration(extension.isNegative() ? this.duration : this.duration.plus(extension))
+                    .creationTime(time)
+                    .generation(reservation.generation())
+                    .build();
+            if (reserved == null) {
+                if (profile.setCooldownIfAbsent(this.group, instance) != null) {
+                    return;
+                }
+                if (profile.isDeleted()) {
+                    // The expired reservation has been swept along with the profile, which is looked up again.
+                    profile = manager.repository().getProfile(sender, manager.configuration().profileFactory());
+                    continue;
+                }
+                manager.notifyCreated(sender, this.command, instance);
+                return;
+            }
+            if (profile.replaceCooldown(this.group, reserved, instance)) {
+                manager.notifyCreated(sender, this.command, instance);
+                return;
+            }
+            // The reservation was modified concurrently, such as by another blocked attempt.
+        }
+    }
+
+    /**
+     * Deletes the reservation, unless it has already been replaced.
+     */
+    void release() {
+        final CooldownInstance reservation = Objects.requireNonNull(this.reservation, "reservation");
+        final CooldownProfile profile = this.profile;
+        while (true) {
+            final CooldownInstance reserved = this.reserved(profile, reservation);
+            if (reserved == null || profile.replaceCooldown(this.group, reserved, null)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the reservation stored in the profile, or {@code null} if it has been replaced or has expired.
+     *
+     * <p>The reservation is identified by its creation time and generation rather than by its duration, as blocked
+     * attempts may have extended it.</p>
+     *
+     * @param profile     the profile that stores the reservation
+     * @param reservation the reservation
+     * @return the stored reservation, or {@code null}
+     */
+    private @Nullable CooldownInstance reserved(
+            final @NonNull CooldownProfile profile,
+            final @NonNull CooldownInstance reservation
+    ) {
+        final CooldownInstance current = profile.getCooldown(this.group);
+        if (current == null
+                || !current.creationTime().equals(reservation.creationTime())
+                || current.generation() != reservation.generation()) {
+            return null;
+        }
+        return current;
+    }
+}
@@ -0,0 +1,110 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+
+/**
+ * Algorithm that enforces a {@link RateLimit}.
+ *
+ * <p>Strategies keep their state in a single packed {@code long} per sender and group, using
+ * {@link CooldownProfile#rateLimitState(CooldownGroup)} and
+ * {@link CooldownProfile#compareAndSetRateLimitState(CooldownGroup, long, long, long)}. A state of {@code 0}
+ * must be interpreted as a sender that has not used any permits.</p>
+ *
+ * <p>All standard strategies interpret the rate limit as allowing {@link RateLimit#capacity()} executions per window,
+ * where the window is {@code capacity * refillInterval}.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public interface CooldownStrategy {
+
+    /**
+     * Returns a strategy that uses a token bucket. The bucket holds up to {@link RateLimit#capacity()} permits,
+     * and regains one permit every {@link RateLimit#refillInterval()}.
+     *
+     * @return the strategy
+     */
+    static @NonNull CooldownStrategy tokenBucket() {
+        return TokenBucket.INSTANCE;
+    }
+
+    /**
+     * Returns a strategy that uses a fixed window. The window starts when the first permit is taken, and allows
+     * {@link RateLimit#capacity()} executions until the window ends.
+     *
+     * <p>A capacity of {@code 1} is equivalent to a regular cooldown with a duration equal to
+     * {@link RateLimit#refillInterval()}.</p>
+     *
+     * @return the strategy
+     */
+    static @NonNull CooldownStrategy fixedWindow() {
+        return FixedWindow.INSTANCE;
+    }
+
+    /**
+     * Returns a strategy that uses a sliding window counter. The counter approximates the number of executions
+     * in the window leading up to the current time by weighing the count of the previous window, which prevents
+     * bursts at the edges of the windows.
+     *
+     * <p>Capacities above {@code 65535} are treated as {@code 65535}.</p>
+     *
+     * @return the strategy
+     */
+    static @NonNull CooldownStrategy slidingWindow() {
+        return SlidingWindow.INSTANCE;
+    }
+
+    /**
+     * Returns a strategy that uses the generic cell rate algorithm. Executions are spaced out by
+     * {@link RateLimit#refillInterval()}, with a tolerance that allows bursts of up to {@link RateLimit#capacity()}
+     * executions.
+     *
+     * @return the strategy
+     */
+    static @NonNull CooldownStrategy gcra() {
+        return GenericCellRateAlgorithm.INSTANCE;
+    }
+
+    /**
+     * Attempts to take a permit for the given {@code group} from the given {@code profile}.
+     *
+     * <p>Implementations should not allocate, as this is invoked for every execution of a rate limited command.</p>
+     *
+     * @param profile     profile storing the state
+     * @param group       group identifying the state
+     * @param rateLimit   rate limit to enforce
+     * @param currentTime current time in epoch milliseconds
+     * @return {@code 0} if a permit was taken, else the number of milliseconds until a permit becomes available
+     */
+    long tryAcquire(
+            @NonNull CooldownProfile profile,
+            @NonNull CooldownGroup group,
+            @NonNull RateLimit rateLimit,
+            long currentTime
+    );
+}
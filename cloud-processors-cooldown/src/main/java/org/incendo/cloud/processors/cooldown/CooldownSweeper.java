@@ -0,0 +1,112 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown;
+
+import java.util.Iterator;
+import java.util.Objects;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+
+/**
+ * Task that incrementally removes expired cooldowns and empty profiles from a {@link CooldownRepository}.
+ *
+ * <p>Each {@link #run() run} inspects at most {@code batchSize} profiles. The sweeper remembers where it stopped
+ * and continues from that point in the next run. Once every profile has been inspected the sweeper starts over using
+ * a new {@link CooldownRepository#keyIterator() key iterator}, which does not copy the keys if the repository is
+ * backed by a concurrent map. Empty profiles are deleted using {@link CooldownRepository#deleteProfileIfEmpty(Object)},
+ * so cooldowns set concurrently with the sweep are kept. The sweeper is intended to be scheduled at a fixed rate, which bounds the memory used
+ * by stale cooldowns without scheduling a task per cooldown:</p>
+ * <pre>{@code
+ * executorService.scheduleAtFixedRate(CooldownSweeper.of(repository, 1000), 1L, 1L, TimeUnit.SECONDS);
+ * }</pre>
+ *
+ * <p>The repository must support {@link CooldownRepository#keys() iteration}. If a
+ * {@link CooldownRepository#mapping(java.util.function.Function, CooldownRepository) mapping repository} without an
+ * inverse function is used, then the backing repository should be swept instead.</p>
+ *
+ * @param <K> repository key type
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class CooldownSweeper<K> implements Runnable {
+
+    /**
+     * Creates a new sweeper that inspects at most {@code batchSize} profiles per run.
+     *
+     * @param <K>        repository key type
+     * @param repository repository to sweep
+     * @param batchSize  maximum number of profiles to inspect per run
+     * @return the sweeper
+     */
+    public static <K> @NonNull CooldownSweeper<K> of(final @NonNull CooldownRepository<K> repository, final int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        return new CooldownSweeper<>(Objects.requireNonNull(repository, "repository"), batchSize);
+    }
+
+    private final CooldownRepository<K> repository;
+    private final int batchSize;
+
+    private @Nullable Iterator<K> keys;
+
+    private CooldownSweeper(final @NonNull CooldownRepository<K> repository, final int batchSize) {
+        this.repository = repository;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run() {
+        this.sweep();
+    }
+
+    /**
+     * Inspects the next batch of profiles, deleting expired cooldowns and removing profiles that end up empty.
+     *
+     * @return the number of deleted profiles
+     */
+    public synchronized int sweep() {
+        Iterator<K> keys = this.keys;
+        if (keys == null || !keys.hasNext()) {
+            keys = this.repository.keyIterator();
+            this.keys = keys;
+        }
+
+        int deletedProfiles = 0;
+        for (int inspected = 0; inspected < this.batchSize && keys.hasNext(); inspected++) {
+            final K key = keys.next();
+            final CooldownProfile profile = this.repository.getProfileIfExists(key);
+            if (profile == null) {
+                continue;
+            }
+            profile.deleteExpiredCooldowns();
+            if (this.repository.deleteProfileIfEmpty(key)) {
+                deletedProfiles++;
+            }
+        }
+        return deletedProfiles;
+    }
+}
@@ -24,6 +24,7 @@
 package org.incendo.cloud.processors.cooldown;
 
 import java.time.Duration;
+import java.util.Objects;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.context.CommandContext;
@@ -46,7 +47,7 @@ public interface DurationFunction<C> {
      * @return the duration function
      */
     static <C> @NonNull DurationFunction<C> constant(final @NonNull Duration duration) {
-        return context -> duration;
+        return new ConstantDurationFunction<>(Objects.requireNonNull(duration, "duration"));
     }
 
     /**
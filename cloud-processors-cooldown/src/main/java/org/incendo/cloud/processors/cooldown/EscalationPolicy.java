@@ -0,0 +1,193 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown;
+
+import java.time.Duration;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.immutables.value.Value;
+import org.incendo.cloud.processors.immutables.StagedImmutableBuilder;
+
+/**
+ * Policy that penalizes senders who repeatedly attempt to execute a command while its cooldown is active.
+ *
+ * <p>Every blocked attempt increments a counter stored in the profile of the sender, which decays by one for every
+ * {@link #decay()} without blocked attempts. Once the counter exceeds {@link #freeAttempts()}, every blocked attempt
+ * extends the active cooldown, starting at {@link #baseExtension()} and growing by {@link #multiplier()} for every
+ * subsequent attempt, up to {@link #maxExtension()}. The extensions of a single cooldown add up to at most
+ * {@link #maxTotalExtension()}. Once the counter exceeds {@link #silenceThreshold()}, the active cooldown listeners are
+ * no longer invoked for the blocked attempts.</p>
+ *
+ * @since 1.0.0
+ */
+@StagedImmutableBuilder
+@Value.Immutable
+@API(status = API.Status.STABLE, since = "1.0.0")
+public interface EscalationPolicy {
+
+    /**
+     * Returns a new escalation policy.
+     *
+     * @param baseExtension    extension applied by the first penalized attempt
+     * @param maxExtension     maximum extension applied by a single attempt
+     * @param silenceThreshold number of blocked attempts after which the active cooldown listeners are skipped
+     * @return the policy
+     */
+    static @NonNull EscalationPolicy of(
+            final @NonNull Duration baseExtension,
+            final @NonNull Duration maxExtension,
+            final int silenceThreshold
+    ) {
+        return EscalationPolicy.builder()
+                .baseExtension(baseExtension)
+                .maxExtension(maxExtension)
+                .silenceThreshold(silenceThreshold)
+                .build();
+    }
+
+    /**
+     * Returns a new escalation policy builder.
+     *
+     * @return the builder
+     */
+    static ImmutableEscalationPolicy.@NonNull BaseExtensionBuildStage builder() {
+        return ImmutableEscalationPolicy.builder();
+    }
+
+    /**
+     * Returns the extension applied by the first penalized attempt.
+     *
+     * @return the base extension
+     */
+    @NonNull Duration baseExtension();
+
+    /**
+     * Returns the maximum extension applied by a single attempt.
+     *
+     * @return the maximum extension
+     */
+    @NonNull Duration maxExtension();
+
+    /**
+     * Returns the maximum total extension of a single cooldown, summed over all penalized attempts.
+     *
+     * <p>The default value is {@link #maxExtension()}.</p>
+     *
+     * @return the maximum total extension
+     */
+    default @NonNull Duration maxTotalExtension() {
+        return this.maxExtension();
+    }
+
+    /**
+     * Returns the number of blocked attempts after which the active cooldown listeners are no longer invoked.
+     *
+     * <p>The default value is {@link Integer#MAX_VALUE}, which always invokes the listeners.</p>
+     *
+     * @return the silence threshold
+     */
+    default int silenceThreshold() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Returns the number of blocked attempts that are tolerated before the cooldown gets extended.
+     *
+     * <p>The default value is {@code 1}.</p>
+     *
+     * @return the number of free attempts
+     */
+    default int freeAttempts() {
+        return 1;
+    }
+
+    /**
+     * Returns the factor by which the extension grows for every penalized attempt.
+     *
+     * <p>The default value is {@code 2}.</p>
+     *
+     * @return the multiplier
+     */
+    default double multiplier() {
+        return 2D;
+    }
+
+    /**
+     * Returns the time without blocked attempts it takes for the counter to decrease by one.
+     *
+     * <p>The default value is one minute.</p>
+     *
+     * @return the decay interval
+     */
+    default @NonNull Duration decay() {
+        return Duration.ofMinutes(1L);
+    }
+
+    /**
+     * Returns the extension applied by the given blocked attempt.
+     *
+     * @param attempts number of recent blocked attempts, including the current one
+     * @return the extension
+     */
+    default @NonNull Duration extension(final int attempts) {
+        final int penalized = attempts - this.freeAttempts();
+        if (penalized < 1) {
+            return Duration.ZERO;
+        }
+        final double millis = this.baseExtension().toMillis() * Math.pow(this.multiplier(), penalized - 1);
+        return Duration.ofMillis((long) Math.min(millis, this.maxExtension().toMillis()));
+    }
+
+    /**
+     * Returns whether the active cooldown listeners should be skipped for the given blocked attempt.
+     *
+     * @param attempts number of recent blocked attempts, including the current one
+     * @return {@code true} if the attempt should be dropped silently, else {@code false}
+     */
+    default boolean silent(final int attempts) {
+        return attempts > this.silenceThreshold();
+    }
+
+    /**
+     * Validates the policy.
+     */
+    @Value.Check
+    default void validate() {
+        if (this.baseExtension().isNegative() || this.maxExtension().compareTo(this.baseExtension()) < 0) {
+            throw new IllegalArgumentException("extensions must satisfy 0 <= baseExtension <= maxExtension");
+        }
+        if (this.maxTotalExtension().isNegative()) {
+            throw new IllegalArgumentException("maxTotalExtension may not be negative");
+        }
+        if (this.silenceThreshold() < 0 || this.freeAttempts() < 0) {
+            throw new IllegalArgumentException("thresholds may not be negative");
+        }
+        if (!(this.multiplier() >= 1D)) {
+            throw new IllegalArgumentException("multiplier must be at least 1");
+        }
+        if (this.decay().toMillis() < 1L) {
+            throw new IllegalArgumentException("decay must be at least one millisecond");
+        }
+    }
+}
@@ -0,0 +1,78 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+
+/**
+ * Fixed window implementation of {@link CooldownStrategy}.
+ *
+ * <p>The state stores the start of the window in the upper 44 bits and the number of used permits in the
+ * lower 20 bits. A state of {@code 0} represents a sender without a window.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+final class FixedWindow implements CooldownStrategy {
+
+    static final FixedWindow INSTANCE = new FixedWindow();
+
+    private static final int PERMIT_BITS = 20;
+    private static final long PERMIT_MASK = (1L << PERMIT_BITS) - 1L;
+
+    private FixedWindow() {
+    }
+
+    @Override
+    public long tryAcquire(
+            final @NonNull CooldownProfile profile,
+            final @NonNull CooldownGroup group,
+            final @NonNull RateLimit rateLimit,
+            final long currentTime
+    ) {
+        final long capacity = rateLimit.capacity();
+        final long window = capacity * rateLimit.refillInterval().toMillis();
+        while (true) {
+            final long state = profile.rateLimitState(group);
+
+            long windowStart = state >>> PERMIT_BITS;
+            long usedPermits = state & PERMIT_MASK;
+            if (state == 0L || currentTime >= windowStart + window) {
+                windowStart = currentTime;
+                usedPermits = 0L;
+            }
+
+            if (usedPermits >= capacity) {
+                return Math.max(1L, windowStart + window - currentTime);
+            }
+
+            final long updatedState = (windowStart << PERMIT_BITS) | (usedPermits + 1L);
+            if (profile.compareAndSetRateLimitState(group, state, updatedState, windowStart + window)) {
+                return 0L;
+            }
+        }
+    }
+}
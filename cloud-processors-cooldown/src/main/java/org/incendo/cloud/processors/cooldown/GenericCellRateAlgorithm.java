@@ -0,0 +1,70 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+
+/**
+ * Generic cell rate algorithm implementation of {@link CooldownStrategy}.
+ *
+ * <p>The state stores the theoretical arrival time in epoch milliseconds. A state of {@code 0} represents a sender
+ * that may use the entire burst.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+final class GenericCellRateAlgorithm implements CooldownStrategy {
+
+    static final GenericCellRateAlgorithm INSTANCE = new GenericCellRateAlgorithm();
+
+    private GenericCellRateAlgorithm() {
+    }
+
+    @Override
+    public long tryAcquire(
+            final @NonNull CooldownProfile profile,
+            final @NonNull CooldownGroup group,
+            final @NonNull RateLimit rateLimit,
+            final long currentTime
+    ) {
+        final long emissionInterval = rateLimit.refillInterval().toMillis();
+        final long burstTolerance = rateLimit.capacity() * emissionInterval;
+        while (true) {
+            final long state = profile.rateLimitState(group);
+            final long arrivalTime = Math.max(state, currentTime);
+
+            final long allowedTime = arrivalTime + emissionInterval - burstTolerance;
+            if (currentTime < allowedTime) {
+                return allowedTime - currentTime;
+            }
+
+            final long updatedState = arrivalTime + emissionInterval;
+            if (profile.compareAndSetRateLimitState(group, state, updatedState, updatedState)) {
+                return 0L;
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.processors.cooldown.listener.CooldownRepositoryListener;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfileFactory;
+
+/**
+ * Repository that maintains an index from {@link CooldownGroup groups} to the keys of the profiles that have
+ * a cooldown in the group. This allows for group-wide operations that only visit the members of the group,
+ * rather than every profile in the repository.
+ *
+ * <p>The index is updated when cooldowns are set or deleted, and when expired cooldowns are removed by
+ * {@link CooldownProfile#deleteExpiredCooldowns()}, for example by a {@link CooldownSweeper}. Members whose
+ * cooldowns expired without being removed are pruned lazily by the group-wide operations.</p>
+ *
+ * <p>Instances are created using {@link CooldownRepository#indexed(CooldownRepository)}.</p>
+ *
+ * @param <K> key type
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class IndexedCooldownRepository<K> implements CooldownRepository<K> {
+
+    private final Map<CooldownGroup, Set<K>> index = new ConcurrentHashMap<>();
+    private final CooldownRepository<K> repository;
+
+    IndexedCooldownRepository(final @NonNull CooldownRepository<K> repository) {
+        this.repository = CooldownRepository.observing(repository, new IndexListener());
+    }
+
+    @Override
+    public @NonNull CooldownProfile getProfile(final @NonNull K key, final @NonNull CooldownProfileFactory profileFactory) {
+        return this.repository.getProfile(key, profileFactory);
+    }
+
+    @Override
+    public @Nullable CooldownProfile getProfileIfExists(final @NonNull K key) {
+        return this.repository.getProfileIfExists(key);
+    }
+
+    @Override
+    public void deleteProfile(final @NonNull K key) {
+        this.repository.deleteProfile(key);
+    }
+
+    @Override
+    public void deleteCooldown(final @NonNull K key, final @NonNull CooldownGroup group) {
+        this.repository.deleteCooldown(key, group);
+    }
+
+    @Override
+    public boolean deleteProfileIfEmpty(final @NonNull K key) {
+        return this.repository.deleteProfileIfEmpty(key);
+    }
+
+    @Override
+    public void putProfiles(final @NonNull Map<@NonNull K, @NonNull CooldownProfile> profiles) {
+        this.repository.putProfiles(profiles);
+    }
+
+    @Override
+    public @NonNull Collection<@NonNull K> keys() {
+        return this.repository.keys();
+    }
+
+    @Override
+    public @NonNull Iterator<@NonNull K> keyIterator() {
+        return this.repository.keyIterator();
+    }
+
+    /**
+     * Deletes the cooldowns belonging to the given {@code group} from every profile.
+     *
+     * @param group the group
+     */
+    public void resetGroup(final @NonNull CooldownGroup group) {
+        final Set<K> members = this.index.remove(group);
+        if (members == null) {
+            return;
+        }
+        for (final K key : members) {
+            this.repository.deleteCooldown(key, group);
+        }
+    }
+
+    /**
+     * Returns the number of profiles with an active cooldown belonging to the given {@code group}.
+     *
+     * @param group the group
+     * @return the number of profiles
+     */
+    public int countActive(final @NonNull CooldownGroup group) {
+        return this.activeMembers(group).size();
+    }
+
+    /**
+     * Returns a stream of the keys of the profiles with an active cooldown belonging to the given {@code group}.
+     *
+     * <p>The members of the group are inspected when this method is called, rather than when the stream is consumed.</p>
+     *
+     * @param group the group
+     * @return stream of keys
+     */
+    public @NonNull Stream<@NonNull K> streamActive(final @NonNull CooldownGroup group) {
+        return this.activeMembers(group).stream();
+    }
+
+    private @NonNull List<@NonNull K> activeMembers(final @NonNull CooldownGroup group) {
+        final Set<K> members = this.index.get(group);
+        if (members == null) {
+            return List.of();
+        }
+        final List<K> active = new ArrayList<>();
+        final Iterator<K> iterator = members.iterator();
+        while (iterator.hasNext()) {
+            final K key = iterator.next();
+            final CooldownProfile profile = this.repository.getProfileIfExists(key);
+            if (profile == null || profile.getCooldown(group) == null) {
+                // Expired cooldowns do not notify the listener, so the index is pruned as it is read.
+                iterator.remove();
+            } else {
+                active.add(key);
+            }
+        }
+        if (active.isEmpty()) {
+            this.removeIfEmpty(group);
+        }
+        return active;
+    }
+
+    // The sets are only added to and removed from the index while the entry is locked, so keys are never added to
+    // a set that has been removed.
+    private void removeIfEmpty(final @NonNull CooldownGroup group) {
+        this.index.computeIfPresent(group, (g, members) -> members.isEmpty() ? null : members);
+    }
+
+    private final class IndexListener implements CooldownRepositoryListener<K> {
+
+        @Override
+        public void cooldownSet(final @NonNull K key, final @NonNull CooldownGroup group, final @NonNull CooldownInstance cooldown) {
+            IndexedCooldownRepository.this.index.compute(group, (g, members) -> {
+                final Set<K> set = members == null ? ConcurrentHashMap.newKeySet() : members;
+                set.add(key);
+                return set;
+            });
+        }
+
+        @Override
+        public void cooldownDeleted(final @NonNull K key, final @NonNull CooldownGroup group) {
+            IndexedCooldownRepository.this.index.computeIfPresent(group, (g, members) -> {
+                members.remove(key);
+                return members.isEmpty() ? null : members;
+            });
+        }
+
+        @Override
+        public void profileDeleted(final @NonNull K key, final @NonNull CooldownProfile profile) {
+            for (final CooldownInstance cooldown : profile.cooldowns()) {
+                this.cooldownDeleted(key, cooldown.group());
+            }
+        }
+    }
+}
@@ -0,0 +1,142 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown;
+
+import java.time.Duration;
+import java.util.Objects;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Scales cooldown durations by a smoothed {@link LoadSignal}.
+ *
+ * <p>The samples are smoothed using an exponentially weighted moving average, which prevents short spikes from
+ * affecting the durations. The scale is clamped to the configured bounds.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class LoadScaler {
+
+    private static final LoadScaler NONE = new LoadScaler(LoadSignal.nominal(), 1.0D, 1.0D, Duration.ZERO);
+
+    /**
+     * Returns a scaler that never changes the durations.
+     *
+     * @return the scaler
+     */
+    public static @NonNull LoadScaler none() {
+        return NONE;
+    }
+
+    /**
+     * Creates a new scaler.
+     *
+     * @param signal    the load signal
+     * @param minScale  the smallest scale, which may be less than {@code 1.0} to shrink durations while the load is low
+     * @param maxScale  the largest scale
+     * @param smoothing the time constant of the moving average, where {@link Duration#ZERO} disables smoothing
+     * @return the scaler
+     */
+    public static @NonNull LoadScaler of(
+            final @NonNull LoadSignal signal,
+            final double minScale,
+            final double maxScale,
+            final @NonNull Duration smoothing
+    ) {
+        Objects.requireNonNull(signal, "signal");
+        Objects.requireNonNull(smoothing, "smoothing");
+        if (!(minScale > 0.0D) || !(maxScale >= minScale) || Double.isInfinite(maxScale)) {
+            throw new IllegalArgumentException("The bounds must satisfy 0 < minScale <= maxScale");
+        }
+        if (smoothing.isNegative()) {
+            throw new IllegalArgumentException("smoothing may not be negative");
+        }
+        return new LoadScaler(signal, minScale, maxScale, smoothing);
+    }
+
+    private final LoadSignal signal;
+    private final double minScale;
+    private final double maxScale;
+    private final double smoothingNanos;
+
+    private double smoothedLoad = 1.0D;
+    private long lastSampleTime = System.nanoTime();
+
+    private LoadScaler(
+            final @NonNull LoadSignal signal,
+            final double minScale,
+            final double maxScale,
+            final @NonNull Duration smoothing
+    ) {
+        this.signal = signal;
+        this.minScale = minScale;
+        this.maxScale = maxScale;
+        this.smoothingNanos = smoothing.toNanos();
+    }
+
+    /**
+     * Samples the load signal and returns the current scale.
+     *
+     * @return the scale, within the configured bounds
+     */
+    public double scale() {
+        if (this == NONE) {
+            return 1.0D;
+        }
+        final double sample = this.signal.load();
+        final double smoothedLoad;
+        synchronized (this) {
+            final long currentTime = System.nanoTime();
+            final long elapsedTime = currentTime - this.lastSampleTime;
+            this.lastSampleTime = currentTime;
+            // Invalid samples are ignored, rather than poisoning the average.
+            if (Double.isFinite(sample) && sample >= 0.0D) {
+                final double weight = this.smoothingNanos == 0.0D ? 1.0D : -Math.expm1(-elapsedTime / this.smoothingNanos);
+                this.smoothedLoad += (sample - this.smoothedLoad) * weight;
+            }
+            smoothedLoad = this.smoothedLoad;
+        }
+        return Math.max(this.minScale, Math.min(this.maxScale, smoothedLoad));
+    }
+
+    /**
+     * Returns the given {@code duration} multiplied by the current {@link #scale()}.
+     *
+     * @param duration the base duration
+     * @return the scaled duration
+     */
+    public @NonNull Duration scale(final @NonNull Duration duration) {
+        final double scale = this.scale();
+        if (scale == 1.0D) {
+            return duration;
+        }
+        try {
+            return Duration.ofNanos(Math.round(Math.min(duration.toNanos() * scale, (double) Long.MAX_VALUE)));
+        } catch (final ArithmeticException e) {
+            // Durations this long are not meaningfully affected by the scale.
+            return duration;
+        }
+    }
+}
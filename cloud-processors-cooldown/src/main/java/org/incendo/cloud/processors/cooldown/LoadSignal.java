@@ -0,0 +1,87 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.DoubleSupplier;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Signal that reports the current load of the application.
+ *
+ * <p>The load is expressed as a ratio, where {@code 1.0} is the nominal load. A server that takes 100ms to process a tick
+ * that should take 50ms would, for example, report a load of {@code 2.0}.</p>
+ *
+ * @since 1.0.0
+ */
+@FunctionalInterface
+@API(status = API.Status.STABLE, since = "1.0.0")
+public interface LoadSignal {
+
+    /**
+     * Returns a signal that always reports the nominal load.
+     *
+     * @return the signal
+     */
+    static @NonNull LoadSignal nominal() {
+        return () -> 1.0D;
+    }
+
+    /**
+     * Returns a signal that reports the ratio between the given {@code value} and the {@code nominal} value.
+     *
+     * @param value   supplier of the current value, such as the recent tick time
+     * @param nominal the value that corresponds to the nominal load
+     * @return the signal
+     */
+    static @NonNull LoadSignal ratio(final @NonNull DoubleSupplier value, final double nominal) {
+        Objects.requireNonNull(value, "value");
+        if (!(nominal > 0.0D)) {
+            throw new IllegalArgumentException("nominal must be positive");
+        }
+        return () -> value.getAsDouble() / nominal;
+    }
+
+    /**
+     * Returns a signal that reports the ratio between the queue depth of the given {@code executor}
+     * and the {@code nominalDepth}.
+     *
+     * @param executor     the executor
+     * @param nominalDepth the queue depth that corresponds to the nominal load
+     * @return the signal
+     */
+    static @NonNull LoadSignal queueDepth(final @NonNull ThreadPoolExecutor executor, final int nominalDepth) {
+        Objects.requireNonNull(executor, "executor");
+        return ratio(() -> executor.getQueue().size(), nominalDepth);
+    }
+
+    /**
+     * Returns the current load.
+     *
+     * @return the load, where {@code 1.0} is the nominal load
+     */
+    double load();
+}
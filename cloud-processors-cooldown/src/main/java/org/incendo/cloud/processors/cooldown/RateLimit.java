@@ -0,0 +1,124 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown;
+
+import java.time.Duration;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.immutables.value.Value;
+import org.incendo.cloud.processors.immutables.StagedImmutableBuilder;
+
+/**
+ * Rate limit that allows bursts of up to {@link #capacity()} executions, regaining one permit every
+ * {@link #refillInterval()}.
+ *
+ * <p>Allowing {@code N} executions per window {@code W} corresponds to a capacity of {@code N} and a
+ * refill interval of {@code W / N}. The rate limit is enforced by the {@link #strategy()}.</p>
+ *
+ * @since 1.0.0
+ */
+@StagedImmutableBuilder
+@Value.Immutable
+@API(status = API.Status.STABLE, since = "1.0.0")
+public interface RateLimit {
+
+    /**
+     * The maximum supported {@link #capacity()}.
+     */
+    int MAX_CAPACITY = (1 << 20) - 1;
+
+    /**
+     * Returns a new rate limit.
+     *
+     * @param capacity       maximum number of permits
+     * @param refillInterval time it takes to regain a single permit
+     * @return the rate limit
+     */
+    static @NonNull RateLimit of(final int capacity, final @NonNull Duration refillInterval) {
+        return RateLimit.builder().capacity(capacity).refillInterval(refillInterval).build();
+    }
+
+    /**
+     * Returns a new rate limit that is enforced by the given {@code strategy}.
+     *
+     * @param capacity       maximum number of permits
+     * @param refillInterval time it takes to regain a single permit
+     * @param strategy       strategy that enforces the rate limit
+     * @return the rate limit
+     */
+    static @NonNull RateLimit of(
+            final int capacity,
+            final @NonNull Duration refillInterval,
+            final @NonNull CooldownStrategy strategy
+    ) {
+        return RateLimit.builder().capacity(capacity).refillInterval(refillInterval).strategy(strategy).build();
+    }
+
+    /**
+     * Returns a new rate limit builder.
+     *
+     * @return the builder
+     */
+    static ImmutableRateLimit.@NonNull CapacityBuildStage builder() {
+        return ImmutableRateLimit.builder();
+    }
+
+    /**
+     * Returns the maximum number of permits, which is the size of the largest allowed burst.
+     *
+     * @return the capacity
+     */
+    int capacity();
+
+    /**
+     * Returns the time it takes to regain a single permit.
+     *
+     * @return the refill interval
+     */
+    @NonNull Duration refillInterval();
+
+    /**
+     * Returns the strategy that enforces the rate limit.
+     *
+     * <p>The default strategy is {@link CooldownStrategy#tokenBucket()}.</p>
+     *
+     * @return the strategy
+     */
+    default @NonNull CooldownStrategy strategy() {
+        return CooldownStrategy.tokenBucket();
+    }
+
+    /**
+     * Validates the rate limit.
+     */
+    @Value.Check
+    default void validate() {
+        if (this.capacity() < 1 || this.capacity() > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        if (this.refillInterval().toMillis() < 1L) {
+            throw new IllegalArgumentException("refillInterval must be at least one millisecond");
+        }
+    }
+}
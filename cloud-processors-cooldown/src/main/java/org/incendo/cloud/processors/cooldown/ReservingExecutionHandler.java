@@ -0,0 +1,93 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.execution.CommandExecutionHandler;
+
+/**
+ * Handler that reserves the {@link CooldownReservation} of an execution right before the execution, and commits or
+ * releases it once the execution completes.
+ *
+ * @param <C> command sender type
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+final class ReservingExecutionHandler<C> implements CommandExecutionHandler.FutureCommandExecutionHandler<C> {
+
+    private final CooldownManager<C> cooldownManager;
+    private final CommandExecutionHandler<C> delegate;
+
+    ReservingExecutionHandler(
+            final @NonNull CooldownManager<C> cooldownManager,
+            final @NonNull CommandExecutionHandler<C> delegate
+    ) {
+        this.cooldownManager = cooldownManager;
+        this.delegate = delegate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @NonNull CompletableFuture<Void> executeFuture(final @NonNull CommandContext<C> commandContext) {
+        final CooldownReservation<C> reservation =
+                (CooldownReservation<C>) commandContext.getOrDefault(CooldownReservation.RESERVATION_KEY, null);
+        if (reservation == null) {
+            return this.delegate.executeFuture(commandContext);
+        }
+        // The cooldown is only reserved once the execution can no longer be interrupted by a postprocessor.
+        final CooldownInstance active = reservation.reserve(this.cooldownManager, commandContext.sender());
+        if (active != null) {
+            // Another execution has reserved the cooldown since this execution was postprocessed.
+            this.cooldownManager.notifyActive(
+                    commandContext.sender(),
+                    reservation.command(),
+                    active,
+                    Instant.now(this.cooldownManager.configuration().clock())
+            );
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final CompletableFuture<Void> future;
+        try {
+            future = this.delegate.executeFuture(commandContext);
+        } catch (final RuntimeException e) {
+            reservation.release();
+            throw e;
+        }
+        return future.whenComplete((result, throwable) -> {
+            if (throwable == null) {
+                reservation.commit(
+                        this.cooldownManager,
+                        commandContext.sender(),
+                        Instant.now(this.cooldownManager.configuration().clock())
+                );
+            } else {
+                reservation.release();
+            }
+        });
+    }
+}
@@ -0,0 +1,100 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+
+/**
+ * Sliding window counter implementation of {@link CooldownStrategy}.
+ *
+ * <p>Time is divided into windows aligned to the epoch. The state stores the lower 32 bits of the index of the
+ * current window in the upper 32 bits, followed by the number of executions in the previous window and the number
+ * of executions in the current window using 16 bits each. The number of executions in the sliding window is estimated
+ * as {@code previous * (1 - elapsed / window) + current}.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+final class SlidingWindow implements CooldownStrategy {
+
+    static final SlidingWindow INSTANCE = new SlidingWindow();
+
+    private static final int COUNT_BITS = 16;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1L;
+    private static final long INDEX_MASK = 0xFFFFFFFFL;
+
+    private SlidingWindow() {
+    }
+
+    @Override
+    public long tryAcquire(
+            final @NonNull CooldownProfile profile,
+            final @NonNull CooldownGroup group,
+            final @NonNull RateLimit rateLimit,
+            final long currentTime
+    ) {
+        final long limit = Math.min(rateLimit.capacity(), COUNT_MASK);
+        final long window = rateLimit.capacity() * rateLimit.refillInterval().toMillis();
+        final long windowIndex = currentTime / window;
+        final long elapsed = currentTime - windowIndex * window;
+        while (true) {
+            final long state = profile.rateLimitState(group);
+
+            long previousCount = 0L;
+            long currentCount = 0L;
+            if (state != 0L) {
+                final long storedIndex = state >>> (2 * COUNT_BITS);
+                if (storedIndex == (windowIndex & INDEX_MASK)) {
+                    previousCount = (state >>> COUNT_BITS) & COUNT_MASK;
+                    currentCount = state & COUNT_MASK;
+                } else if (storedIndex == ((windowIndex - 1L) & INDEX_MASK)) {
+                    previousCount = state & COUNT_MASK;
+                }
+            }
+
+            if (previousCount * (window - elapsed) + currentCount * window >= limit * window) {
+                if (currentCount >= limit) {
+                    // Wait for the next window, where the current count becomes the previous count.
+                    final long nextElapsed = window - ceilDiv(limit * window, currentCount) + 1L;
+                    return (window - elapsed) + Math.max(0L, nextElapsed);
+                }
+                final long allowedElapsed = window - ceilDiv((limit - currentCount) * window, previousCount) + 1L;
+                return Math.max(1L, allowedElapsed - elapsed);
+            }
+
+            final long updatedState = ((windowIndex & INDEX_MASK) << (2 * COUNT_BITS))
+                    | (previousCount << COUNT_BITS)
+                    | (currentCount + 1L);
+            if (profile.compareAndSetRateLimitState(group, state, updatedState, (windowIndex + 2L) * window)) {
+                return 0L;
+            }
+        }
+    }
+
+    private static long ceilDiv(final long dividend, final long divisor) {
+        return (dividend + divisor - 1L) / divisor;
+    }
+}
@@ -0,0 +1,90 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+
+/**
+ * Token bucket implementation of {@link CooldownStrategy}.
+ *
+ * <p>The state stores the time of the last refill in the upper 44 bits and the number of remaining permits in the
+ * lower 20 bits. A state of {@code 0} represents a full bucket.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.INTERNAL, since = "1.0.0")
+final class TokenBucket implements CooldownStrategy {
+
+    static final TokenBucket INSTANCE = new TokenBucket();
+
+    private static final int PERMIT_BITS = 20;
+    private static final long PERMIT_MASK = (1L << PERMIT_BITS) - 1L;
+
+    private TokenBucket() {
+    }
+
+    @Override
+    public long tryAcquire(
+            final @NonNull CooldownProfile profile,
+            final @NonNull CooldownGroup group,
+            final @NonNull RateLimit rateLimit,
+            final long currentTime
+    ) {
+        final long capacity = rateLimit.capacity();
+        final long refillInterval = rateLimit.refillInterval().toMillis();
+        while (true) {
+            final long state = profile.rateLimitState(group);
+
+            long permits;
+            long lastRefill;
+            if (state == 0L) {
+                permits = capacity;
+                lastRefill = currentTime;
+            } else {
+                permits = Math.min(state & PERMIT_MASK, capacity);
+                lastRefill = state >>> PERMIT_BITS;
+                if (currentTime > lastRefill) {
+                    final long refilled = (currentTime - lastRefill) / refillInterval;
+                    if (refilled > 0L) {
+                        permits = Math.min(capacity, permits + refilled);
+                        lastRefill = permits == capacity ? currentTime : lastRefill + refilled * refillInterval;
+                    }
+                }
+            }
+
+            if (permits == 0L) {
+                return Math.max(1L, lastRefill + refillInterval - currentTime);
+            }
+
+            permits--;
+            final long updatedState = (lastRefill << PERMIT_BITS) | permits;
+            final long idleTime = lastRefill + (capacity - permits) * refillInterval;
+            if (profile.compareAndSetRateLimitState(group, state, updatedState, idleTime)) {
+                return 0L;
+            }
+        }
+    }
+}
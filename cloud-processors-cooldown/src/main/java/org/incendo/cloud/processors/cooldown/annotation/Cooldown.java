@@ -31,6 +31,7 @@ import java.time.temporal.ChronoUnit;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.incendo.cloud.processors.cooldown.CooldownConfiguration;
+import org.incendo.cloud.processors.cooldown.CooldownStrategy;
 
 /**
  * Adds a cooldown to the command.
@@ -64,4 +65,54 @@ public @interface Cooldown {
      * @return the cooldown group
      */
     String group() default "";
+
+    /**
+     * Returns the rate limit capacity.
+     *
+     * <p>If this is positive then the command is {@link org.incendo.cloud.processors.cooldown.RateLimit rate limited},
+     * allowing bursts of up to {@code capacity} executions and regaining one permit every {@link #duration()}.</p>
+     *
+     * @return the rate limit capacity, or {@code 0} if the command is not rate limited
+     */
+    int capacity() default 0;
+
+    /**
+     * Returns the strategy that enforces the rate limit if {@link #capacity()} is positive.
+     *
+     * @return the rate limit strategy
+     */
+    @NonNull RateLimitStrategy strategy() default RateLimitStrategy.TOKEN_BUCKET;
+
+    /**
+     * Returns whether the duration is scaled by the
+     * {@link org.incendo.cloud.processors.cooldown.CooldownConfiguration#loadScaler() load scaler}.
+     *
+     * @return {@code true} if the duration adapts to the load, else {@code false}
+     */
+    boolean adaptive() default false;
+
+    /**
+     * The standard {@link CooldownStrategy cooldown strategies}.
+     *
+     * @since 1.0.0
+     */
+    @API(status = API.Status.STABLE, since = "1.0.0")
+    enum RateLimitStrategy {
+        /**
+         * {@link CooldownStrategy#tokenBucket()}
+         */
+        TOKEN_BUCKET,
+        /**
+         * {@link CooldownStrategy#fixedWindow()}
+         */
+        FIXED_WINDOW,
+        /**
+         * {@link CooldownStrategy#slidingWindow()}
+         */
+        SLIDING_WINDOW,
+        /**
+         * {@link CooldownStrategy#gcra()}
+         */
+        GCRA
+    }
 }
@@ -30,7 +30,10 @@ import org.incendo.cloud.Command;
 import org.incendo.cloud.annotations.AnnotationParser;
 import org.incendo.cloud.annotations.BuilderModifier;
 import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.cooldown.CooldownStrategy;
 import org.incendo.cloud.processors.cooldown.DurationFunction;
+import org.incendo.cloud.processors.cooldown.ImmutableCooldown;
+import org.incendo.cloud.processors.cooldown.RateLimit;
 
 /**
  * Builder modifier that will add the cooldown metadata to the command builder.
@@ -69,14 +72,31 @@ public final class CooldownBuilderModifier<C> implements BuilderModifier<Cooldow
             final @NonNull Cooldown annotation,
             final Command.@NonNull Builder<C> builder
     ) {
-        final DurationFunction<C> duration = DurationFunction.constant(Duration.of(annotation.duration(), annotation.timeUnit()));
-        final org.incendo.cloud.processors.cooldown.Cooldown<C> cooldown;
-        if (annotation.group().isBlank()) {
-            cooldown = org.incendo.cloud.processors.cooldown.Cooldown.<C>builder().duration(duration).build();
-        } else {
-            cooldown = org.incendo.cloud.processors.cooldown.Cooldown.<C>builder().duration(duration)
-                    .group(CooldownGroup.named(annotation.group())).build();
+        final Duration duration = Duration.of(annotation.duration(), annotation.timeUnit());
+        ImmutableCooldown.BuildFinal<C> cooldown = org.incendo.cloud.processors.cooldown.Cooldown.<C>builder()
+                .duration(DurationFunction.constant(duration));
+        if (!annotation.group().isBlank()) {
+            cooldown = cooldown.group(CooldownGroup.named(annotation.group()));
+        }
+        if (annotation.capacity() > 0) {
+            cooldown = cooldown.rateLimit(RateLimit.of(annotation.capacity(), duration, strategy(annotation.strategy())));
+        }
+        if (annotation.adaptive()) {
+            cooldown = cooldown.adaptive(true);
+        }
+        return builder.apply(cooldown.build());
+    }
+
+    private static @NonNull CooldownStrategy strategy(final Cooldown.@NonNull RateLimitStrategy strategy) {
+        switch (strategy) {
+            case FIXED_WINDOW:
+                return CooldownStrategy.fixedWindow();
+            case SLIDING_WINDOW:
+                return CooldownStrategy.slidingWindow();
+            case GCRA:
+                return CooldownStrategy.gcra();
+            default:
+                return CooldownStrategy.tokenBucket();
         }
-        return builder.apply(cooldown);
     }
 }
@@ -0,0 +1,86 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.concurrency;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Lock-free semaphore with a queue of waiting executions.
+ */
+final class Bulkhead {
+
+    private final AtomicInteger availablePermits;
+    private final Queue<CompletableFuture<Void>> waiters = new ConcurrentLinkedQueue<>();
+
+    Bulkhead(final int permits) {
+        this.availablePermits = new AtomicInteger(permits);
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            final int available = this.availablePermits.get();
+            if (available <= 0) {
+                return false;
+            }
+            if (this.availablePermits.compareAndSet(available, available - 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release() {
+        this.availablePermits.incrementAndGet();
+        this.drain();
+    }
+
+    /**
+     * Queues the given {@code waiter}, which is completed once a permit has been handed to it.
+     *
+     * @param waiter the waiter
+     */
+    void enqueue(final @NonNull CompletableFuture<Void> waiter) {
+        this.waiters.add(waiter);
+        // A permit may have been released after the waiter failed to acquire one, but before it was queued.
+        this.drain();
+    }
+
+    void dequeue(final @NonNull CompletableFuture<Void> waiter) {
+        this.waiters.remove(waiter);
+    }
+
+    private void drain() {
+        while (!this.waiters.isEmpty() && this.tryAcquire()) {
+            final CompletableFuture<Void> waiter = this.waiters.poll();
+            // Waiters that timed out will refuse the permit, in which case it's returned. Accepted waiters hand their
+            // executions to an executor, so they never run on the releasing thread.
+            if (waiter == null || !waiter.complete(null)) {
+                this.availablePermits.incrementAndGet();
+            }
+        }
+    }
+}
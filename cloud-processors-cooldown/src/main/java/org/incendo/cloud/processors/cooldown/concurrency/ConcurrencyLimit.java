@@ -0,0 +1,135 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.immutables.value.Value;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.immutables.StagedImmutableBuilder;
+
+/**
+ * Limit on the number of concurrent executions.
+ *
+ * @since 1.0.0
+ */
+@StagedImmutableBuilder
+@Value.Immutable
+@API(status = API.Status.STABLE, since = "1.0.0")
+public interface ConcurrencyLimit {
+
+    /**
+     * Returns a new limit that allows {@code permits} concurrent executions of a single command,
+     * rejecting executions immediately once the limit is reached.
+     *
+     * @param permits maximum number of concurrent executions
+     * @return the limit
+     */
+    static @NonNull ConcurrencyLimit of(final int permits) {
+        return ConcurrencyLimit.builder().permits(permits).build();
+    }
+
+    /**
+     * Returns a new limit that allows {@code permits} concurrent executions of the commands belonging to the
+     * given {@code group}, rejecting executions immediately once the limit is reached.
+     *
+     * @param permits maximum number of concurrent executions
+     * @param group   group that shares the limit
+     * @return the limit
+     */
+    static @NonNull ConcurrencyLimit of(final int permits, final @NonNull CooldownGroup group) {
+        return ConcurrencyLimit.builder().permits(permits).group(group).build();
+    }
+
+    /**
+     * Returns a new limit builder.
+     *
+     * @return the builder
+     */
+    static ImmutableConcurrencyLimit.@NonNull PermitsBuildStage builder() {
+        return ImmutableConcurrencyLimit.builder();
+    }
+
+    /**
+     * Returns the maximum number of concurrent executions.
+     *
+     * @return the number of permits
+     */
+    int permits();
+
+    /**
+     * Returns the group that shares the limit. If set to {@code null} then the limit only applies to the execution
+     * handler that it was applied to.
+     *
+     * <p>Every handler limited using the same group shares the permits of the first limit registered for the
+     * group.</p>
+     *
+     * @return the group, or {@code null}
+     */
+    default @Nullable CooldownGroup group() {
+        return null;
+    }
+
+    /**
+     * Returns the maximum time an execution may wait for a permit before it gets rejected.
+     *
+     * <p>The default value is {@link Duration#ZERO}, which rejects executions immediately.</p>
+     *
+     * @return the maximum wait time
+     */
+    default @NonNull Duration maxWait() {
+        return Duration.ZERO;
+    }
+
+    /**
+     * Returns the executor that runs the queued executions once they have been handed a permit, and that rejects the
+     * queued executions that have waited for longer than the {@link #maxWait()}.
+     *
+     * <p>Queued executions never run on the thread that released the permit, or on the thread that timed the wait out.
+     * The executor must accept every task, as a rejected task would keep the permit. The default executor is
+     * {@link ForkJoinPool#commonPool()}.</p>
+     *
+     * @return the executor of queued executions
+     */
+    default @NonNull Executor executor() {
+        return ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Validates the limit.
+     */
+    @Value.Check
+    default void validate() {
+        if (this.permits() < 1) {
+            throw new IllegalArgumentException("permits must be positive");
+        }
+        if (this.maxWait().isNegative()) {
+            throw new IllegalArgumentException("maxWait may not be negative");
+        }
+    }
+}
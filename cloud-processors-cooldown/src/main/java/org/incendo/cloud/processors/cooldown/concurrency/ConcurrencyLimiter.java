@@ -0,0 +1,97 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.concurrency;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.execution.CommandExecutionHandler;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+
+/**
+ * Limits the number of concurrent executions of commands.
+ *
+ * <p>Unlike cooldowns, which apply per sender, concurrency limits are shared between all senders. The limiter
+ * decorates the {@link CommandExecutionHandler} of the command, and the permit is held until the future returned by
+ * the handler completes. This means that asynchronous handlers keep their permit until their work finishes.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * ConcurrencyLimiter<CommandSender> limiter = ConcurrencyLimiter.concurrencyLimiter(
+ *     (context, limit) -> context.sender().sendMessage("The server is busy, try again later")
+ * );
+ * commandBuilder.futureHandler(limiter.limit(ConcurrencyLimit.of(2), context -> generateReport(context)));
+ * }</pre>
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class ConcurrencyLimiter<C> {
+
+    /**
+     * Creates a new concurrency limiter.
+     *
+     * @param <C>      command sender type
+     * @param listener listener that gets invoked when an execution is rejected
+     * @return the created limiter
+     */
+    public static <C> @NonNull ConcurrencyLimiter<C> concurrencyLimiter(final @NonNull ConcurrencyLimitListener<C> listener) {
+        return new ConcurrencyLimiter<>(Objects.requireNonNull(listener, "listener"));
+    }
+
+    private final Map<CooldownGroup, Bulkhead> groups = new ConcurrentHashMap<>();
+    private final ConcurrencyLimitListener<C> listener;
+
+    private ConcurrencyLimiter(final @NonNull ConcurrencyLimitListener<C> listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Returns a handler that executes the given {@code handler} while respecting the given {@code limit}.
+     *
+     * <p>If the limit has a {@link ConcurrencyLimit#group()} then the permits are shared with all other handlers
+     * limited using the same group, otherwise the permits belong to the returned handler.</p>
+     *
+     * @param limit   the limit
+     * @param handler the handler to limit
+     * @return the limited handler
+     */
+    public @NonNull CommandExecutionHandler<C> limit(
+            final @NonNull ConcurrencyLimit limit,
+            final @NonNull CommandExecutionHandler<C> handler
+    ) {
+        Objects.requireNonNull(limit, "limit");
+        Objects.requireNonNull(handler, "handler");
+        final Bulkhead bulkhead;
+        if (limit.group() == null) {
+            bulkhead = new Bulkhead(limit.permits());
+        } else {
+            bulkhead = this.groups.computeIfAbsent(limit.group(), group -> new Bulkhead(limit.permits()));
+        }
+        return new LimitedExecutionHandler<>(handler, bulkhead, limit, this.listener);
+    }
+}
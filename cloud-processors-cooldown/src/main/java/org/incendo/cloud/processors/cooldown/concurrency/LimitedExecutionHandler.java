@@ -0,0 +1,98 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.concurrency;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.execution.CommandExecutionHandler;
+
+final class LimitedExecutionHandler<C> implements CommandExecutionHandler.FutureCommandExecutionHandler<C> {
+
+    private final CommandExecutionHandler<C> delegate;
+    private final Bulkhead bulkhead;
+    private final ConcurrencyLimit limit;
+    private final ConcurrencyLimitListener<C> listener;
+
+    LimitedExecutionHandler(
+            final @NonNull CommandExecutionHandler<C> delegate,
+            final @NonNull Bulkhead bulkhead,
+            final @NonNull ConcurrencyLimit limit,
+            final @NonNull ConcurrencyLimitListener<C> listener
+    ) {
+        this.delegate = delegate;
+        this.bulkhead = bulkhead;
+        this.limit = limit;
+        this.listener = listener;
+    }
+
+    @Override
+    public @NonNull CompletableFuture<Void> executeFuture(final @NonNull CommandContext<C> commandContext) {
+        if (this.bulkhead.tryAcquire()) {
+            return this.executeWithPermit(commandContext);
+        }
+        if (this.limit.maxWait().isZero()) {
+            this.listener.concurrencyLimitReached(commandContext, this.limit);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        final CompletableFuture<Void> waiter = new CompletableFuture<>();
+        this.bulkhead.enqueue(waiter);
+        // The waiter is completed by the thread that releases the permit, or by the thread that times the wait out, so the
+        // execution is handed to the executor rather than being nested in the release or running on the timer.
+        return waiter.orTimeout(maxWaitNanos(this.limit), TimeUnit.NANOSECONDS)
+                .handleAsync((result, throwable) -> {
+                    if (throwable == null) {
+                        return this.executeWithPermit(commandContext);
+                    }
+                    this.bulkhead.dequeue(waiter);
+                    this.listener.concurrencyLimitReached(commandContext, this.limit);
+                    return CompletableFuture.<Void>completedFuture(null);
+                }, this.limit.executor()).thenCompose(Function.identity());
+    }
+
+    private @NonNull CompletableFuture<Void> executeWithPermit(final @NonNull CommandContext<C> commandContext) {
+        CompletableFuture<Void> future = null;
+        try {
+            future = this.delegate.executeFuture(commandContext);
+        } finally {
+            // Anything thrown by the delegate, including errors, must give the permit back.
+            if (future == null) {
+                this.bulkhead.release();
+            }
+        }
+        return future.whenComplete((result, throwable) -> this.bulkhead.release());
+    }
+
+    private static long maxWaitNanos(final @NonNull ConcurrencyLimit limit) {
+        // Nanoseconds keep sub-millisecond waits from being truncated to an immediate timeout.
+        try {
+            return limit.maxWait().toNanos();
+        } catch (final ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
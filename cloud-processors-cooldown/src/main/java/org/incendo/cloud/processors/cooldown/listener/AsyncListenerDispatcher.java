@@ -0,0 +1,268 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.listener;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+
+/**
+ * Dispatches listener invocations asynchronously, so that slow listeners do not add to the latency of the commands.
+ *
+ * <p>The listeners returned by {@link #active(CooldownActiveListener)} and {@link #creation(CooldownCreationListener)}
+ * publish their events to a bounded queue, which is drained in batches by a task submitted to the executor. Any
+ * executor may be used, including one that starts a virtual thread per task. While an event for a sender and a group
+ * is waiting to be dispatched, newer events of the same listener for the same sender and group replace it rather than
+ * taking up more space in the queue.</p>
+ *
+ * <p>Once the queue is full, new events are dropped. If the executor rejects the drain task, the queued events are
+ * dropped as well. The number of dropped events is reported to the drop reporter by the next drain task, rather than
+ * on the thread executing the command.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * AsyncListenerDispatcher<CommandSender> dispatcher = AsyncListenerDispatcher.create(
+ *     executorService,
+ *     1024,
+ *     dropped -> logger.warn("Dropped {} cooldown events", dropped)
+ * );
+ * CooldownConfiguration.<CommandSender>builder()
+ *     .addActiveCooldownListener(dispatcher.active(messageListener))
+ *     .addCreationListener(dispatcher.creation(auditListener));
+ * }</pre>
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class AsyncListenerDispatcher<C> {
+
+    /**
+     * Creates a new dispatcher.
+     *
+     * @param <C>          command sender type
+     * @param executor     executor that drains the queue
+     * @param capacity     maximum number of events waiting to be dispatched
+     * @param dropReporter consumer that receives the number of events dropped since the previous report
+     * @return the created dispatcher
+     */
+    public static <C> @NonNull AsyncListenerDispatcher<C> create(
+            final @NonNull Executor executor,
+            final int capacity,
+            final @NonNull LongConsumer dropReporter
+    ) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        return new AsyncListenerDispatcher<>(
+                Objects.requireNonNull(executor, "executor"),
+                capacity,
+                Objects.requireNonNull(dropReporter, "dropReporter")
+        );
+    }
+
+    private final Executor executor;
+    private final int capacity;
+    private final LongConsumer dropReporter;
+    private final Map<EventKey, Runnable> pending = new ConcurrentHashMap<>();
+    private final Queue<EventKey> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong totalDropped = new AtomicLong();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    private AsyncListenerDispatcher(
+            final @NonNull Executor executor,
+            final int capacity,
+            final @NonNull LongConsumer dropReporter
+    ) {
+        this.executor = executor;
+        this.capacity = capacity;
+        this.dropReporter = dropReporter;
+    }
+
+    /**
+     * Returns a listener that dispatches the invocations of the given {@code listener} asynchronously.
+     *
+     * @param listener the listener
+     * @return the asynchronous listener
+     */
+    public @NonNull CooldownActiveListener<C> active(final @NonNull CooldownActiveListener<C> listener) {
+        Objects.requireNonNull(listener, "listener");
+        return (sender, command, cooldown, remainingTime) -> this.submit(
+                new EventKey(listener, sender, cooldown.group()),
+                () -> listener.cooldownActive(sender, command, cooldown, remainingTime)
+        );
+    }
+
+    /**
+     * Returns a listener that dispatches the invocations of the given {@code listener} asynchronously.
+     *
+     * @param listener the listener
+     * @return the asynchronous listener
+     */
+    public @NonNull CooldownCreationListener<C> creation(final @NonNull CooldownCreationListener<C> listener) {
+        Objects.requireNonNull(listener, "listener");
+        return (sender, command, instance) -> this.submit(
+                new EventKey(listener, sender, instance.group()),
+                () -> listener.cooldownCreated(sender, command, instance)
+        );
+    }
+
+    /**
+     * Returns the number of events waiting to be dispatched.
+     *
+     * @return the number of pending events
+     */
+    public int pendingEvents() {
+        return this.size.get();
+    }
+
+    /**
+     * Returns the total number of events that have been dropped because the queue was full.
+     *
+     * @return the number of dropped events
+     */
+    public long droppedEvents() {
+        return this.totalDropped.get();
+    }
+
+    private void submit(final @NonNull EventKey key, final @NonNull Runnable event) {
+        final AtomicBoolean enqueued = new AtomicBoolean();
+        this.pending.compute(key, (ignored, existing) -> {
+            if (existing != null) {
+                // Coalesce with the pending event, which keeps its position in the queue.
+                return event;
+            }
+            if (this.size.get() >= this.capacity) {
+                this.dropped.incrementAndGet();
+                this.totalDropped.incrementAndGet();
+                return null;
+            }
+            this.size.incrementAndGet();
+            enqueued.set(true);
+            return event;
+        });
+        if (enqueued.get()) {
+            this.queue.offer(key);
+        }
+        this.scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (!this.draining.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            this.executor.execute(this::drain);
+        } catch (final RejectedExecutionException e) {
+            // The executor has been shut down or is saturated, so the queued events would never be dispatched.
+            this.discard();
+            this.draining.set(false);
+        }
+    }
+
+    private void discard() {
+        for (EventKey key = this.queue.poll(); key != null; key = this.queue.poll()) {
+            this.pending.remove(key);
+            this.size.decrementAndGet();
+            this.dropped.incrementAndGet();
+            this.totalDropped.incrementAndGet();
+        }
+    }
+
+    private void drain() {
+        try {
+            for (EventKey key = this.queue.poll(); key != null; key = this.queue.poll()) {
+                final Runnable event = this.pending.remove(key);
+                this.size.decrementAndGet();
+                if (event != null) {
+                    this.dispatch(event);
+                }
+            }
+            final long dropped = this.dropped.getAndSet(0L);
+            if (dropped > 0L) {
+                this.dropReporter.accept(dropped);
+            }
+        } finally {
+            this.draining.set(false);
+        }
+        // Events may have been published after the queue was found empty, but before the flag was cleared.
+        if (!this.queue.isEmpty() || this.dropped.get() > 0L) {
+            this.scheduleDrain();
+        }
+    }
+
+    private void dispatch(final @NonNull Runnable event) {
+        try {
+            event.run();
+        } catch (final RuntimeException e) {
+            final Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+
+    private static final class EventKey {
+
+        private final Object listener;
+        private final Object sender;
+        private final CooldownGroup group;
+        private final int hashCode;
+
+        private EventKey(final @NonNull Object listener, final @NonNull Object sender, final @NonNull CooldownGroup group) {
+            this.listener = listener;
+            this.sender = sender;
+            this.group = group;
+            this.hashCode = Objects.hash(System.identityHashCode(listener), sender, group);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof EventKey)) {
+                return false;
+            }
+            final EventKey that = (EventKey) o;
+            return this.listener == that.listener && this.sender.equals(that.sender) && this.group.equals(that.group);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.listener;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.cooldown.CooldownInstance;
+import org.incendo.cloud.processors.cooldown.CooldownRepository;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+
+/**
+ * Listener that gets notified about modifications made to the profiles stored in a {@link CooldownRepository}.
+ *
+ * <p>The listener is attached using {@link CooldownRepository#observing(CooldownRepository, CooldownRepositoryListener)}.
+ * Cooldowns that expire are reported through {@link #cooldownDeleted(Object, CooldownGroup)} when they are
+ * removed by {@link CooldownProfile#deleteExpiredCooldowns()}.</p>
+ *
+ * @param <K> repository key type
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public interface CooldownRepositoryListener<K> {
+
+    /**
+     * Invoked when a cooldown is stored in the profile identified by the given {@code key}.
+     *
+     * @param key      key identifying the profile
+     * @param group    group that identifies the cooldown
+     * @param cooldown the stored cooldown
+     */
+    void cooldownSet(@NonNull K key, @NonNull CooldownGroup group, @NonNull CooldownInstance cooldown);
+
+    /**
+     * Invoked when a cooldown is deleted from the profile identified by the given {@code key}.
+     *
+     * @param key   key identifying the profile
+     * @param group group that identifies the deleted cooldown
+     */
+    void cooldownDeleted(@NonNull K key, @NonNull CooldownGroup group);
+
+    /**
+     * Invoked when the profile identified by the given {@code key} is deleted from the repository.
+     *
+     * @param key     key identifying the profile
+     * @param profile the deleted profile
+     */
+    void profileDeleted(@NonNull K key, @NonNull CooldownProfile profile);
+}
@@ -0,0 +1,82 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.offender;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.immutables.value.Value;
+import org.incendo.cloud.processors.immutables.StagedImmutableBuilder;
+
+/**
+ * Snapshot of an entry tracked by an {@link OffenderTracker}.
+ *
+ * <p>The counts are approximate. The actual number of blocked attempts lies between {@code blocked() - error()} and
+ * {@link #blocked()}.</p>
+ *
+ * @param <K> key type
+ * @since 1.0.0
+ */
+@StagedImmutableBuilder
+@Value.Immutable
+@API(status = API.Status.STABLE, since = "1.0.0")
+public interface Offender<K> {
+
+    /**
+     * Returns a new offender builder.
+     *
+     * @param <K> key type
+     * @return the builder
+     */
+    static <K> ImmutableOffender.@NonNull KeyBuildStage<K> builder() {
+        return ImmutableOffender.builder();
+    }
+
+    /**
+     * Returns the key that identifies the sender or the command.
+     *
+     * @return the key
+     */
+    @NonNull K key();
+
+    /**
+     * Returns the estimated number of blocked attempts, which is never lower than the actual number.
+     *
+     * @return the estimated number of blocked attempts
+     */
+    long blocked();
+
+    /**
+     * Returns the maximum overestimation of {@link #blocked()}.
+     *
+     * @return the error
+     */
+    long error();
+
+    /**
+     * Returns the number of cooldowns created since the key started being tracked.
+     *
+     * @return the number of created cooldowns
+     */
+    long created();
+}
@@ -0,0 +1,149 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.offender;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.Command;
+
+/**
+ * Tracks the senders and the commands that cause the most blocked attempts, without storing any per-sender history.
+ *
+ * <p>The tracker is fed by the cooldown postprocessor when it is set as the
+ * {@link org.incendo.cloud.processors.cooldown.CooldownConfiguration#offenderTracker()}. Senders and commands are
+ * tracked in space-saving summaries of a fixed capacity, which are updated in constant time. Every key with more than
+ * {@code 1 / capacity} of the blocked attempts is guaranteed to be tracked.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * OffenderTracker<CommandSender> tracker = OffenderTracker.create(100, CommandSender::uuid);
+ * for (Offender<Object> offender : tracker.topOffenders(10)) {
+ *     logger.info("{} was blocked {} times", offender.key(), offender.blocked());
+ * }
+ * }</pre>
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class OffenderTracker<C> {
+
+    /**
+     * Creates a new tracker that tracks the senders by identity.
+     *
+     * @param <C>      command sender type
+     * @param capacity maximum number of senders and commands that are tracked
+     * @return the created tracker
+     */
+    public static <C> @NonNull OffenderTracker<C> create(final int capacity) {
+        return create(capacity, sender -> sender);
+    }
+
+    /**
+     * Creates a new tracker that tracks the senders by the key returned by the given {@code senderKey} function.
+     *
+     * <p>The keys are retained until they are evicted, so they should not reference objects that are expensive to keep
+     * alive, such as disconnected players.</p>
+     *
+     * @param <C>       command sender type
+     * @param capacity  maximum number of senders and commands that are tracked
+     * @param senderKey function that maps the senders to the keys that identify them
+     * @return the created tracker
+     */
+    public static <C> @NonNull OffenderTracker<C> create(
+            final int capacity,
+            final @NonNull Function<@NonNull C, @NonNull Object> senderKey
+    ) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        return new OffenderTracker<>(capacity, Objects.requireNonNull(senderKey, "senderKey"));
+    }
+
+    private final Function<C, Object> senderKey;
+    private final SpaceSaving<Object> senders;
+    private final SpaceSaving<Command<C>> commands;
+
+    private OffenderTracker(final int capacity, final @NonNull Function<C, Object> senderKey) {
+        this.senderKey = senderKey;
+        this.senders = new SpaceSaving<>(capacity);
+        this.commands = new SpaceSaving<>(capacity);
+    }
+
+    /**
+     * Records an attempt by the {@code sender} to execute the {@code command} that was blocked by a cooldown.
+     *
+     * @param sender  the sender
+     * @param command the command
+     */
+    public void recordBlocked(final @NonNull C sender, final @NonNull Command<C> command) {
+        this.senders.increment(this.senderKey.apply(sender));
+        this.commands.increment(command);
+    }
+
+    /**
+     * Records the creation of a cooldown for the {@code sender} and the {@code command}.
+     *
+     * <p>Creations are only counted for senders and commands that are already tracked, and never evict other
+     * entries.</p>
+     *
+     * @param sender  the sender
+     * @param command the command
+     */
+    public void recordCreated(final @NonNull C sender, final @NonNull Command<C> command) {
+        this.senders.recordCreated(this.senderKey.apply(sender));
+        this.commands.recordCreated(command);
+    }
+
+    /**
+     * Returns a snapshot of the {@code count} senders with the most blocked attempts, in descending order.
+     *
+     * @param count maximum number of senders to return
+     * @return the top offenders
+     */
+    public @NonNull List<@NonNull Offender<Object>> topOffenders(final int count) {
+        return this.senders.top(count);
+    }
+
+    /**
+     * Returns a snapshot of the {@code count} commands with the most blocked attempts, in descending order.
+     *
+     * @param count maximum number of commands to return
+     * @return the top commands
+     */
+    public @NonNull List<@NonNull Offender<Command<C>>> topCommands(final int count) {
+        return this.commands.top(count);
+    }
+
+    /**
+     * Forgets all tracked senders and commands, for example to start a new reporting period.
+     */
+    public void reset() {
+        this.senders.clear();
+        this.commands.clear();
+    }
+}
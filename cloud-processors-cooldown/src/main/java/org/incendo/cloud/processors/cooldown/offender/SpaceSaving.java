@@ -0,0 +1,217 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.offender;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Space-saving summary that tracks the {@code capacity} most frequent keys in constant time per update.
+ *
+ * <p>The counters are kept in a linked list of buckets ordered by count, where each bucket holds the counters
+ * that share the same count. Incrementing a counter moves it to the adjacent bucket. Once the summary is full, an
+ * untracked key replaces a counter with the minimum count, inheriting that count as its error.</p>
+ *
+ * @param <K> key type
+ */
+final class SpaceSaving<K> {
+
+    private final int capacity;
+    private final Map<K, Counter<K>> counters;
+    private @Nullable Bucket<K> minimum;
+    private @Nullable Bucket<K> maximum;
+
+    SpaceSaving(final int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    synchronized void increment(final @NonNull K key) {
+        Counter<K> counter = this.counters.get(key);
+        if (counter == null) {
+            counter = this.track(key);
+        }
+        this.increment(counter);
+    }
+
+    synchronized void recordCreated(final @NonNull K key) {
+        final Counter<K> counter = this.counters.get(key);
+        if (counter != null) {
+            counter.created++;
+        }
+    }
+
+    synchronized @NonNull List<@NonNull Offender<K>> top(final int count) {
+        final List<Offender<K>> top = new ArrayList<>(Math.min(count, this.counters.size()));
+        for (Bucket<K> bucket = this.maximum; bucket != null && top.size() < count; bucket = bucket.previous) {
+            for (Counter<K> counter = bucket.head; counter != null && top.size() < count; counter = counter.next) {
+                top.add(Offender.<K>builder()
+                        .key(counter.key)
+                        .blocked(bucket.count)
+                        .error(counter.error)
+                        .created(counter.created)
+                        .build());
+            }
+        }
+        return top;
+    }
+
+    synchronized void clear() {
+        this.counters.clear();
+        this.minimum = null;
+        this.maximum = null;
+    }
+
+    private @NonNull Counter<K> track(final @NonNull K key) {
+        if (this.counters.size() < this.capacity) {
+            final Counter<K> counter = new Counter<>(key, 0L);
+            this.counters.put(key, counter);
+            if (this.minimum == null || this.minimum.count != 0L) {
+                final Bucket<K> bucket = new Bucket<>(0L);
+                this.linkBefore(bucket, this.minimum);
+            }
+            this.attach(counter, this.minimum);
+            return counter;
+        }
+        // Replace a counter with the minimum count, which over-estimates the new key by at most that count.
+        final Counter<K> counter = this.minimum.head;
+        this.counters.remove(counter.key);
+        counter.key = key;
+        counter.error = this.minimum.count;
+        counter.created = 0L;
+        this.counters.put(key, counter);
+        return counter;
+    }
+
+    private void increment(final @NonNull Counter<K> counter) {
+        final Bucket<K> bucket = counter.bucket;
+        final long count = bucket.count + 1L;
+        final Bucket<K> next = bucket.next;
+        if (next != null && next.count == count) {
+            this.detach(counter);
+            this.attach(counter, next);
+        } else if (bucket.head == counter && counter.next == null) {
+            // The counter is alone in its bucket, which may simply be moved up.
+            bucket.count = count;
+            return;
+        } else {
+            final Bucket<K> created = new Bucket<>(count);
+            this.linkAfter(created, bucket);
+            this.detach(counter);
+            this.attach(counter, created);
+        }
+        if (bucket.head == null) {
+            this.unlink(bucket);
+        }
+    }
+
+    private void attach(final @NonNull Counter<K> counter, final @NonNull Bucket<K> bucket) {
+        counter.bucket = bucket;
+        counter.previous = null;
+        counter.next = bucket.head;
+        if (bucket.head != null) {
+            bucket.head.previous = counter;
+        }
+        bucket.head = counter;
+    }
+
+    private void detach(final @NonNull Counter<K> counter) {
+        final Bucket<K> bucket = counter.bucket;
+        if (counter.previous != null) {
+            counter.previous.next = counter.next;
+        } else {
+            bucket.head = counter.next;
+        }
+        if (counter.next != null) {
+            counter.next.previous = counter.previous;
+        }
+        counter.previous = null;
+        counter.next = null;
+    }
+
+    private void linkBefore(final @NonNull Bucket<K> bucket, final @Nullable Bucket<K> successor) {
+        bucket.next = successor;
+        if (successor == null) {
+            this.maximum = bucket;
+        } else {
+            successor.previous = bucket;
+        }
+        this.minimum = bucket;
+    }
+
+    private void linkAfter(final @NonNull Bucket<K> bucket, final @NonNull Bucket<K> predecessor) {
+        bucket.previous = predecessor;
+        bucket.next = predecessor.next;
+        if (predecessor.next != null) {
+            predecessor.next.previous = bucket;
+        } else {
+            this.maximum = bucket;
+        }
+        predecessor.next = bucket;
+    }
+
+    private void unlink(final @NonNull Bucket<K> bucket) {
+        if (bucket.previous != null) {
+            bucket.previous.next = bucket.next;
+        } else {
+            this.minimum = bucket.next;
+        }
+        if (bucket.next != null) {
+            bucket.next.previous = bucket.previous;
+        } else {
+            this.maximum = bucket.previous;
+        }
+    }
+
+    private static final class Bucket<K> {
+
+        private long count;
+        private @Nullable Counter<K> head;
+        private @Nullable Bucket<K> previous;
+        private @Nullable Bucket<K> next;
+
+        private Bucket(final long count) {
+            this.count = count;
+        }
+    }
+
+    private static final class Counter<K> {
+
+        private K key;
+        private long error;
+        private long created;
+        private Bucket<K> bucket;
+        private @Nullable Counter<K> previous;
+        private @Nullable Counter<K> next;
+
+        private Counter(final @NonNull K key, final long error) {
+            this.key = key;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.profile;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Predicate;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+
+/**
+ * Tracks the argument-keyed groups stored in a profile in least recently used order.
+ *
+ * <p>The index is not thread-safe, and is guarded by the lock of the profile. Profiles only allocate the index once the
+ * first argument-keyed cooldown is stored, and release it once it is empty.</p>
+ */
+final class ArgumentGroupIndex {
+
+    private final int capacity;
+    private final LinkedHashMap<CooldownGroup, Boolean> groups = new LinkedHashMap<>(16, 0.75F, true);
+
+    ArgumentGroupIndex(final int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Records that a cooldown has been stored for the given argument-keyed {@code group}.
+     *
+     * <p>If the capacity is exceeded, the least recently used group without an active cooldown is evicted. The least
+     * recently used group is only evicted if every other group has an active cooldown.</p>
+     *
+     * @param group  the group
+     * @param active predicate that determines whether a group has an active cooldown
+     * @return the group that should be evicted, or {@code null}
+     */
+    @Nullable CooldownGroup add(final @NonNull CooldownGroup group, final @NonNull Predicate<@NonNull CooldownGroup> active) {
+        this.groups.put(group, Boolean.TRUE);
+        if (this.groups.size() <= this.capacity) {
+            return null;
+        }
+        final Iterator<CooldownGroup> iterator = this.groups.keySet().iterator();
+        while (iterator.hasNext()) {
+            final CooldownGroup candidate = iterator.next();
+            if (!candidate.equals(group) && !active.test(candidate)) {
+                iterator.remove();
+                return candidate;
+            }
+        }
+        final Iterator<CooldownGroup> eldest = this.groups.keySet().iterator();
+        final CooldownGroup evicted = eldest.next();
+        eldest.remove();
+        return evicted;
+    }
+
+    void touch(final @NonNull CooldownGroup group) {
+        this.groups.get(group);
+    }
+
+    /**
+     * Removes the given {@code group} from the index.
+     *
+     * @param group the group
+     * @return {@code true} if the index is empty, else {@code false}
+     */
+    boolean remove(final @NonNull CooldownGroup group) {
+        this.groups.remove(group);
+        return this.groups.isEmpty();
+    }
+}
@@ -0,0 +1,116 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.profile;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.cooldown.CooldownInstance;
+
+/**
+ * Decaying counters of blocked attempts, and the total extensions of the cooldowns extended because of them, stored in
+ * a profile.
+ *
+ * <p>Each counter is packed into a single {@link RateLimitState}, with the time of the last attempt in epoch
+ * milliseconds in the upper bits and the count in the lower {@value #COUNT_BITS} bits. Each extension is packed the
+ * same way, with the total extension in milliseconds in the upper 32 bits and the lower 32 bits of the creation time of
+ * the extended cooldown in the lower bits, and becomes idle once the extended cooldown expires. Profiles only allocate
+ * this once the first attempt is recorded.</p>
+ */
+final class BlockedAttempts {
+
+    private static final int COUNT_BITS = 20;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1L;
+    private static final int TOTAL_SHIFT = 32;
+    private static final long CREATION_TIME_MASK = (1L << TOTAL_SHIFT) - 1L;
+    private static final long MAX_TOTAL = (1L << TOTAL_SHIFT) - 1L;
+
+    private final Map<CooldownGroup, RateLimitState> states = new ConcurrentHashMap<>();
+    private final Map<CooldownGroup, RateLimitState> extensions = new ConcurrentHashMap<>();
+
+    int record(final @NonNull CooldownGroup group, final long currentTime, final long decayInterval) {
+        final RateLimitState state = this.states.computeIfAbsent(group, key -> new RateLimitState());
+        while (true) {
+            final long current = state.state();
+            long count = current & COUNT_MASK;
+            if (count > 0L) {
+                final long elapsed = Math.max(0L, currentTime - (current >>> COUNT_BITS));
+                count = Math.max(0L, count - elapsed / decayInterval);
+            }
+            count = Math.min(count + 1L, COUNT_MASK);
+            final long updated = (currentTime << COUNT_BITS) | count;
+            if (state.compareAndSet(current, updated, idleTime(currentTime, count, decayInterval))) {
+                return (int) count;
+            }
+        }
+    }
+
+    @NonNull Duration recordExtension(
+            final @NonNull CooldownInstance cooldown,
+            final @NonNull Duration extension,
+            final @NonNull Duration maxTotalExtension
+    ) {
+        final long creationTime = cooldown.creationTime().toEpochMilli() & CREATION_TIME_MASK;
+        final long expiryTime = saturatedAdd(cooldown.creationTime().toEpochMilli(), cooldown.duration().toMillis());
+        final long maxTotal = Math.min(maxTotalExtension.toMillis(), MAX_TOTAL);
+        final RateLimitState state = this.extensions.computeIfAbsent(cooldown.group(), key -> new RateLimitState());
+        while (true) {
+            final long current = state.state();
+            // The total is reset once the group holds a different cooldown.
+            final long total = (current & CREATION_TIME_MASK) == creationTime ? current >>> TOTAL_SHIFT : 0L;
+            final long granted = Math.max(0L, Math.min(extension.toMillis(), maxTotal - total));
+            final long updated = ((total + granted) << TOTAL_SHIFT) | creationTime;
+            if (state.compareAndSet(current, updated, saturatedAdd(expiryTime, granted))) {
+                return granted == 0L ? Duration.ZERO : Duration.ofMillis(granted);
+            }
+        }
+    }
+
+    void deleteIdle(final long currentTime) {
+        this.states.values().removeIf(state -> state.idleTime() <= currentTime);
+        this.extensions.values().removeIf(extension -> extension.idleTime() <= currentTime);
+    }
+
+    boolean isEmpty() {
+        return this.states.isEmpty() && this.extensions.isEmpty();
+    }
+
+    private static long saturatedAdd(final long first, final long second) {
+        try {
+            return Math.addExact(first, second);
+        } catch (final ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static long idleTime(final long currentTime, final long count, final long decayInterval) {
+        // The counter has fully decayed once every attempt has been forgotten.
+        if (decayInterval > (Long.MAX_VALUE - currentTime) / count) {
+            return Long.MAX_VALUE;
+        }
+        return currentTime + count * decayInterval;
+    }
+}
@@ -0,0 +1,433 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.profile;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.processors.cooldown.CooldownGenerations;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.cooldown.CooldownInstance;
+
+/**
+ * Profile that stores up to {@code capacity} cooldowns in two packed arrays, and promotes itself to a hash map when
+ * it holds more cooldowns than that. The profile shrinks back to the arrays once enough cooldowns have been removed.
+ *
+ * <p>Each group is stored next to its cooldown instance, which is returned as is, so reads do not create any objects.
+ * The expiry time and the generation of each cooldown are stored next to each other in a primitive array, which lets
+ * the expiry checks skip the instances. Times are stored as nanoseconds since the epoch.</p>
+ */
+final class CompactCooldownProfile implements CooldownProfile {
+
+    private final Clock clock;
+    private final CooldownGenerations generations;
+    private final int capacity;
+
+    // Pairs of a group and its cooldown instance.
+    private @Nullable Object @Nullable [] entries;
+    // Pairs of the expiry time and the generation of a cooldown.
+    private long @Nullable [] times;
+    private int size;
+
+    private @Nullable Map<CooldownGroup, CooldownInstance> promoted;
+    private volatile @Nullable Map<CooldownGroup, RateLimitState> rateLimitStates;
+    private volatile @Nullable BlockedAttempts blockedAttempts;
+    private volatile boolean deleted;
+    private final int maxArgumentGroups;
+    private @Nullable ArgumentGroupIndex argumentGroups;
+
+    CompactCooldownProfile(
+            final @NonNull Clock clock,
+            final @NonNull CooldownGenerations generations,
+            final int capacity,
+            final int maxArgumentGroups
+    ) {
+        this.clock = clock;
+        this.generations = generations;
+        this.capacity = capacity;
+        this.maxArgumentGroups = maxArgumentGroups;
+    }
+
+    @Override
+    public synchronized @Nullable CooldownInstance getCooldown(final @NonNull CooldownGroup group) {
+        final long currentTime = Nanos.toNanos(this.clock.instant());
+        if (this.promoted != null) {
+            final CooldownInstance cooldown = this.promoted.get(group);
+            if (cooldown == null) {
+                return null;
+            }
+            if (this.isActive(group, cooldown, currentTime)) {
+                this.touchArgumentGroup(group);
+                return cooldown;
+            }
+            this.promoted.remove(group);
+            this.removeArgumentGroup(group);
+            this.shrinkIfPossible();
+            return null;
+        }
+
+        final int index = this.indexOf(group);
+        if (index == -1) {
+            return null;
+        }
+        if (this.isActive(index, currentTime)) {
+            this.touchArgumentGroup(group);
+            return this.cooldown(index);
+        }
+        this.removeAt(index);
+        return null;
+    }
+
+    @Override
+    public synchronized void setCooldown(final @NonNull CooldownGroup group, final @NonNull CooldownInstance cooldown) {
+        final CooldownGroup evicted = this.addArgumentGroup(group);
+        if (evicted != null) {
+            this.deleteCooldown(evicted);
+        }
+        this.store(group, cooldown);
+    }
+
+    @Override
+    public synchronized void deleteCooldown(final @NonNull CooldownGroup group) {
+        if (this.promoted != null) {
+            this.promoted.remove(group);
+            this.removeArgumentGroup(group);
+            this.shrinkIfPossible();
+            return;
+        }
+        final int index = this.indexOf(group);
+        if (index != -1) {
+            this.removeAt(index);
+        }
+    }
+
+    private void store(final @NonNull CooldownGroup group, final @NonNull CooldownInstance cooldown) {
+        if (this.promoted != null) {
+            this.promoted.put(group, cooldown);
+            return;
+        }
+
+        int index = this.indexOf(group);
+        if (index == -1) {
+            if (this.size == this.capacity) {
+                this.deleteExpiredCooldowns();
+            }
+            if (this.size == this.capacity) {
+                this.promote();
+                this.promoted.put(group, cooldown);
+                return;
+            }
+            if (this.entries == null) {
+                this.entries = new Object[this.capacity * 2];
+                this.times = new long[this.capacity * 2];
+            }
+            index = this.size++;
+        }
+
+        this.entries[index * 2] = group;
+        this.entries[index * 2 + 1] = cooldown;
+        this.times[index * 2] = Nanos.expiryTime(cooldown.creationTime(), cooldown.duration());
+        this.times[index * 2 + 1] = cooldown.generation();
+    }
+
+    @Override
+    public synchronized @NonNull Collection<@NonNull CooldownInstance> cooldowns() {
+        final long currentTime = Nanos.toNanos(this.clock.instant());
+        final List<CooldownInstance> cooldowns = new ArrayList<>();
+        if (this.promoted != null) {
+            for (final Map.Entry<CooldownGroup, CooldownInstance> entry : this.promoted.entrySet()) {
+                if (this.isActive(entry.getKey(), entry.getValue(), currentTime)) {
+                    cooldowns.add(entry.getValue());
+                }
+            }
+            return cooldowns;
+        }
+        for (int index = 0; index < this.size; index++) {
+            if (this.isActive(index, currentTime)) {
+                cooldowns.add(this.cooldown(index));
+            }
+        }
+        return cooldowns;
+    }
+
+    @Override
+    public synchronized @NonNull Collection<@NonNull CooldownInstance> deleteExpiredCooldowns() {
+        final long currentTime = Nanos.toNanos(this.clock.instant());
+        List<CooldownInstance> deleted = Collections.emptyList();
+        if (this.promoted != null) {
+            final Iterator<Map.Entry<CooldownGroup, CooldownInstance>> iterator = this.promoted.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<CooldownGroup, CooldownInstance> entry = iterator.next();
+                if (!this.isActive(entry.getKey(), entry.getValue(), currentTime)) {
+                    iterator.remove();
+                    this.removeArgumentGroup(entry.getKey());
+                    if (deleted.isEmpty()) {
+                        deleted = new ArrayList<>();
+                    }
+                    deleted.add(entry.getValue());
+                }
+            }
+            this.shrinkIfPossible();
+        } else {
+            // Iterate backwards, as removals move the last cooldown into the removed slot.
+            for (int index = this.size - 1; index >= 0; index--) {
+                if (!this.isActive(index, currentTime)) {
+                    if (deleted.isEmpty()) {
+                        deleted = new ArrayList<>();
+                    }
+                    deleted.add(this.cooldown(index));
+                    this.removeAt(index);
+                }
+            }
+        }
+
+        final long currentMillis = Math.floorDiv(currentTime, 1_000_000L);
+        final Map<CooldownGroup, RateLimitState> rateLimitStates = this.rateLimitStates;
+        if (rateLimitStates != null) {
+            rateLimitStates.values().removeIf(state -> state.idleTime() <= currentMillis);
+        }
+        final BlockedAttempts blockedAttempts = this.blockedAttempts;
+        if (blockedAttempts != null) {
+            blockedAttempts.deleteIdle(currentMillis);
+        }
+        return deleted;
+    }
+
+    @Override
+    public long remainingTime(final @NonNull CooldownGroup group, final @NonNull Instant currentTime) {
+        return this.remainingTime(group, Nanos.toNanos(currentTime));
+    }
+
+    @Override
+    public synchronized long remainingTime(final @NonNull CooldownGroup group, final long currentTime) {
+        if (this.promoted != null) {
+            final CooldownInstance cooldown = this.promoted.get(group);
+            if (cooldown == null || !this.generations.isCurrent(group, cooldown.generation())) {
+                return 0L;
+            }
+            return Nanos.remaining(Nanos.expiryTime(cooldown.creationTime(), cooldown.duration()), currentTime);
+        }
+        final int index = this.indexOf(group);
+        if (index == -1 || !this.generations.isCurrent(group, this.times[index * 2 + 1])) {
+            return 0L;
+        }
+        return Nanos.remaining(this.times[index * 2], currentTime);
+    }
+
+    @Override
+    public long rateLimitState(final @NonNull CooldownGroup group) {
+        final Map<CooldownGroup, RateLimitState> rateLimitStates = this.rateLimitStates;
+        if (rateLimitStates == null) {
+            return 0L;
+        }
+        final RateLimitState state = rateLimitStates.get(group);
+        if (state == null) {
+            return 0L;
+        }
+        return state.state();
+    }
+
+    @Override
+    public boolean compareAndSetRateLimitState(
+            final @NonNull CooldownGroup group,
+            final long expectedState,
+            final long updatedState,
+            final long idleTime
+    ) {
+        final Map<CooldownGroup, RateLimitState> rateLimitStates = this.rateLimitStates;
+        RateLimitState state = rateLimitStates == null ? null : rateLimitStates.get(group);
+        if (state == null) {
+            if (expectedState != 0L) {
+                return false;
+            }
+            state = this.rateLimitStates().computeIfAbsent(group, key -> new RateLimitState());
+        }
+        return state.compareAndSet(expectedState, updatedState, idleTime);
+    }
+
+    @Override
+    public int recordBlockedAttempt(final @NonNull CooldownGroup group, final long currentTime, final long decayInterval) {
+        BlockedAttempts blockedAttempts = this.blockedAttempts;
+        if (blockedAttempts == null) {
+            blockedAttempts = this.blockedAttempts();
+        }
+        return blockedAttempts.record(group, currentTime, decayInterval);
+    }
+
+    @Override
+    public @NonNull Duration recordExtension(
+            final @NonNull CooldownInstance cooldown,
+            final @NonNull Duration extension,
+            final @NonNull Duration maxTotalExtension
+    ) {
+        BlockedAttempts blockedAttempts = this.blockedAttempts;
+        if (blockedAttempts == null) {
+            blockedAttempts = this.blockedAttempts();
+        }
+        return blockedAttempts.recordExtension(cooldown, extension, maxTotalExtension);
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        final Map<CooldownGroup, RateLimitState> rateLimitStates = this.rateLimitStates;
+        final boolean cooldownsEmpty = this.promoted == null ? this.size == 0 : this.promoted.isEmpty();
+        final BlockedAttempts blockedAttempts = this.blockedAttempts;
+        return cooldownsEmpty && (rateLimitStates == null || rateLimitStates.isEmpty())
+                && (blockedAttempts == null || blockedAttempts.isEmpty());
+    }
+
+    @Override
+    public synchronized boolean markDeletedIfEmpty() {
+        if (!this.isEmpty()) {
+            return false;
+        }
+        this.deleted = true;
+        return true;
+    }
+
+    @Override
+    public boolean isDeleted() {
+        return this.deleted;
+    }
+
+    private synchronized @NonNull BlockedAttempts blockedAttempts() {
+        if (this.blockedAttempts == null) {
+            this.blockedAttempts = new BlockedAttempts();
+        }
+        return this.blockedAttempts;
+    }
+
+    private synchronized @NonNull Map<CooldownGroup, RateLimitState> rateLimitStates() {
+        if (this.rateLimitStates == null) {
+            this.rateLimitStates = new ConcurrentHashMap<>();
+        }
+        return this.rateLimitStates;
+    }
+
+    private int indexOf(final @NonNull CooldownGroup group) {
+        for (int index = 0; index < this.size; index++) {
+            if (this.entries[index * 2].equals(group)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private void removeAt(final int index) {
+        this.removeArgumentGroup(this.group(index));
+        final int last = --this.size;
+        System.arraycopy(this.entries, last * 2, this.entries, index * 2, 2);
+        System.arraycopy(this.times, last * 2, this.times, index * 2, 2);
+        this.entries[last * 2] = null;
+        this.entries[last * 2 + 1] = null;
+        if (this.size == 0) {
+            // Release the arrays so that idle profiles are as small as possible.
+            this.entries = null;
+            this.times = null;
+        }
+    }
+
+    private void promote() {
+        final Map<CooldownGroup, CooldownInstance> promoted = new HashMap<>();
+        for (int index = 0; index < this.size; index++) {
+            promoted.put(this.group(index), this.cooldown(index));
+        }
+        this.promoted = promoted;
+        this.entries = null;
+        this.times = null;
+        this.size = 0;
+    }
+
+    private void shrinkIfPossible() {
+        if (this.promoted.size() > this.capacity / 2) {
+            return;
+        }
+        final Map<CooldownGroup, CooldownInstance> promoted = this.promoted;
+        this.promoted = null;
+        promoted.forEach(this::store);
+    }
+
+    private @NonNull CooldownGroup group(final int index) {
+        return (CooldownGroup) this.entries[index * 2];
+    }
+
+    private @NonNull CooldownInstance cooldown(final int index) {
+        return (CooldownInstance) this.entries[index * 2 + 1];
+    }
+
+    private boolean isActive(final int index, final long currentTime) {
+        return this.times[index * 2] > currentTime && this.generations.isCurrent(this.group(index), this.times[index * 2 + 1]);
+    }
+
+    private void touchArgumentGroup(final @NonNull CooldownGroup group) {
+        if (this.argumentGroups != null && group instanceof CooldownGroup.ArgumentCooldownGroup) {
+            this.argumentGroups.touch(group);
+        }
+    }
+
+    private void removeArgumentGroup(final @NonNull CooldownGroup group) {
+        if (this.argumentGroups != null && group instanceof CooldownGroup.ArgumentCooldownGroup && this.argumentGroups.remove(group)) {
+            this.argumentGroups = null;
+        }
+    }
+
+    private @Nullable CooldownGroup addArgumentGroup(final @NonNull CooldownGroup group) {
+        if (!(group instanceof CooldownGroup.ArgumentCooldownGroup)) {
+            return null;
+        }
+        if (this.argumentGroups == null) {
+            this.argumentGroups = new ArgumentGroupIndex(this.maxArgumentGroups);
+        }
+        final long currentTime = Nanos.toNanos(this.clock.instant());
+        return this.argumentGroups.add(group, candidate -> this.isActive(candidate, currentTime));
+    }
+
+    private boolean isActive(final @NonNull CooldownGroup group, final long currentTime) {
+        if (this.promoted != null) {
+            final CooldownInstance cooldown = this.promoted.get(group);
+            return cooldown != null && this.isActive(group, cooldown, currentTime);
+        }
+        final int index = this.indexOf(group);
+        return index != -1 && this.isActive(index, currentTime);
+    }
+
+    private boolean isActive(
+            final @NonNull CooldownGroup group,
+            final @NonNull CooldownInstance cooldown,
+            final long currentTime
+    ) {
+        return Nanos.expiryTime(cooldown.creationTime(), cooldown.duration()) > currentTime
+                && this.generations.isCurrent(group, cooldown.generation());
+    }
+}
@@ -0,0 +1,82 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.profile;
+
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.processors.cooldown.CooldownConfiguration;
+
+/**
+ * {@link CooldownProfileFactory} that creates compact profiles.
+ *
+ * <p>The profiles store up to {@code capacity} cooldowns in arrays rather than in a hash map, which reduces the memory
+ * footprint when most senders only have a few active cooldowns. Profiles that exceed the capacity are promoted to a hash
+ * map, and shrink back to the arrays once at most half of the capacity is in use.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class CompactCooldownProfileFactory implements CooldownProfileFactory {
+
+    /**
+     * The default number of cooldowns that are stored in arrays.
+     */
+    public static final int DEFAULT_CAPACITY = 4;
+
+    private final CooldownConfiguration<?> configuration;
+    private final int capacity;
+
+    /**
+     * Creates a new factory instance using the {@link #DEFAULT_CAPACITY}.
+     *
+     * @param configuration the cooldown configuration
+     */
+    public CompactCooldownProfileFactory(final @NonNull CooldownConfiguration<?> configuration) {
+        this(configuration, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new factory instance.
+     *
+     * @param configuration the cooldown configuration
+     * @param capacity      the number of cooldowns that are stored in arrays before the profile is promoted to a hash map
+     */
+    public CompactCooldownProfileFactory(final @NonNull CooldownConfiguration<?> configuration, final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.configuration = configuration;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public @NonNull CooldownProfile create() {
+        return new CompactCooldownProfile(
+                this.configuration.clock(),
+                this.configuration.generations(),
+                this.capacity,
+                this.configuration.maxArgumentGroups()
+        );
+    }
+}
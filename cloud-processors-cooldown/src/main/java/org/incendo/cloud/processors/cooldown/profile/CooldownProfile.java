@@ -23,10 +23,15 @@
 //
 package org.incendo.cloud.processors.cooldown.profile;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import org.apiguardian.api.API;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.cooldown.CooldownHierarchy;
 import org.incendo.cloud.processors.cooldown.CooldownInstance;
 
 /**
@@ -45,6 +50,72 @@ public interface CooldownProfile {
      */
     @Nullable CooldownInstance getCooldown(@NonNull CooldownGroup group);
 
+    /**
+     * Returns the active cooldown that blocks the given {@code group}, which is the cooldown of the group itself, or
+     * else the cooldown of the nearest of the given {@code ancestors}.
+     *
+     * <p>The default implementation synchronizes on the profile while checking the ancestors, which the standard
+     * implementations use to guard their state.</p>
+     *
+     * @param group     group to check
+     * @param ancestors ancestors of the group, starting with the parent, as resolved by a {@link CooldownHierarchy}
+     * @return the blocking cooldown, or {@code null}
+     */
+    default @Nullable CooldownInstance getBlockingCooldown(
+            final @NonNull CooldownGroup group,
+            final @NonNull List<@NonNull CooldownGroup> ancestors
+    ) {
+        if (ancestors.isEmpty()) {
+            return this.getCooldown(group);
+        }
+        synchronized (this) {
+            final CooldownInstance cooldown = this.getCooldown(group);
+            if (cooldown != null) {
+                return cooldown;
+            }
+            for (int i = 0; i < ancestors.size(); i++) {
+                final CooldownInstance ancestorCooldown = this.getCooldown(ancestors.get(i));
+                if (ancestorCooldown != null) {
+                    return ancestorCooldown;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Returns the time remaining on the cooldown for the given {@code group}, in nanoseconds.
+     *
+     * <p>Unlike {@link #getCooldown(CooldownGroup)}, the standard implementations neither modify the profile nor
+     * create any objects, which makes this suitable for frequent polling.</p>
+     *
+     * @param group       group that identifies the cooldown
+     * @param currentTime the current time
+     * @return the remaining time in nanoseconds, or {@code 0} if there is no active cooldown
+     */
+    default long remainingTime(final @NonNull CooldownGroup group, final @NonNull Instant currentTime) {
+        final CooldownInstance cooldown = this.getCooldown(group);
+        if (cooldown == null) {
+            return 0L;
+        }
+        return Nanos.remaining(Nanos.expiryTime(cooldown.creationTime(), cooldown.duration()), Nanos.toNanos(currentTime));
+    }
+
+    /**
+     * Returns the time remaining on the cooldown for the given {@code group}, in nanoseconds, at the given time in
+     * nanoseconds since the epoch.
+     *
+     * <p>Unlike {@link #remainingTime(CooldownGroup, Instant)}, the current time does not need to be an object. The
+     * default implementation converts it to an {@link Instant}, which the standard implementations avoid.</p>
+     *
+     * @param group       group that identifies the cooldown
+     * @param currentTime the current time in nanoseconds since the epoch
+     * @return the remaining time in nanoseconds, or {@code 0} if there is no active cooldown
+     */
+    default long remainingTime(final @NonNull CooldownGroup group, final long currentTime) {
+        return this.remainingTime(group, Instant.ofEpochSecond(0L, currentTime));
+    }
+
     /**
      * Sets the cooldown for the given {@code group}.
      *
@@ -53,6 +124,63 @@ public interface CooldownProfile {
      */
     void setCooldown(@NonNull CooldownGroup group, @NonNull CooldownInstance cooldown);
 
+    /**
+     * Atomically sets the cooldown for the given {@code group} unless there is an active cooldown.
+     *
+     * <p>The default implementation synchronizes on the profile, which the standard implementations use to guard
+     * their state.</p>
+     *
+     * @param group    group that identifies the cooldown
+     * @param cooldown cooldown value
+     * @return the active cooldown that prevented the cooldown from being set, or {@code null} if it was set
+     */
+    default @Nullable CooldownInstance setCooldownIfAbsent(
+            final @NonNull CooldownGroup group,
+            final @NonNull CooldownInstance cooldown
+    ) {
+        synchronized (this) {
+            final CooldownInstance existing = this.getCooldown(group);
+            if (existing != null) {
+                return existing;
+            }
+            this.setCooldown(group, cooldown);
+            return null;
+        }
+    }
+
+    /**
+     * Atomically replaces the cooldown for the given {@code group} with {@code replacement} if the active cooldown
+     * matches {@code expected}, or deletes it if {@code replacement} is {@code null}.
+     *
+     * <p>Cooldowns match if they have the same creation time, duration and generation.</p>
+     *
+     * @param group       group that identifies the cooldown
+     * @param expected    the expected active cooldown
+     * @param replacement the new cooldown, or {@code null} to delete the cooldown
+     * @return {@code true} if the cooldown was replaced, else {@code false}
+     */
+    default boolean replaceCooldown(
+            final @NonNull CooldownGroup group,
+            final @NonNull CooldownInstance expected,
+            final @Nullable CooldownInstance replacement
+    ) {
+        synchronized (this) {
+            final CooldownInstance existing = this.getCooldown(group);
+            if (existing == null
+                    || !existing.creationTime().equals(expected.creationTime())
+                    || !existing.duration().equals(expected.duration())
+                    || existing.generation() != expected.generation()) {
+                return false;
+            }
+            if (replacement == null) {
+                this.deleteCooldown(group);
+            } else {
+                this.setCooldown(group, replacement);
+            }
+            return true;
+        }
+    }
+
     /**
      * Deletes the cooldown for the given {@code group}, if it exists.
      *
@@ -60,10 +188,135 @@ public interface CooldownProfile {
      */
     void deleteCooldown(@NonNull CooldownGroup group);
 
+    /**
+     * Returns a snapshot of the active cooldowns stored in the profile.
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}.</p>
+     *
+     * @return the active cooldowns
+     * @throws UnsupportedOperationException if the profile cannot be iterated
+     */
+    default @NonNull Collection<@NonNull CooldownInstance> cooldowns() {
+        throw new UnsupportedOperationException("This profile cannot be iterated");
+    }
+
+    /**
+     * Deletes all cooldowns that have expired.
+     *
+     * <p>The default implementation deletes nothing, which leaves the expired cooldowns to be removed when they are
+     * looked up.</p>
+     *
+     * @return the deleted cooldowns
+     */
+    default @NonNull Collection<@NonNull CooldownInstance> deleteExpiredCooldowns() {
+        return List.of();
+    }
+
+    /**
+     * Returns the packed rate limit state stored for the given {@code group}.
+     *
+     * <p>The interpretation of the state is up to the rate limiter. A state of {@code 0} indicates that no state
+     * is stored.</p>
+     *
+     * <p>The default implementation returns {@code 0}.</p>
+     *
+     * @param group group that identifies the state
+     * @return the state, or {@code 0}
+     */
+    default long rateLimitState(final @NonNull CooldownGroup group) {
+        return 0L;
+    }
+
+    /**
+     * Atomically replaces the rate limit state stored for the given {@code group} with {@code updatedState}
+     * if the current state is equal to {@code expectedState}.
+     *
+     * <p>The state may be discarded once {@code idleTime} has passed, which means that the rate limiter must treat
+     * the state as equivalent to {@code 0} from that point.</p>
+     *
+     * <p>The default implementation throws {@link UnsupportedOperationException}, which means that profiles that do not
+     * override it cannot be used with {@link org.incendo.cloud.processors.cooldown.RateLimit rate limits}.</p>
+     *
+     * @param group         group that identifies the state
+     * @param expectedState expected current state
+     * @param updatedState  new state
+     * @param idleTime      time in epoch milliseconds after which the state may be discarded
+     * @return {@code true} if the state was replaced, {@code false} if the current state did not match
+     * @throws UnsupportedOperationException if the profile does not store rate limit state
+     */
+    default boolean compareAndSetRateLimitState(
+            final @NonNull CooldownGroup group,
+            final long expectedState,
+            final long updatedState,
+            final long idleTime
+    ) {
+        throw new UnsupportedOperationException("This profile does not support rate limits");
+    }
+
+    /**
+     * Records an attempt to execute a command that was blocked by the cooldown for the given {@code group}, and
+     * returns the number of recent blocked attempts.
+     *
+     * <p>The counter decreases by one for every {@code decayInterval} without blocked attempts. Profiles that do not
+     * keep track of blocked attempts always return {@code 1}.</p>
+     *
+     * @param group         group that identifies the cooldown
+     * @param currentTime   the current time in epoch milliseconds
+     * @param decayInterval time in milliseconds it takes for the counter to decrease by one
+     * @return the number of recent blocked attempts, including this one
+     */
+    default int recordBlockedAttempt(final @NonNull CooldownGroup group, final long currentTime, final long decayInterval) {
+        return 1;
+    }
+
+    /**
+     * Records that the given {@code cooldown} is about to be extended by {@code extension}, and returns the part of the
+     * extension that may be applied without the total extension of the cooldown exceeding {@code maxTotalExtension}.
+     *
+     * <p>Profiles that do not keep track of extensions only cap the given {@code extension}.</p>
+     *
+     * @param cooldown          the cooldown that is being extended
+     * @param extension         the requested extension
+     * @param maxTotalExtension the maximum total extension of the cooldown
+     * @return the extension that may be applied
+     */
+    default @NonNull Duration recordExtension(
+            final @NonNull CooldownInstance cooldown,
+            final @NonNull Duration extension,
+            final @NonNull Duration maxTotalExtension
+    ) {
+        return extension.compareTo(maxTotalExtension) > 0 ? maxTotalExtension : extension;
+    }
+
     /**
      * Returns whether the profile is empty.
      *
      * @return {@code true} if the profile is empty, else {@code false}
      */
     boolean isEmpty();
+
+    /**
+     * Atomically marks the profile as deleted if it is empty, which repositories do before they delete an empty profile.
+     *
+     * <p>Modifications of a deleted profile are lost, so writers that find that the profile they modified
+     * {@link #isDeleted() has been deleted} look the profile up again and repeat the modification.</p>
+     *
+     * <p>The default implementation does not mark the profile, and only returns whether it is empty.</p>
+     *
+     * @return {@code true} if the profile was empty and has been marked as deleted, else {@code false}
+     */
+    default boolean markDeletedIfEmpty() {
+        return this.isEmpty();
+    }
+
+    /**
+     * Returns whether the profile has been {@link #markDeletedIfEmpty() marked as deleted}.
+     *
+     * <p>The default implementation returns {@code false}.</p>
+     *
+     * @return {@code true} if the profile has been deleted, else {@code false}
+     */
+    default boolean isDeleted() {
+        return false;
+    }
 }
@@ -24,22 +24,42 @@
 package org.incendo.cloud.processors.cooldown.profile;
 
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.processors.cooldown.CooldownGenerations;
 import org.incendo.cloud.processors.cooldown.CooldownGroup;
 import org.incendo.cloud.processors.cooldown.CooldownInstance;
 
 final class CooldownProfileImpl implements CooldownProfile {
 
     private final Map<CooldownGroup, CooldownInstance> cooldowns;
+    private final Map<CooldownGroup, RateLimitState> rateLimitStates;
+    private volatile @Nullable BlockedAttempts blockedAttempts;
+    private volatile boolean deleted;
+    private final int maxArgumentGroups;
+    private @Nullable ArgumentGroupIndex argumentGroups;
     private final Clock clock;
+    private final CooldownGenerations generations;
 
-    CooldownProfileImpl(final @NonNull Clock clock) {
+    CooldownProfileImpl(
+            final @NonNull Clock clock,
+            final @NonNull CooldownGenerations generations,
+            final int maxArgumentGroups
+    ) {
         this.cooldowns = new HashMap<>();
+        this.rateLimitStates = new ConcurrentHashMap<>();
+        this.maxArgumentGroups = maxArgumentGroups;
         this.clock = clock;
+        this.generations = generations;
     }
 
     @Override
@@ -48,27 +68,187 @@ final class CooldownProfileImpl implements CooldownProfile {
         if (cooldown == null) {
             return null;
         }
-        final Instant expiration = cooldown.creationTime().plus(cooldown.duration());
-        final Instant currentTime = Instant.now(this.clock);
-        if (expiration.isAfter(currentTime)) {
+        if (this.isActive(group, cooldown, Instant.now(this.clock))) {
+            this.touchArgumentGroup(group);
             return cooldown;
         }
         this.cooldowns.remove(group);
+        this.removeArgumentGroup(group);
         return null;
     }
 
     @Override
     public synchronized void setCooldown(final @NonNull CooldownGroup group, final @NonNull CooldownInstance cooldown) {
+        final CooldownGroup evicted = this.addArgumentGroup(group);
+        if (evicted != null) {
+            this.cooldowns.remove(evicted);
+        }
         this.cooldowns.put(group, cooldown);
     }
 
     @Override
     public synchronized void deleteCooldown(final @NonNull CooldownGroup group) {
         this.cooldowns.remove(group);
+        this.removeArgumentGroup(group);
+    }
+
+    @Override
+    public synchronized @NonNull Collection<@NonNull CooldownInstance> cooldowns() {
+        final Instant currentTime = Instant.now(this.clock);
+        final List<CooldownInstance> cooldowns = new ArrayList<>(this.cooldowns.size());
+        for (final Map.Entry<CooldownGroup, CooldownInstance> entry : this.cooldowns.entrySet()) {
+            if (this.isActive(entry.getKey(), entry.getValue(), currentTime)) {
+                cooldowns.add(entry.getValue());
+            }
+        }
+        return cooldowns;
+    }
+
+    @Override
+    public synchronized @NonNull Collection<@NonNull CooldownInstance> deleteExpiredCooldowns() {
+        final Instant currentTime = Instant.now(this.clock);
+        final List<CooldownInstance> deleted = new ArrayList<>();
+        final Iterator<Map.Entry<CooldownGroup, CooldownInstance>> iterator = this.cooldowns.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<CooldownGroup, CooldownInstance> entry = iterator.next();
+            if (!this.isActive(entry.getKey(), entry.getValue(), currentTime)) {
+                iterator.remove();
+                this.removeArgumentGroup(entry.getKey());
+                deleted.add(entry.getValue());
+            }
+        }
+        final long currentMillis = currentTime.toEpochMilli();
+        this.rateLimitStates.values().removeIf(state -> state.idleTime() <= currentMillis);
+        final BlockedAttempts blockedAttempts = this.blockedAttempts;
+        if (blockedAttempts != null) {
+            blockedAttempts.deleteIdle(currentMillis);
+        }
+        return deleted;
+    }
+
+    @Override
+    public long remainingTime(final @NonNull CooldownGroup group, final @NonNull Instant currentTime) {
+        return this.remainingTime(group, Nanos.toNanos(currentTime));
+    }
+
+    @Override
+    public synchronized long remainingTime(final @NonNull CooldownGroup group, final long currentTime) {
+        final CooldownInstance cooldown = this.cooldowns.get(group);
+        if (cooldown == null || !this.generations.isCurrent(group, cooldown.generation())) {
+            return 0L;
+        }
+        return Nanos.remaining(Nanos.expiryTime(cooldown.creationTime(), cooldown.duration()), currentTime);
+    }
+
+    @Override
+    public long rateLimitState(final @NonNull CooldownGroup group) {
+        final RateLimitState state = this.rateLimitStates.get(group);
+        if (state == null) {
+            return 0L;
+        }
+        return state.state();
+    }
+
+    @Override
+    public boolean compareAndSetRateLimitState(
+            final @NonNull CooldownGroup group,
+            final long expectedState,
+            final long updatedState,
+            final long idleTime
+    ) {
+        RateLimitState state = this.rateLimitStates.get(group);
+        if (state == null) {
+            if (expectedState != 0L) {
+                return false;
+            }
+            state = this.rateLimitStates.computeIfAbsent(group, key -> new RateLimitState());
+        }
+        return state.compareAndSet(expectedState, updatedState, idleTime);
+    }
+
+    @Override
+    public int recordBlockedAttempt(final @NonNull CooldownGroup group, final long currentTime, final long decayInterval) {
+        BlockedAttempts blockedAttempts = this.blockedAttempts;
+        if (blockedAttempts == null) {
+            blockedAttempts = this.blockedAttempts();
+        }
+        return blockedAttempts.record(group, currentTime, decayInterval);
+    }
+
+    @Override
+    public @NonNull Duration recordExtension(
+            final @NonNull CooldownInstance cooldown,
+            final @NonNull Duration extension,
+            final @NonNull Duration maxTotalExtension
+    ) {
+        BlockedAttempts blockedAttempts = this.blockedAttempts;
+        if (blockedAttempts == null) {
+            blockedAttempts = this.blockedAttempts();
+        }
+        return blockedAttempts.recordExtension(cooldown, extension, maxTotalExtension);
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        final BlockedAttempts blockedAttempts = this.blockedAttempts;
+        return this.cooldowns.isEmpty() && this.rateLimitStates.isEmpty() && (blockedAttempts == null || blockedAttempts.isEmpty());
     }
 
     @Override
-    public boolean isEmpty() {
-        return this.cooldowns.isEmpty();
+    public synchronized boolean markDeletedIfEmpty() {
+        if (!this.isEmpty()) {
+            return false;
+        }
+        this.deleted = true;
+        return true;
+    }
+
+    @Override
+    public boolean isDeleted() {
+        return this.deleted;
+    }
+
+    private synchronized @NonNull BlockedAttempts blockedAttempts() {
+        if (this.blockedAttempts == null) {
+            this.blockedAttempts = new BlockedAttempts();
+        }
+        return this.blockedAttempts;
+    }
+
+    private void touchArgumentGroup(final @NonNull CooldownGroup group) {
+        if (this.argumentGroups != null && group instanceof CooldownGroup.ArgumentCooldownGroup) {
+            this.argumentGroups.touch(group);
+        }
+    }
+
+    private void removeArgumentGroup(final @NonNull CooldownGroup group) {
+        if (this.argumentGroups != null && group instanceof CooldownGroup.ArgumentCooldownGroup && this.argumentGroups.remove(group)) {
+            this.argumentGroups = null;
+        }
+    }
+
+    private @Nullable CooldownGroup addArgumentGroup(final @NonNull CooldownGroup group) {
+        if (!(group instanceof CooldownGroup.ArgumentCooldownGroup)) {
+            return null;
+        }
+        if (this.argumentGroups == null) {
+            this.argumentGroups = new ArgumentGroupIndex(this.maxArgumentGroups);
+        }
+        final Instant currentTime = Instant.now(this.clock);
+        return this.argumentGroups.add(group, candidate -> this.isActive(candidate, currentTime));
+    }
+
+    private boolean isActive(final @NonNull CooldownGroup group, final @NonNull Instant currentTime) {
+        final CooldownInstance cooldown = this.cooldowns.get(group);
+        return cooldown != null && this.isActive(group, cooldown, currentTime);
+    }
+
+    private boolean isActive(
+            final @NonNull CooldownGroup group,
+            final @NonNull CooldownInstance cooldown,
+            final @NonNull Instant currentTime
+    ) {
+        return cooldown.creationTime().plus(cooldown.duration()).isAfter(currentTime)
+                && this.generations.isCurrent(group, cooldown.generation());
     }
 }
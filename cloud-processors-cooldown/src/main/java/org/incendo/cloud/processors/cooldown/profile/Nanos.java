@@ -0,0 +1,103 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.profile;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Saturating conversions between time values and nanoseconds.
+ */
+final class Nanos {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private Nanos() {
+    }
+
+    /**
+     * Returns the number of nanoseconds since the epoch, saturated to the range of a {@code long}.
+     *
+     * @param instant the instant
+     * @return the nanoseconds since the epoch
+     */
+    static long toNanos(final @NonNull Instant instant) {
+        try {
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
+        } catch (final ArithmeticException e) {
+            return instant.getEpochSecond() < 0L ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Returns the length of the duration in nanoseconds, saturated to the range of a {@code long}.
+     *
+     * @param duration the duration
+     * @return the nanoseconds
+     */
+    static long toNanos(final @NonNull Duration duration) {
+        try {
+            return duration.toNanos();
+        } catch (final ArithmeticException e) {
+            return duration.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Returns the expiry time of a cooldown in nanoseconds since the epoch.
+     *
+     * @param creationTime the creation time
+     * @param duration     the duration
+     * @return the expiry time
+     */
+    static long expiryTime(final @NonNull Instant creationTime, final @NonNull Duration duration) {
+        return saturatedAdd(toNanos(creationTime), toNanos(duration));
+    }
+
+    /**
+     * Returns the time remaining until {@code expiryTime}, or {@code 0} if it has passed.
+     *
+     * @param expiryTime  the expiry time in nanoseconds since the epoch
+     * @param currentTime the current time in nanoseconds since the epoch
+     * @return the remaining nanoseconds
+     */
+    static long remaining(final long expiryTime, final long currentTime) {
+        if (expiryTime <= currentTime) {
+            return 0L;
+        }
+        final long remaining = expiryTime - currentTime;
+        // The difference overflows when the times are far apart.
+        return remaining < 0L ? Long.MAX_VALUE : remaining;
+    }
+
+    static long saturatedAdd(final long first, final long second) {
+        final long result = first + second;
+        // Overflow occurs if both operands have the same sign, and the sign of the result differs.
+        if (((first ^ result) & (second ^ result)) < 0L) {
+            return first < 0L ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        return result;
+    }
+}
@@ -48,6 +48,10 @@ public final class StandardCooldownProfileFactory implements CooldownProfileFact
 
     @Override
     public @NonNull CooldownProfile create() {
-        return new CooldownProfileImpl(this.configuration.clock());
+        return new CooldownProfileImpl(
+                this.configuration.clock(),
+                this.configuration.generations(),
+                this.configuration.maxArgumentGroups()
+        );
     }
 }
@@ -0,0 +1,169 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.replication;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Modification of a single cooldown that is replicated to the other nodes.
+ */
+final class CooldownDelta {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private final String key;
+    private final String group;
+    private final long timestamp;
+    private final boolean deleted;
+    private final long creationTime;
+    private final long expiryTime;
+
+    CooldownDelta(
+            final @NonNull String key,
+            final @NonNull String group,
+            final long timestamp,
+            final boolean deleted,
+            final long creationTime,
+            final long expiryTime
+    ) {
+        this.key = key;
+        this.group = group;
+        this.timestamp = timestamp;
+        this.deleted = deleted;
+        this.creationTime = creationTime;
+        this.expiryTime = expiryTime;
+    }
+
+    @NonNull String key() {
+        return this.key;
+    }
+
+    @NonNull String group() {
+        return this.group;
+    }
+
+    long timestamp() {
+        return this.timestamp;
+    }
+
+    boolean deleted() {
+        return this.deleted;
+    }
+
+    long creationTime() {
+        return this.creationTime;
+    }
+
+    long expiryTime() {
+        return this.expiryTime;
+    }
+
+    /**
+     * Encodes the given {@code deltas} into a message.
+     *
+     * @param nodeId id of the node that published the deltas
+     * @param deltas the deltas
+     * @return the message
+     */
+    static byte @NonNull [] encode(final long nodeId, final @NonNull Collection<@NonNull CooldownDelta> deltas) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(FORMAT_VERSION);
+            output.writeLong(nodeId);
+            output.writeInt(deltas.size());
+            for (final CooldownDelta delta : deltas) {
+                output.writeBoolean(delta.deleted);
+                output.writeUTF(delta.key);
+                output.writeUTF(delta.group);
+                output.writeLong(delta.timestamp);
+                if (!delta.deleted) {
+                    output.writeLong(delta.creationTime);
+                    output.writeLong(delta.expiryTime);
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Returns the id of the node that published the given {@code message}.
+     *
+     * @param message the message
+     * @return the node id
+     */
+    static long nodeId(final byte @NonNull [] message) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(message))) {
+            checkFormatVersion(input.readByte());
+            return input.readLong();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decodes the deltas contained in the given {@code message}.
+     *
+     * @param message the message
+     * @return the deltas
+     */
+    static @NonNull List<@NonNull CooldownDelta> decode(final byte @NonNull [] message) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(message))) {
+            checkFormatVersion(input.readByte());
+            input.readLong();
+            final int count = input.readInt();
+            final List<CooldownDelta> deltas = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                final boolean deleted = input.readBoolean();
+                final String key = input.readUTF();
+                final String group = input.readUTF();
+                final long timestamp = input.readLong();
+                if (deleted) {
+                    deltas.add(new CooldownDelta(key, group, timestamp, true, 0L, 0L));
+                } else {
+                    deltas.add(new CooldownDelta(key, group, timestamp, false, input.readLong(), input.readLong()));
+                }
+            }
+            return deltas;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void checkFormatVersion(final byte formatVersion) {
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported message format version: " + formatVersion);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.replication;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * In-process {@link CooldownTransport} that connects multiple repositories within the same application.
+ *
+ * <p>Messages are delivered synchronously to every other endpoint of the transport, which makes it useful
+ * for testing.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class LoopbackCooldownTransport {
+
+    /**
+     * Creates a new loopback transport.
+     *
+     * @return the transport
+     */
+    public static @NonNull LoopbackCooldownTransport create() {
+        return new LoopbackCooldownTransport();
+    }
+
+    private final List<Endpoint> endpoints = new CopyOnWriteArrayList<>();
+
+    private LoopbackCooldownTransport() {
+    }
+
+    /**
+     * Creates a new endpoint that is connected to all other endpoints of this transport.
+     *
+     * @return the endpoint
+     */
+    public @NonNull CooldownTransport endpoint() {
+        final Endpoint endpoint = new Endpoint();
+        this.endpoints.add(endpoint);
+        return endpoint;
+    }
+
+    private final class Endpoint implements CooldownTransport {
+
+        private final List<Consumer<byte[]>> receivers = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void publish(final byte @NonNull [] message) {
+            for (final Endpoint endpoint : LoopbackCooldownTransport.this.endpoints) {
+                if (endpoint == this) {
+                    continue;
+                }
+                for (final Consumer<byte[]> receiver : endpoint.receivers) {
+                    receiver.accept(message.clone());
+                }
+            }
+        }
+
+        @Override
+        public void subscribe(final @NonNull Consumer<byte @NonNull []> receiver) {
+            this.receivers.add(Objects.requireNonNull(receiver, "receiver"));
+        }
+    }
+}
@@ -0,0 +1,411 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.replication;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.processors.cooldown.CooldownConfiguration;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.cooldown.CooldownInstance;
+import org.incendo.cloud.processors.cooldown.CooldownRepository;
+import org.incendo.cloud.processors.cooldown.listener.CooldownRepositoryListener;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfileFactory;
+import org.incendo.cloud.processors.cooldown.storage.CooldownKeyCodec;
+
+/**
+ * Repository that replicates cooldowns to other nodes through a {@link CooldownTransport}.
+ *
+ * <p>Local creations and deletions are queued up and coalesced, and {@link #flush()} publishes them as a single
+ * message. This is intended to be invoked once per tick. Remote modifications are applied to the backing repository
+ * using last-writer-wins semantics: every modification carries a hybrid logical timestamp, and modifications that are
+ * older than the last modification of the same cooldown are ignored. Applying the same message multiple times has no
+ * effect.</p>
+ *
+ * <p>Only cooldowns belonging to {@link CooldownGroup#named(String) named groups} are replicated, as other groups
+ * cannot be identified by the other nodes. Deletions are remembered for {@link #TOMBSTONE_RETENTION}, which is how
+ * long a message may be delayed before it may resurrect a deleted cooldown.</p>
+ *
+ * @param <K> key type
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class ReplicatedCooldownRepository<K> implements CooldownRepository<K> {
+
+    /**
+     * How long deletions are remembered.
+     */
+    public static final Duration TOMBSTONE_RETENTION = Duration.ofMinutes(1L);
+
+    private static final int APPLY_LOCKS = 64;
+
+    /**
+     * Creates a new replicated repository.
+     *
+     * <p>Remote modifications are only received after {@link #connect(CooldownConfiguration)} has been invoked.</p>
+     *
+     * @param <K>        key type
+     * @param repository repository that stores the cooldowns locally
+     * @param keyCodec   codec that converts keys to strings
+     * @param transport  transport that delivers the modifications
+     * @return the repository
+     */
+    public static <K> @NonNull ReplicatedCooldownRepository<K> create(
+            final @NonNull CooldownRepository<K> repository,
+            final @NonNull CooldownKeyCodec<K> keyCodec,
+            final @NonNull CooldownTransport transport
+    ) {
+        return create(repository, keyCodec, transport, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a new replicated repository.
+     *
+     * <p>Remote modifications are only received after {@link #connect(CooldownConfiguration)} has been invoked.</p>
+     *
+     * @param <K>        key type
+     * @param repository repository that stores the cooldowns locally
+     * @param keyCodec   codec that converts keys to strings
+     * @param transport  transport that delivers the modifications
+     * @param clock      clock used for the timestamps of the modifications and to expire deletions
+     * @return the repository
+     */
+    public static <K> @NonNull ReplicatedCooldownRepository<K> create(
+            final @NonNull CooldownRepository<K> repository,
+            final @NonNull CooldownKeyCodec<K> keyCodec,
+            final @NonNull CooldownTransport transport,
+            final @NonNull Clock clock
+    ) {
+        return new ReplicatedCooldownRepository<>(
+                Objects.requireNonNull(repository, "repository"),
+                Objects.requireNonNull(keyCodec, "keyCodec"),
+                Objects.requireNonNull(transport, "transport"),
+                Objects.requireNonNull(clock, "clock")
+        );
+    }
+
+    private final long nodeId = ThreadLocalRandom.current().nextLong();
+    private final AtomicLong lastTimestamp = new AtomicLong();
+    private final Map<VersionKey, Version> versions = new ConcurrentHashMap<>();
+    private final Map<VersionKey, CooldownDelta> outgoing = new LinkedHashMap<>();
+    private final ThreadLocal<Boolean> applying = new ThreadLocal<>();
+    private final Object[] applyLocks = new Object[APPLY_LOCKS];
+    private final Clock clock;
+    private final CooldownRepository<K> repository;
+    private final CooldownKeyCodec<K> keyCodec;
+    private final CooldownTransport transport;
+    private volatile @Nullable CooldownConfiguration<?> configuration;
+    private long nextPruneTime;
+
+    private ReplicatedCooldownRepository(
+            final @NonNull CooldownRepository<K> repository,
+            final @NonNull CooldownKeyCodec<K> keyCodec,
+            final @NonNull CooldownTransport transport,
+            final @NonNull Clock clock
+    ) {
+        this.repository = CooldownRepository.observing(repository, new ReplicatingListener());
+        this.keyCodec = keyCodec;
+        this.transport = transport;
+        this.clock = clock;
+        for (int i = 0; i < APPLY_LOCKS; i++) {
+            this.applyLocks[i] = new Object();
+        }
+    }
+
+    @Override
+    public @NonNull CooldownProfile getProfile(final @NonNull K key, final @NonNull CooldownProfileFactory profileFactory) {
+        return this.repository.getProfile(key, profileFactory);
+    }
+
+    @Override
+    public @Nullable CooldownProfile getProfileIfExists(final @NonNull K key) {
+        return this.repository.getProfileIfExists(key);
+    }
+
+    @Override
+    public void deleteProfile(final @NonNull K key) {
+        this.repository.deleteProfile(key);
+    }
+
+    @Override
+    public void deleteCooldown(final @NonNull K key, final @NonNull CooldownGroup group) {
+        this.repository.deleteCooldown(key, group);
+    }
+
+    @Override
+    public boolean deleteProfileIfEmpty(final @NonNull K key) {
+        return this.repository.deleteProfileIfEmpty(key);
+    }
+
+    @Override
+    public void putProfiles(final @NonNull Map<@NonNull K, @NonNull CooldownProfile> profiles) {
+        this.repository.putProfiles(profiles);
+    }
+
+    @Override
+    public @NonNull Collection<@NonNull K> keys() {
+        return this.repository.keys();
+    }
+
+    @Override
+    public @NonNull Iterator<@NonNull K> keyIterator() {
+        return this.repository.keyIterator();
+    }
+
+    /**
+     * Starts receiving modifications from the other nodes.
+     *
+     * <p>Remote cooldowns are stamped with the {@link CooldownConfiguration#generations() current generation} when they
+     * are received, as the generations of the other nodes are unrelated to the local ones.</p>
+     *
+     * @param configuration configuration whose profile factory creates the profiles of remote cooldowns
+     */
+    public void connect(final @NonNull CooldownConfiguration<?> configuration) {
+        this.configuration = Objects.requireNonNull(configuration, "configuration");
+        this.transport.subscribe(this::receive);
+    }
+
+    /**
+     * Publishes the queued modifications to the other nodes in a single message.
+     *
+     * @return the number of published modifications
+     */
+    public int flush() {
+        final List<CooldownDelta> deltas;
+        synchronized (this.outgoing) {
+            deltas = new ArrayList<>(this.outgoing.values());
+            this.outgoing.clear();
+        }
+        this.pruneVersions();
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        this.transport.publish(CooldownDelta.encode(this.nodeId, deltas));
+        return deltas.size();
+    }
+
+    private void receive(final byte @NonNull [] message) {
+        final long remoteNodeId = CooldownDelta.nodeId(message);
+        if (remoteNodeId == this.nodeId) {
+            return;
+        }
+        for (final CooldownDelta delta : CooldownDelta.decode(message)) {
+            this.lastTimestamp.accumulateAndGet(delta.timestamp(), Math::max);
+            this.apply(delta, new Version(delta.timestamp(), remoteNodeId, this.retainUntil(delta)));
+        }
+    }
+
+    private void apply(final @NonNull CooldownDelta delta, final @NonNull Version version) {
+        final K key = this.keyCodec.decode(delta.key());
+        final CooldownGroup group = CooldownGroup.named(delta.group());
+        final VersionKey versionKey = new VersionKey(delta.key(), delta.group());
+        final CooldownConfiguration<?> configuration = Objects.requireNonNull(this.configuration);
+        while (true) {
+            final CooldownProfile profile = delta.deleted()
+                    ? this.repository.getProfileIfExists(key)
+                    : this.repository.getProfile(key, configuration.profileFactory());
+            if (profile == null) {
+                // There is nothing to delete, but the version is kept so that older deltas of the cooldown are ignored.
+                this.updateVersion(versionKey, version);
+                return;
+            }
+            // Local modifications record their versions while they hold the lock of the observed profile, so a local
+            // modification either precedes the version check or waits until the delta has been applied. The stripe
+            // orders the remote deltas of the same cooldown, even if the profile is replaced while they are applied.
+            synchronized (profile) {
+                if (profile.isDeleted()) {
+                    // The profile has been swept since it was looked up, which is done again outside its lock.
+                    continue;
+                }
+                synchronized (this.applyLock(versionKey)) {
+                    if (this.updateVersion(versionKey, version) != version) {
+                        return;
+                    }
+                    this.applying.set(Boolean.TRUE);
+                    try {
+                        if (delta.deleted()) {
+                            profile.deleteCooldown(group);
+                        } else {
+                            profile.setCooldown(group, CooldownInstance.builder()
+                                    .profile(profile)
+                                    .group(group)
+                                    .duration(Duration.ofMillis(delta.expiryTime() - delta.creationTime()))
+                                    .creationTime(Instant.ofEpochMilli(delta.creationTime()))
+                                    .generation(configuration.generations().current())
+                                    .build());
+                        }
+                    } finally {
+                        this.applying.remove();
+                    }
+                }
+            }
+            break;
+        }
+        if (delta.deleted()) {
+            this.repository.deleteProfileIfEmpty(key);
+        }
+    }
+
+    // Stores the given version unless a newer version is stored, and returns the stored version.
+    private @NonNull Version updateVersion(final @NonNull VersionKey versionKey, final @NonNull Version version) {
+        return this.versions.compute(
+                versionKey,
+                (key, current) -> current != null && !version.isNewerThan(current) ? current : version
+        );
+    }
+
+    private @NonNull Object applyLock(final @NonNull VersionKey versionKey) {
+        return this.applyLocks[(versionKey.hashCode() & Integer.MAX_VALUE) % APPLY_LOCKS];
+    }
+
+    private void record(final @NonNull K key, final @NonNull CooldownGroup group, final @Nullable CooldownInstance cooldown) {
+        if (!(group instanceof CooldownGroup.NamedCooldownGroup) || this.applying.get() != null) {
+            return;
+        }
+        final long timestamp = this.lastTimestamp.accumulateAndGet(this.clock.millis(), (last, now) -> Math.max(last + 1L, now));
+        final String encodedKey = this.keyCodec.encode(key);
+        final String name = ((CooldownGroup.NamedCooldownGroup) group).name();
+        final CooldownDelta delta;
+        if (cooldown == null) {
+            delta = new CooldownDelta(encodedKey, name, timestamp, true, 0L, 0L);
+        } else {
+            final long creationTime = cooldown.creationTime().toEpochMilli();
+            long expiryTime;
+            try {
+                expiryTime = Math.addExact(creationTime, cooldown.duration().toMillis());
+            } catch (final ArithmeticException e) {
+                expiryTime = Long.MAX_VALUE;
+            }
+            delta = new CooldownDelta(encodedKey, name, timestamp, false, creationTime, expiryTime);
+        }
+
+        final VersionKey versionKey = new VersionKey(delta.key(), delta.group());
+        this.versions.put(versionKey, new Version(timestamp, this.nodeId, this.retainUntil(delta)));
+        synchronized (this.outgoing) {
+            this.outgoing.put(versionKey, delta);
+        }
+    }
+
+    private long retainUntil(final @NonNull CooldownDelta delta) {
+        final long retainUntil = delta.timestamp() + TOMBSTONE_RETENTION.toMillis();
+        if (delta.deleted()) {
+            return retainUntil;
+        }
+        return Math.max(retainUntil, delta.expiryTime());
+    }
+
+    private void pruneVersions() {
+        final long currentTime = this.clock.millis();
+        synchronized (this.versions) {
+            if (currentTime < this.nextPruneTime) {
+                return;
+            }
+            this.nextPruneTime = currentTime + TOMBSTONE_RETENTION.toMillis();
+        }
+        this.versions.values().removeIf(version -> version.retainUntil <= currentTime);
+    }
+
+    private final class ReplicatingListener implements CooldownRepositoryListener<K> {
+
+        @Override
+        public void cooldownSet(final @NonNull K key, final @NonNull CooldownGroup group, final @NonNull CooldownInstance cooldown) {
+            ReplicatedCooldownRepository.this.record(key, group, cooldown);
+        }
+
+        @Override
+        public void cooldownDeleted(final @NonNull K key, final @NonNull CooldownGroup group) {
+            ReplicatedCooldownRepository.this.record(key, group, null);
+        }
+
+        @Override
+        public void profileDeleted(final @NonNull K key, final @NonNull CooldownProfile profile) {
+            // The remaining cooldowns of the profile are deleted individually on the other nodes.
+            for (final CooldownInstance cooldown : profile.cooldowns()) {
+                ReplicatedCooldownRepository.this.record(key, cooldown.group(), null);
+            }
+        }
+    }
+
+    private static final class VersionKey {
+
+        private final String key;
+        private final String group;
+
+        private VersionKey(final @NonNull String key, final @NonNull String group) {
+            this.key = key;
+            this.group = group;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || this.getClass() != o.getClass()) {
+                return false;
+            }
+            final VersionKey that = (VersionKey) o;
+            return this.key.equals(that.key) && this.group.equals(that.group);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.key.hashCode() + this.group.hashCode();
+        }
+    }
+
+    private static final class Version {
+
+        private final long timestamp;
+        private final long nodeId;
+        private final long retainUntil;
+
+        private Version(final long timestamp, final long nodeId, final long retainUntil) {
+            this.timestamp = timestamp;
+            this.nodeId = nodeId;
+            this.retainUntil = retainUntil;
+        }
+
+        private boolean isNewerThan(final @NonNull Version other) {
+            if (this.timestamp != other.timestamp) {
+                return this.timestamp > other.timestamp;
+            }
+            return this.nodeId > other.nodeId;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.sketch;
+
+import java.time.Duration;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.immutables.value.Value;
+import org.incendo.cloud.processors.immutables.StagedImmutableBuilder;
+
+/**
+ * Approximate limit of {@link #limit()} executions per key in a sliding {@link #window()}, enforced by a
+ * {@link SketchRateLimiter} using {@link #depth()} rows of {@link #width()} counters per window.
+ *
+ * <p>The memory used by the limiter only depends on the width and the depth, no matter how many distinct keys are
+ * counted. In exchange, keys that share counters with frequently executed keys may be limited early. Keys are never
+ * limited late. See {@link #falsePositiveRate(long)} for the probability of a key being limited early.</p>
+ *
+ * @since 1.0.0
+ */
+@StagedImmutableBuilder
+@Value.Immutable
+@API(status = API.Status.STABLE, since = "1.0.0")
+public interface SketchLimit {
+
+    /**
+     * Returns a new limit using the default {@link #width()} and {@link #depth()}.
+     *
+     * @param limit  maximum number of executions per key in the window
+     * @param window length of the sliding window
+     * @return the limit
+     */
+    static @NonNull SketchLimit of(final int limit, final @NonNull Duration window) {
+        return SketchLimit.builder().limit(limit).window(window).build();
+    }
+
+    /**
+     * Returns a new limit builder.
+     *
+     * @return the builder
+     */
+    static ImmutableSketchLimit.@NonNull LimitBuildStage builder() {
+        return ImmutableSketchLimit.builder();
+    }
+
+    /**
+     * Returns the maximum number of executions per key in the sliding window.
+     *
+     * @return the limit
+     */
+    int limit();
+
+    /**
+     * Returns the length of the sliding window.
+     *
+     * @return the window
+     */
+    @NonNull Duration window();
+
+    /**
+     * Returns the number of counters per row.
+     *
+     * <p>The default value is {@code 4096}.</p>
+     *
+     * @return the width
+     */
+    default int width() {
+        return 4096;
+    }
+
+    /**
+     * Returns the number of rows, each of which uses an independent hash function.
+     *
+     * <p>The default value is {@code 4}.</p>
+     *
+     * @return the depth
+     */
+    default int depth() {
+        return 4;
+    }
+
+    /**
+     * Returns an upper bound of the probability that a key which has not been executed in the window gets limited,
+     * given that all keys combined are executed {@code executionsPerWindow} times per window.
+     *
+     * <p>The estimate of a key is the minimum of the counters it maps to. The expected number of executions of other
+     * keys that share a counter with the key is at most {@code 2 * executionsPerWindow / width} across the current
+     * and the previous window. By Markov's inequality, a single counter reaches the limit with a probability of at most
+     * {@code 2 * executionsPerWindow / (width * limit)}, and all {@code depth} counters reach it with a probability of at
+     * most that value raised to the power of {@code depth}.</p>
+     *
+     * @param executionsPerWindow number of executions of all keys combined per window
+     * @return the false positive rate
+     */
+    default double falsePositiveRate(final long executionsPerWindow) {
+        final double perRow = 2D * executionsPerWindow / ((double) this.width() * this.limit());
+        return Math.min(1D, Math.pow(perRow, this.depth()));
+    }
+
+    /**
+     * Validates the limit.
+     */
+    @Value.Check
+    default void validate() {
+        if (this.limit() < 1) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        if (this.window().toMillis() < 1L) {
+            throw new IllegalArgumentException("window must be at least one millisecond");
+        }
+        if (this.width() < 1 || this.depth() < 1 || (long) this.width() * this.depth() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("width and depth must be positive, and width * depth must fit in an int");
+        }
+    }
+}
@@ -0,0 +1,253 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.sketch;
+
+import io.leangen.geantyref.TypeToken;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.Command;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.key.CloudKey;
+
+/**
+ * Rate limiter that enforces a {@link SketchLimit} using a rotating pair of count-min sketches.
+ *
+ * <p>The limiter counts executions per key, as determined by the key extractor, rather than per sender, and never
+ * creates cooldown profiles. This makes it suitable for senders that may not be stored in a repository, such as
+ * connections that have not logged in yet. The limiter is applied to a command by the
+ * {@link org.incendo.cloud.processors.cooldown.CooldownManager#createPostprocessor() cooldown postprocessor}.</p>
+ *
+ * <p>Each window has its own sketch. The number of executions in the sliding window is estimated as
+ * {@code previous * (1 - elapsed / window) + current}, using conservative updates to reduce the overestimation.
+ * The keys are hashed using a random seed, which prevents the collisions from being predicted.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>{@code
+ * SketchRateLimiter<CommandSender> limiter = SketchRateLimiter.create(
+ *     SketchLimit.of(5, Duration.ofMinutes(1)),
+ *     context -> context.sender().address(),
+ *     (context, limit) -> context.sender().sendMessage("Slow down")
+ * );
+ * commandBuilder.apply(limiter);
+ * }</pre>
+ *
+ * @param <C> command sender type
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class SketchRateLimiter<C> implements Command.Builder.Applicable<C> {
+
+    /**
+     * Meta that adds the given limiter to the command.
+     */
+    public static final CloudKey<SketchRateLimiter<?>> META_SKETCH_LIMITER = CloudKey.of(
+            "cloud:sketch_limiter",
+            new TypeToken<SketchRateLimiter<?>>() {
+            }
+    );
+
+    private static final long PRIME = 0x100000001b3L;
+
+    /**
+     * Creates a new limiter.
+     *
+     * @param <C>          command sender type
+     * @param limit        the limit to enforce
+     * @param keyExtractor function that extracts the key to count from the context
+     * @param listener     listener that gets invoked when an execution is rejected
+     * @return the created limiter
+     */
+    public static <C> @NonNull SketchRateLimiter<C> create(
+            final @NonNull SketchLimit limit,
+            final @NonNull Function<@NonNull CommandContext<C>, @NonNull Object> keyExtractor,
+            final @NonNull SketchLimitListener<C> listener
+    ) {
+        return new SketchRateLimiter<>(
+                Objects.requireNonNull(limit, "limit"),
+                Objects.requireNonNull(keyExtractor, "keyExtractor"),
+                Objects.requireNonNull(listener, "listener")
+        );
+    }
+
+    private final SketchLimit limit;
+    private final Function<CommandContext<C>, Object> keyExtractor;
+    private final SketchLimitListener<C> listener;
+    private final long windowLength;
+    private final long seed;
+    private final AtomicReference<Window> window;
+
+    private SketchRateLimiter(
+            final @NonNull SketchLimit limit,
+            final @NonNull Function<CommandContext<C>, Object> keyExtractor,
+            final @NonNull SketchLimitListener<C> listener
+    ) {
+        this.limit = limit;
+        this.keyExtractor = keyExtractor;
+        this.listener = listener;
+        this.windowLength = limit.window().toMillis();
+        this.seed = ThreadLocalRandom.current().nextLong();
+        this.window = new AtomicReference<>(new Window(Long.MIN_VALUE, limit.width() * limit.depth(), null));
+    }
+
+    /**
+     * Returns the limit enforced by the limiter.
+     *
+     * @return the limit
+     */
+    public @NonNull SketchLimit limit() {
+        return this.limit;
+    }
+
+    /**
+     * Attempts to count an execution in the given {@code context}.
+     *
+     * <p>If the execution would exceed the limit, the listener is invoked and the execution is not counted.</p>
+     *
+     * @param context     the command context
+     * @param currentTime the current time in epoch milliseconds
+     * @return {@code true} if the execution is allowed, else {@code false}
+     */
+    public boolean tryAcquire(final @NonNull CommandContext<C> context, final long currentTime) {
+        if (this.tryAcquire(this.keyExtractor.apply(context), currentTime)) {
+            return true;
+        }
+        this.listener.sketchLimitReached(context, this.limit);
+        return false;
+    }
+
+    /**
+     * Returns the estimated number of executions of the given {@code key} in the sliding window.
+     *
+     * <p>The estimate is never lower than the actual number of executions.</p>
+     *
+     * @param key         the key
+     * @param currentTime the current time in epoch milliseconds
+     * @return the estimated number of executions
+     */
+    public double estimate(final @NonNull Object key, final long currentTime) {
+        final Window window = this.window(currentTime);
+        final long hash = this.hash(key);
+        return this.minimum(window.current, hash) + this.previousWeight(currentTime) * this.minimum(window.previous, hash);
+    }
+
+    @Override
+    public Command.@NonNull Builder<C> applyToCommandBuilder(final Command.@NonNull Builder<C> builder) {
+        return builder.meta(META_SKETCH_LIMITER, this);
+    }
+
+    private boolean tryAcquire(final @NonNull Object key, final long currentTime) {
+        final Window window = this.window(currentTime);
+        final long hash = this.hash(key);
+        final int current = this.minimum(window.current, hash);
+        final double estimate = current + this.previousWeight(currentTime) * this.minimum(window.previous, hash);
+        if (estimate >= this.limit.limit()) {
+            return false;
+        }
+        // Conservative update: only the counters that determine the estimate are incremented.
+        final int width = this.limit.width();
+        final long step = step(hash);
+        for (int row = 0; row < this.limit.depth(); row++) {
+            window.current.accumulateAndGet(row * width + column(hash, step, row, width), current + 1, Math::max);
+        }
+        return true;
+    }
+
+    private @NonNull Window window(final long currentTime) {
+        final long index = Math.floorDiv(currentTime, this.windowLength);
+        while (true) {
+            final Window window = this.window.get();
+            if (window.index >= index) {
+                // The clock may move backwards, in which case the newer window is kept.
+                return window;
+            }
+            final AtomicIntegerArray previous = window.index == index - 1L ? window.current : null;
+            final Window rotated = new Window(index, window.current.length(), previous);
+            if (this.window.compareAndSet(window, rotated)) {
+                return rotated;
+            }
+        }
+    }
+
+    private double previousWeight(final long currentTime) {
+        final long elapsed = Math.floorMod(currentTime, this.windowLength);
+        return (double) (this.windowLength - elapsed) / this.windowLength;
+    }
+
+    private int minimum(final @Nullable AtomicIntegerArray counters, final long hash) {
+        if (counters == null) {
+            return 0;
+        }
+        final int width = this.limit.width();
+        final long step = step(hash);
+        int minimum = Integer.MAX_VALUE;
+        for (int row = 0; row < this.limit.depth(); row++) {
+            minimum = Math.min(minimum, counters.get(row * width + column(hash, step, row, width)));
+        }
+        return minimum;
+    }
+
+    private long hash(final @NonNull Object key) {
+        final String value = key.toString();
+        long hash = this.seed;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static long step(final long hash) {
+        // The rows use the hashes hash + row * step, which behave like independent hash functions.
+        return mix(hash ^ 0x9E3779B97F4A7C15L) | 1L;
+    }
+
+    private static int column(final long hash, final long step, final int row, final int width) {
+        return (int) Long.remainderUnsigned(hash + row * step, width);
+    }
+
+    private static long mix(final long value) {
+        long hash = value;
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static final class Window {
+
+        private final long index;
+        private final AtomicIntegerArray current;
+        private final @Nullable AtomicIntegerArray previous;
+
+        private Window(final long index, final int size, final @Nullable AtomicIntegerArray previous) {
+            this.index = index;
+            this.current = new AtomicIntegerArray(size);
+            this.previous = previous;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.storage;
+
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Converts repository keys to and from their persistent string representation.
+ *
+ * @param <K> key type
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public interface CooldownKeyCodec<K> {
+
+    /**
+     * Returns a codec for string keys.
+     *
+     * @return the codec
+     */
+    static @NonNull CooldownKeyCodec<String> string() {
+        return of(Function.identity(), Function.identity());
+    }
+
+    /**
+     * Returns a codec for {@link UUID} keys.
+     *
+     * @return the codec
+     */
+    static @NonNull CooldownKeyCodec<UUID> uuid() {
+        return of(UUID::toString, UUID::fromString);
+    }
+
+    /**
+     * Returns a codec that uses the given functions.
+     *
+     * @param <K>     key type
+     * @param encoder function that encodes keys
+     * @param decoder function that decodes keys
+     * @return the codec
+     */
+    static <K> @NonNull CooldownKeyCodec<K> of(
+            final @NonNull Function<@NonNull K, @NonNull String> encoder,
+            final @NonNull Function<@NonNull String, @NonNull K> decoder
+    ) {
+        Objects.requireNonNull(encoder, "encoder");
+        Objects.requireNonNull(decoder, "decoder");
+        return new CooldownKeyCodec<>() {
+            @Override
+            public @NonNull String encode(final @NonNull K key) {
+                return encoder.apply(key);
+            }
+
+            @Override
+            public @NonNull K decode(final @NonNull String encoded) {
+                return decoder.apply(encoded);
+            }
+        };
+    }
+
+    /**
+     * Encodes the given {@code key}.
+     *
+     * @param key the key
+     * @return the encoded key
+     */
+    @NonNull String encode(@NonNull K key);
+
+    /**
+     * Decodes the given {@code encoded} key.
+     *
+     * @param encoded the encoded key
+     * @return the decoded key
+     */
+    @NonNull K decode(@NonNull String encoded);
+}
@@ -0,0 +1,323 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.incendo.cloud.processors.cooldown.CooldownConfiguration;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.cooldown.CooldownInstance;
+import org.incendo.cloud.processors.cooldown.CooldownRepository;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfileFactory;
+
+/**
+ * Streams the active cooldowns of a {@link CooldownRepository} to and from a compact binary snapshot, which may be used to
+ * carry the cooldowns over to a restarted or replacement server.
+ *
+ * <p>The snapshot stores every key once, followed by the group, creation time and duration of each of its cooldowns. Only
+ * cooldowns belonging to {@link CooldownGroup#named(String) named groups} are written, as the groups of other cooldowns
+ * cannot be identified by the reading server.</p>
+ *
+ * <p>Reading a snapshot builds the profiles without touching the repository, and then stores them in batches using
+ * {@link CooldownRepository#putProfiles(Map)}.</p>
+ *
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class CooldownSnapshot {
+
+    private static final int MAGIC = 0x43445358;
+    private static final byte VERSION = 1;
+    private static final byte PROFILE = 1;
+    private static final byte END = 0;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int BATCH_SIZE = 8192;
+
+    private CooldownSnapshot() {
+    }
+
+    /**
+     * Writes the cooldowns of the given {@code repository} that are active at the given {@code currentTime}
+     * to the given {@code output}.
+     *
+     * <p>The stream is flushed, but not closed.</p>
+     *
+     * <p>The keys of the repository are iterated, so {@link CooldownRepository#mapping(java.util.function.Function,
+     * CooldownRepository) mapping repositories} created without an inverse function cannot be written. Pass the
+     * repository that backs them instead.</p>
+     *
+     * @param <K>         key type
+     * @param repository  repository to snapshot, which must support {@link CooldownRepository#keys()}
+     * @param keyCodec    codec that converts keys to strings
+     * @param currentTime time used to skip expired cooldowns
+     * @param output      stream to write to
+     * @return the number of written cooldowns
+     * @throws CooldownStorageException if the snapshot cannot be written
+     */
+    public static <K> long write(
+            final @NonNull CooldownRepository<K> repository,
+            final @NonNull CooldownKeyCodec<K> keyCodec,
+            final @NonNull Instant currentTime,
+            final @NonNull OutputStream output
+    ) {
+        Objects.requireNonNull(repository, "repository");
+        Objects.requireNonNull(keyCodec, "keyCodec");
+        Objects.requireNonNull(currentTime, "currentTime");
+        Objects.requireNonNull(output, "output");
+
+        final long time = currentTime.toEpochMilli();
+        final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(output, BUFFER_SIZE));
+        final List<CooldownInstance> cooldowns = new ArrayList<>();
+        long written = 0L;
+        try {
+            data.writeInt(MAGIC);
+            data.writeByte(VERSION);
+            for (final K key : repository.keys()) {
+                final CooldownProfile profile = repository.getProfileIfExists(key);
+                if (profile == null) {
+                    continue;
+                }
+                cooldowns.clear();
+                for (final CooldownInstance cooldown : profile.cooldowns()) {
+                    if (cooldown.group() instanceof CooldownGroup.NamedCooldownGroup && expiryTime(cooldown) > time) {
+                        cooldowns.add(cooldown);
+                    }
+                }
+                if (cooldowns.isEmpty()) {
+                    continue;
+                }
+                data.writeByte(PROFILE);
+                data.writeUTF(keyCodec.encode(key));
+                writeVarLong(data, cooldowns.size());
+                for (final CooldownInstance cooldown : cooldowns) {
+                    data.writeUTF(((CooldownGroup.NamedCooldownGroup) cooldown.group()).name());
+                    data.writeLong(cooldown.creationTime().toEpochMilli());
+                    writeVarLong(data, cooldown.duration().toMillis());
+                }
+                written += cooldowns.size();
+            }
+            data.writeByte(END);
+            data.flush();
+        } catch (final IOException e) {
+            throw new CooldownStorageException("Failed to write the cooldown snapshot", e);
+        }
+        return written;
+    }
+
+    /**
+     * Writes the cooldowns of the given {@code repository} that are active at the given {@code currentTime}
+     * to the given {@code channel}.
+     *
+     * <p>The channel is not closed.</p>
+     *
+     * <p>The keys of the repository are iterated, so {@link CooldownRepository#mapping(java.util.function.Function,
+     * CooldownRepository) mapping repositories} created without an inverse function cannot be written. Pass the
+     * repository that backs them instead.</p>
+     *
+     * @param <K>         key type
+     * @param repository  repository to snapshot, which must support {@link CooldownRepository#keys()}
+     * @param keyCodec    codec that converts keys to strings
+     * @param currentTime time used to skip expired cooldowns
+     * @param channel     channel to write to
+     * @return the number of written cooldowns
+     * @throws CooldownStorageException if the snapshot cannot be written
+     */
+    public static <K> long write(
+            final @NonNull CooldownRepository<K> repository,
+            final @NonNull CooldownKeyCodec<K> keyCodec,
+            final @NonNull Instant currentTime,
+            final @NonNull WritableByteChannel channel
+    ) {
+        return write(repository, keyCodec, currentTime, Channels.newOutputStream(Objects.requireNonNull(channel, "channel")));
+    }
+
+    /**
+     * Reads a snapshot written by {@link #write(CooldownRepository, CooldownKeyCodec, Instant, OutputStream)} from the given
+     * {@code input} and stores the cooldowns that are active at the given {@code currentTime} in the given {@code repository}.
+     *
+     * <p>The stream is not closed. It is read ahead, so data following the snapshot may have been consumed.</p>
+     *
+     * <p>The cooldowns are stamped with the {@link CooldownConfiguration#generations() current generation}, as the
+     * generations of the writing server are unrelated to the current ones.</p>
+     *
+     * @param <K>            key type
+     * @param repository     repository to store the cooldowns in
+     * @param keyCodec       codec that converts strings to keys
+     * @param configuration  configuration whose profile factory creates the profiles
+     * @param currentTime    time used to skip expired cooldowns
+     * @param input          stream to read from
+     * @return the number of stored cooldowns
+     * @throws CooldownStorageException if the snapshot cannot be read
+     */
+    public static <K> long read(
+            final @NonNull CooldownRepository<K> repository,
+            final @NonNull CooldownKeyCodec<K> keyCodec,
+            final @NonNull CooldownConfiguration<?> configuration,
+            final @NonNull Instant currentTime,
+            final @NonNull InputStream input
+    ) {
+        Objects.requireNonNull(repository, "repository");
+        Objects.requireNonNull(keyCodec, "keyCodec");
+        Objects.requireNonNull(configuration, "configuration");
+        Objects.requireNonNull(currentTime, "currentTime");
+        Objects.requireNonNull(input, "input");
+
+        final long time = currentTime.toEpochMilli();
+        final CooldownProfileFactory profileFactory = configuration.profileFactory();
+        final long generation = configuration.generations().current();
+        final DataInputStream data = new DataInputStream(new BufferedInputStream(input, BUFFER_SIZE));
+        Map<K, CooldownProfile> batch = new HashMap<>();
+        long stored = 0L;
+        try {
+            if (data.readInt() != MAGIC) {
+                throw new IOException("Invalid cooldown snapshot");
+            }
+            final byte version = data.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported cooldown snapshot version " + version);
+            }
+            for (byte marker = data.readByte(); marker != END; marker = data.readByte()) {
+                if (marker != PROFILE) {
+                    throw new IOException("Invalid cooldown snapshot record " + marker);
+                }
+                final K key = keyCodec.decode(data.readUTF());
+                final CooldownProfile profile = profileFactory.create();
+                final long count = readVarLong(data);
+                for (long index = 0L; index < count; index++) {
+                    final CooldownGroup group = CooldownGroup.named(data.readUTF());
+                    final long creationTime = data.readLong();
+                    final long duration = readVarLong(data);
+                    if (saturatedAdd(creationTime, duration) <= time) {
+                        continue;
+                    }
+                    profile.setCooldown(group, CooldownInstance.builder()
+                            .profile(profile)
+                            .group(group)
+                            .duration(Duration.ofMillis(duration))
+                            .creationTime(Instant.ofEpochMilli(creationTime))
+                            .generation(generation)
+                            .build());
+                    stored++;
+                }
+                if (profile.isEmpty()) {
+                    continue;
+                }
+                batch.put(key, profile);
+                if (batch.size() >= BATCH_SIZE) {
+                    repository.putProfiles(batch);
+                    batch = new HashMap<>();
+                }
+            }
+        } catch (final IOException e) {
+            throw new CooldownStorageException("Failed to read the cooldown snapshot", e);
+        }
+        if (!batch.isEmpty()) {
+            repository.putProfiles(batch);
+        }
+        return stored;
+    }
+
+    /**
+     * Reads a snapshot written by {@link #write(CooldownRepository, CooldownKeyCodec, Instant, WritableByteChannel)} from
+     * the given {@code channel} and stores the cooldowns that are active at the given {@code currentTime} in the given
+     * {@code repository}.
+     *
+     * <p>The channel is not closed. It is read ahead, so data following the snapshot may have been consumed.</p>
+     *
+     * @param <K>            key type
+     * @param repository     repository to store the cooldowns in
+     * @param keyCodec       codec that converts strings to keys
+     * @param configuration  configuration whose profile factory creates the profiles
+     * @param currentTime    time used to skip expired cooldowns
+     * @param channel        channel to read from
+     * @return the number of stored cooldowns
+     * @throws CooldownStorageException if the snapshot cannot be read
+     */
+    public static <K> long read(
+            final @NonNull CooldownRepository<K> repository,
+            final @NonNull CooldownKeyCodec<K> keyCodec,
+            final @NonNull CooldownConfiguration<?> configuration,
+            final @NonNull Instant currentTime,
+            final @NonNull ReadableByteChannel channel
+    ) {
+        return read(
+                repository,
+                keyCodec,
+                configuration,
+                currentTime,
+                Channels.newInputStream(Objects.requireNonNull(channel, "channel"))
+        );
+    }
+
+    private static long expiryTime(final @NonNull CooldownInstance cooldown) {
+        return saturatedAdd(cooldown.creationTime().toEpochMilli(), cooldown.duration().toMillis());
+    }
+
+    private static long saturatedAdd(final long creationTime, final long duration) {
+        try {
+            return Math.addExact(creationTime, duration);
+        } catch (final ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static void writeVarLong(final @NonNull DataOutputStream output, final long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0L) {
+            output.writeByte((int) ((remaining & 0x7FL) | 0x80L));
+            remaining >>>= 7;
+        }
+        output.writeByte((int) remaining);
+    }
+
+    private static long readVarLong(final @NonNull DataInputStream input) throws IOException {
+        long value = 0L;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            final byte current = input.readByte();
+            value |= (long) (current & 0x7F) << shift;
+            if ((current & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+}
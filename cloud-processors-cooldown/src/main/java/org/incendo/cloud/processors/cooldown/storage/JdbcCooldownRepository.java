@@ -0,0 +1,450 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.storage;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.processors.cooldown.CooldownConfiguration;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.cooldown.CooldownInstance;
+import org.incendo.cloud.processors.cooldown.CooldownRepository;
+import org.incendo.cloud.processors.cooldown.listener.CooldownRepositoryListener;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfileFactory;
+
+/**
+ * Repository that persists cooldowns using JDBC.
+ *
+ * <p>Reads are served from an in-memory copy, and modifications are queued up and written to the database when
+ * {@link #flush()} is invoked. Multiple modifications of the same cooldown are coalesced into a single write, and each
+ * flush writes all queued modifications in a single transaction using batched statements. The in-memory copy is
+ * populated from the database by {@link #warmUp(CooldownConfiguration, Executor)}.</p>
+ *
+ * <p>Only cooldowns belonging to {@link CooldownGroup#named(String) named groups} are persisted, as the groups of
+ * other cooldowns cannot be identified after a restart.</p>
+ *
+ * @param <K> key type
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class JdbcCooldownRepository<K> implements CooldownRepository<K> {
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    /**
+     * Creates a new repository.
+     *
+     * <p>The table is created by {@link #createTable()}.</p>
+     *
+     * @param <K>        key type
+     * @param dataSource source of database connections
+     * @param keyCodec   codec that converts keys to strings
+     * @param table      name of the table that stores the cooldowns
+     * @return the repository
+     */
+    public static <K> @NonNull JdbcCooldownRepository<K> create(
+            final @NonNull DataSource dataSource,
+            final @NonNull CooldownKeyCodec<K> keyCodec,
+            final @NonNull String table
+    ) {
+        return create(dataSource, keyCodec, table, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a new repository.
+     *
+     * <p>The table is created by {@link #createTable()}.</p>
+     *
+     * @param <K>        key type
+     * @param dataSource source of database connections
+     * @param keyCodec   codec that converts keys to strings
+     * @param table      name of the table that stores the cooldowns
+     * @param clock      clock used to determine whether loaded cooldowns have expired
+     * @return the repository
+     */
+    public static <K> @NonNull JdbcCooldownRepository<K> create(
+            final @NonNull DataSource dataSource,
+            final @NonNull CooldownKeyCodec<K> keyCodec,
+            final @NonNull String table,
+            final @NonNull Clock clock
+    ) {
+        Objects.requireNonNull(dataSource, "dataSource");
+        Objects.requireNonNull(clock, "clock");
+        Objects.requireNonNull(keyCodec, "keyCodec");
+        if (!TABLE_NAME.matcher(Objects.requireNonNull(table, "table")).matches()) {
+            throw new IllegalArgumentException("Invalid table name: " + table);
+        }
+        return new JdbcCooldownRepository<>(dataSource, keyCodec, table, clock);
+    }
+
+    private final Map<String, PendingWrites> pending = new ConcurrentHashMap<>();
+    private final DataSource dataSource;
+    private final CooldownKeyCodec<K> keyCodec;
+    private final String table;
+    private final Clock clock;
+    private final CooldownRepository<K> repository;
+    private volatile @Nullable Thread loadingThread;
+
+    private JdbcCooldownRepository(
+            final @NonNull DataSource dataSource,
+            final @NonNull CooldownKeyCodec<K> keyCodec,
+            final @NonNull String table,
+            final @NonNull Clock clock
+    ) {
+        this.dataSource = dataSource;
+        this.keyCodec = keyCodec;
+        this.table = table;
+        this.clock = clock;
+        this.repository = CooldownRepository.observing(
+                CooldownRepository.forMap(new ConcurrentHashMap<>()),
+                new WriteBehindListener()
+        );
+    }
+
+    @Override
+    public @NonNull CooldownProfile getProfile(final @NonNull K key, final @NonNull CooldownProfileFactory profileFactory) {
+        return this.repository.getProfile(key, profileFactory);
+    }
+
+    @Override
+    public @Nullable CooldownProfile getProfileIfExists(final @NonNull K key) {
+        return this.repository.getProfileIfExists(key);
+    }
+
+    @Override
+    public void deleteProfile(final @NonNull K key) {
+        this.repository.deleteProfile(key);
+    }
+
+    @Override
+    public void deleteCooldown(final @NonNull K key, final @NonNull CooldownGroup group) {
+        this.repository.deleteCooldown(key, group);
+    }
+
+    @Override
+    public boolean deleteProfileIfEmpty(final @NonNull K key) {
+        return this.repository.deleteProfileIfEmpty(key);
+    }
+
+    @Override
+    public void putProfiles(final @NonNull Map<@NonNull K, @NonNull CooldownProfile> profiles) {
+        this.repository.putProfiles(profiles);
+    }
+
+    @Override
+    public @NonNull Collection<@NonNull K> keys() {
+        return this.repository.keys();
+    }
+
+    @Override
+    public @NonNull Iterator<@NonNull K> keyIterator() {
+        return this.repository.keyIterator();
+    }
+
+    /**
+     * Creates the table if it does not exist.
+     *
+     * @throws CooldownStorageException if the table cannot be created
+     */
+    public void createTable() {
+        try (Connection connection = this.dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("CREATE TABLE IF NOT EXISTS " + this.table + " ("
+                    + "sender_key VARCHAR(255) NOT NULL, "
+                    + "cooldown_group VARCHAR(255) NOT NULL, "
+                    + "creation_time BIGINT NOT NULL, "
+                    + "expiry_time BIGINT NOT NULL, "
+                    + "PRIMARY KEY (sender_key, cooldown_group))");
+        } catch (final SQLException e) {
+            throw new CooldownStorageException("Failed to create table " + this.table, e);
+        }
+    }
+
+    /**
+     * Asynchronously deletes the expired cooldowns from the database, and loads the remaining cooldowns into memory.
+     *
+     * <p>Cooldowns that have been created in memory before the warm-up completes take precedence over the loaded
+     * cooldowns. The loaded cooldowns are stamped with the {@link CooldownConfiguration#generations() current generation},
+     * as the generations of a previous run are unrelated to the current ones.</p>
+     *
+     * @param configuration configuration whose profile factory creates the loaded profiles
+     * @param executor      executor that performs the warm-up
+     * @return future that completes when the cooldowns have been loaded
+     */
+    public @NonNull CompletableFuture<Void> warmUp(
+            final @NonNull CooldownConfiguration<?> configuration,
+            final @NonNull Executor executor
+    ) {
+        Objects.requireNonNull(configuration, "configuration");
+        return CompletableFuture.runAsync(() -> this.load(configuration), Objects.requireNonNull(executor, "executor"));
+    }
+
+    /**
+     * Writes the queued modifications to the database in a single transaction.
+     *
+     * <p>If the write fails, the modifications are queued up again, unless they have been superseded by newer
+     * modifications.</p>
+     *
+     * @return the number of written modifications
+     * @throws CooldownStorageException if the modifications cannot be written
+     */
+    public synchronized int flush() {
+        if (this.pending.isEmpty()) {
+            return 0;
+        }
+        final Map<String, PendingWrites> batch = new HashMap<>();
+        for (final String key : this.pending.keySet()) {
+            final PendingWrites writes = this.pending.remove(key);
+            if (writes != null) {
+                writes.close();
+                batch.put(key, writes);
+            }
+        }
+
+        try {
+            return this.write(batch);
+        } catch (final SQLException e) {
+            batch.forEach((key, writes) -> this.enqueue(key, pending -> pending.mergeOlder(writes)));
+            throw new CooldownStorageException("Failed to write cooldowns to " + this.table, e);
+        }
+    }
+
+    private int write(final @NonNull Map<String, PendingWrites> batch) throws SQLException {
+        int written = 0;
+        try (Connection connection = this.dataSource.getConnection()) {
+            final boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement deleteProfiles = connection.prepareStatement(
+                    "DELETE FROM " + this.table + " WHERE sender_key = ?");
+                 PreparedStatement deleteCooldowns = connection.prepareStatement(
+                         "DELETE FROM " + this.table + " WHERE sender_key = ? AND cooldown_group = ?");
+                 PreparedStatement insertCooldowns = connection.prepareStatement(
+                         "INSERT INTO " + this.table + " (sender_key, cooldown_group, creation_time, expiry_time) VALUES (?, ?, ?, ?)")
+            ) {
+                for (final Map.Entry<String, PendingWrites> entry : batch.entrySet()) {
+                    final PendingWrites writes = entry.getValue();
+                    if (writes.deleteProfile) {
+                        deleteProfiles.setString(1, entry.getKey());
+                        deleteProfiles.addBatch();
+                        written++;
+                    }
+                    for (final Map.Entry<String, PendingCooldown> cooldown : writes.cooldowns.entrySet()) {
+                        // Portable upsert: the row is deleted before it's inserted again.
+                        deleteCooldowns.setString(1, entry.getKey());
+                        deleteCooldowns.setString(2, cooldown.getKey());
+                        deleteCooldowns.addBatch();
+                        if (cooldown.getValue() != PendingCooldown.DELETED) {
+                            insertCooldowns.setString(1, entry.getKey());
+                            insertCooldowns.setString(2, cooldown.getKey());
+                            insertCooldowns.setLong(3, cooldown.getValue().creationTime);
+                            insertCooldowns.setLong(4, cooldown.getValue().expiryTime);
+                            insertCooldowns.addBatch();
+                        }
+                        written++;
+                    }
+                }
+                // Profile deletions precede the cooldown modifications that were queued after them.
+                deleteProfiles.executeBatch();
+                deleteCooldowns.executeBatch();
+                insertCooldowns.executeBatch();
+                connection.commit();
+            } catch (final SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        return written;
+    }
+
+    private void load(final @NonNull CooldownConfiguration<?> configuration) {
+        final long currentTime = this.clock.millis();
+        this.loadingThread = Thread.currentThread();
+        try (Connection connection = this.dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "DELETE FROM " + this.table + " WHERE expiry_time <= ?")) {
+                statement.setLong(1, currentTime);
+                statement.executeUpdate();
+            }
+            try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT sender_key, cooldown_group, creation_time, expiry_time FROM " + this.table)) {
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        this.load(
+                                configuration,
+                                this.keyCodec.decode(resultSet.getString(1)),
+                                CooldownGroup.named(resultSet.getString(2)),
+                                resultSet.getLong(3),
+                                resultSet.getLong(4)
+                        );
+                    }
+                }
+            }
+        } catch (final SQLException e) {
+            throw new CooldownStorageException("Failed to load cooldowns from " + this.table, e);
+        } finally {
+            this.loadingThread = null;
+        }
+    }
+
+    private void load(
+            final @NonNull CooldownConfiguration<?> configuration,
+            final @NonNull K key,
+            final @NonNull CooldownGroup group,
+            final long creationTime,
+            final long expiryTime
+    ) {
+        final CooldownProfile profile = this.repository.getProfile(key, configuration.profileFactory());
+        profile.setCooldownIfAbsent(group, CooldownInstance.builder()
+                .profile(profile)
+                .group(group)
+                .duration(Duration.ofMillis(expiryTime - creationTime))
+                .creationTime(Instant.ofEpochMilli(creationTime))
+                .generation(configuration.generations().current())
+                .build());
+    }
+
+    private void enqueue(final @NonNull String key, final @NonNull Consumer<@NonNull PendingWrites> operation) {
+        while (true) {
+            final PendingWrites writes = this.pending.computeIfAbsent(key, k -> new PendingWrites());
+            synchronized (writes) {
+                // A closed instance has been claimed by a flush, in which case a new instance is queued.
+                if (!writes.closed) {
+                    operation.accept(writes);
+                    return;
+                }
+            }
+        }
+    }
+
+    private final class WriteBehindListener implements CooldownRepositoryListener<K> {
+
+        @Override
+        public void cooldownSet(final @NonNull K key, final @NonNull CooldownGroup group, final @NonNull CooldownInstance cooldown) {
+            if (!(group instanceof CooldownGroup.NamedCooldownGroup) || this.isLoading()) {
+                return;
+            }
+            final PendingCooldown pendingCooldown = PendingCooldown.of(cooldown);
+            final String name = ((CooldownGroup.NamedCooldownGroup) group).name();
+            JdbcCooldownRepository.this.enqueue(
+                    JdbcCooldownRepository.this.keyCodec.encode(key),
+                    writes -> writes.cooldowns.put(name, pendingCooldown)
+            );
+        }
+
+        @Override
+        public void cooldownDeleted(final @NonNull K key, final @NonNull CooldownGroup group) {
+            if (!(group instanceof CooldownGroup.NamedCooldownGroup)) {
+                return;
+            }
+            final String name = ((CooldownGroup.NamedCooldownGroup) group).name();
+            JdbcCooldownRepository.this.enqueue(
+                    JdbcCooldownRepository.this.keyCodec.encode(key),
+                    writes -> writes.cooldowns.put(name, PendingCooldown.DELETED)
+            );
+        }
+
+        @Override
+        public void profileDeleted(final @NonNull K key, final @NonNull CooldownProfile profile) {
+            JdbcCooldownRepository.this.enqueue(JdbcCooldownRepository.this.keyCodec.encode(key), writes -> {
+                writes.deleteProfile = true;
+                writes.cooldowns.clear();
+            });
+        }
+
+        private boolean isLoading() {
+            // Cooldowns that are loaded from the database do not need to be written back.
+            return JdbcCooldownRepository.this.loadingThread == Thread.currentThread();
+        }
+    }
+
+    /**
+     * Coalesced modifications of a single profile. Guarded by its own monitor until it has been closed.
+     */
+    private static final class PendingWrites {
+
+        private final Map<String, PendingCooldown> cooldowns = new HashMap<>();
+        private boolean deleteProfile;
+        private boolean closed;
+
+        private synchronized void close() {
+            this.closed = true;
+        }
+
+        private void mergeOlder(final @NonNull PendingWrites older) {
+            if (this.deleteProfile) {
+                return;
+            }
+            older.cooldowns.forEach(this.cooldowns::putIfAbsent);
+            this.deleteProfile = older.deleteProfile;
+        }
+    }
+
+    private static final class PendingCooldown {
+
+        private static final PendingCooldown DELETED = new PendingCooldown(0L, 0L);
+
+        private final long creationTime;
+        private final long expiryTime;
+
+        private PendingCooldown(final long creationTime, final long expiryTime) {
+            this.creationTime = creationTime;
+            this.expiryTime = expiryTime;
+        }
+
+        private static @NonNull PendingCooldown of(final @NonNull CooldownInstance cooldown) {
+            final long creationTime = cooldown.creationTime().toEpochMilli();
+            long expiryTime;
+            try {
+                expiryTime = Math.addExact(creationTime, cooldown.duration().toMillis());
+            } catch (final ArithmeticException e) {
+                expiryTime = Long.MAX_VALUE;
+            }
+            return new PendingCooldown(creationTime, expiryTime);
+        }
+    }
+}
@@ -0,0 +1,534 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.cooldown.storage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.zip.CRC32;
+import org.apiguardian.api.API;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.incendo.cloud.processors.cooldown.CooldownConfiguration;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.cooldown.CooldownInstance;
+import org.incendo.cloud.processors.cooldown.CooldownRepository;
+import org.incendo.cloud.processors.cooldown.listener.CooldownRepositoryListener;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfileFactory;
+
+/**
+ * Repository that makes cooldowns durable by appending every modification to a journal file.
+ *
+ * <p>Modifications are encoded as compact binary records and queued up in memory. {@link #flush()} appends all queued
+ * records using a single write, followed by a single sync, which means that the cost of syncing is shared by every
+ * modification made since the previous flush. {@link #snapshot()} writes the active cooldowns to a snapshot file and
+ * truncates the journal, which bounds the amount of work that has to be done by {@link #open(CooldownConfiguration)}.
+ * Expired cooldowns are skipped during replay.</p>
+ *
+ * <p>Only cooldowns belonging to {@link CooldownGroup#named(String) named groups} are journaled, as the groups of
+ * other cooldowns cannot be identified after a restart.</p>
+ *
+ * @param <K> key type
+ * @since 1.0.0
+ */
+@API(status = API.Status.STABLE, since = "1.0.0")
+public final class JournalCooldownRepository<K> implements CooldownRepository<K>, AutoCloseable {
+
+    private static final String JOURNAL_FILE = "cooldowns.journal";
+    private static final String SNAPSHOT_FILE = "cooldowns.snapshot";
+    private static final int SNAPSHOT_MAGIC = 0x43444e53;
+    // Every record is prefixed by its length and its CRC32 checksum.
+    private static final int RECORD_HEADER = 2 * Integer.BYTES;
+
+    private static final byte RECORD_SET = 0;
+    private static final byte RECORD_DELETE = 1;
+    private static final byte RECORD_DELETE_PROFILE = 2;
+
+    /**
+     * Creates a new journaled repository.
+     *
+     * <p>The journal has to be opened using {@link #open(CooldownConfiguration)} before the repository is used.</p>
+     *
+     * @param <K>        key type
+     * @param repository repository that stores the cooldowns in memory
+     * @param keyCodec   codec that converts keys to strings
+     * @param directory  directory that contains the journal and snapshot files
+     * @return the repository
+     */
+    public static <K> @NonNull JournalCooldownRepository<K> create(
+            final @NonNull CooldownRepository<K> repository,
+            final @NonNull CooldownKeyCodec<K> keyCodec,
+            final @NonNull Path directory
+    ) {
+        return create(repository, keyCodec, directory, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a new journaled repository.
+     *
+     * <p>The journal has to be opened using {@link #open(CooldownConfiguration)} before the repository is used.</p>
+     *
+     * @param <K>        key type
+     * @param repository repository that stores the cooldowns in memory
+     * @param keyCodec   codec that converts keys to strings
+     * @param directory  directory that contains the journal and snapshot files
+     * @param clock      clock used to skip expired cooldowns
+     * @return the repository
+     */
+    public static <K> @NonNull JournalCooldownRepository<K> create(
+            final @NonNull CooldownRepository<K> repository,
+            final @NonNull CooldownKeyCodec<K> keyCodec,
+            final @NonNull Path directory,
+            final @NonNull Clock clock
+    ) {
+        return new JournalCooldownRepository<>(
+                Objects.requireNonNull(repository, "repository"),
+                Objects.requireNonNull(keyCodec, "keyCodec"),
+                Objects.requireNonNull(directory, "directory"),
+                Objects.requireNonNull(clock, "clock")
+        );
+    }
+
+    private final Queue<byte[]> pending = new ConcurrentLinkedQueue<>();
+    private final Clock clock;
+    private final CooldownRepository<K> repository;
+    private final CooldownKeyCodec<K> keyCodec;
+    private final Path journalFile;
+    private final Path snapshotFile;
+    private @Nullable FileChannel journal;
+    private volatile @Nullable Thread replayingThread;
+
+    private JournalCooldownRepository(
+            final @NonNull CooldownRepository<K> repository,
+            final @NonNull CooldownKeyCodec<K> keyCodec,
+            final @NonNull Path directory,
+            final @NonNull Clock clock
+    ) {
+        this.repository = CooldownRepository.observing(repository, new JournalingListener());
+        this.keyCodec = keyCodec;
+        this.clock = clock;
+        this.journalFile = directory.resolve(JOURNAL_FILE);
+        this.snapshotFile = directory.resolve(SNAPSHOT_FILE);
+    }
+
+    @Override
+    public @NonNull CooldownProfile getProfile(final @NonNull K key, final @NonNull CooldownProfileFactory profileFactory) {
+        return this.repository.getProfile(key, profileFactory);
+    }
+
+    @Override
+    public @Nullable CooldownProfile getProfileIfExists(final @NonNull K key) {
+        return this.repository.getProfileIfExists(key);
+    }
+
+    @Override
+    public void deleteProfile(final @NonNull K key) {
+        this.repository.deleteProfile(key);
+    }
+
+    @Override
+    public void deleteCooldown(final @NonNull K key, final @NonNull CooldownGroup group) {
+        this.repository.deleteCooldown(key, group);
+    }
+
+    @Override
+    public boolean deleteProfileIfEmpty(final @NonNull K key) {
+        return this.repository.deleteProfileIfEmpty(key);
+    }
+
+    @Override
+    public void putProfiles(final @NonNull Map<@NonNull K, @NonNull CooldownProfile> profiles) {
+        this.repository.putProfiles(profiles);
+    }
+
+    @Override
+    public @NonNull Collection<@NonNull K> keys() {
+        return this.repository.keys();
+    }
+
+    @Override
+    public @NonNull Iterator<@NonNull K> keyIterator() {
+        return this.repository.keyIterator();
+    }
+
+    /**
+     * Replays the snapshot and the journal, and opens the journal for writing.
+     *
+     * <p>Replay stops at the first record that is incomplete, has an invalid length or does not match its checksum,
+     * such as a record that was partially written when the application crashed. The journal is truncated at that
+     * record, and the records in the snapshot that follow it are ignored.</p>
+     *
+     * <p>The replayed cooldowns are stamped with the {@link CooldownConfiguration#generations() current generation}, as
+     * the generations of a previous run are unrelated to the current ones.</p>
+     *
+     * @param configuration configuration whose profile factory creates the replayed profiles
+     * @throws CooldownStorageException if the files cannot be read or the journal cannot be opened
+     */
+    public synchronized void open(final @NonNull CooldownConfiguration<?> configuration) {
+        Objects.requireNonNull(configuration, "configuration");
+        if (this.journal != null) {
+            throw new IllegalStateException("The journal has already been opened");
+        }
+        try {
+            Files.createDirectories(this.journalFile.getParent());
+            final Map<String, Map<String, long[]>> cooldowns = new HashMap<>();
+            if (Files.exists(this.snapshotFile)) {
+                this.readSnapshot(cooldowns);
+            }
+            final FileChannel journal = FileChannel.open(
+                    this.journalFile,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE
+            );
+            final long validLength = this.readJournal(journal, cooldowns);
+            journal.truncate(validLength);
+            journal.position(validLength);
+            this.journal = journal;
+            this.apply(configuration, cooldowns);
+        } catch (final IOException e) {
+            throw new CooldownStorageException("Failed to open the cooldown journal", e);
+        }
+    }
+
+    /**
+     * Appends the queued records to the journal and syncs it to the storage device.
+     *
+     * @return the number of appended records
+     * @throws CooldownStorageException if the records cannot be written
+     */
+    public synchronized int flush() {
+        final FileChannel journal = this.journal();
+        final List<byte[]> records = new ArrayList<>();
+        int length = 0;
+        for (byte[] record = this.pending.poll(); record != null; record = this.pending.poll()) {
+            records.add(record);
+            length += RECORD_HEADER + record.length;
+        }
+        if (records.isEmpty()) {
+            return 0;
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        for (final byte[] bytes : records) {
+            buffer.putInt(bytes.length).putInt(checksum(bytes)).put(bytes);
+        }
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                journal.write(buffer);
+            }
+            journal.force(false);
+        } catch (final IOException e) {
+            throw new CooldownStorageException("Failed to append to the cooldown journal", e);
+        }
+        return records.size();
+    }
+
+    /**
+     * Writes the active cooldowns to the snapshot file, and truncates the journal.
+     *
+     * @throws CooldownStorageException if the snapshot cannot be written
+     */
+    public synchronized void snapshot() {
+        final FileChannel journal = this.journal();
+        // Records queued while the snapshot is being written are appended to the truncated journal, which is harmless
+        // as replaying them is idempotent.
+        this.flush();
+
+        final long currentTime = this.clock.millis();
+        final Path temporaryFile = this.snapshotFile.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+            output.writeInt(SNAPSHOT_MAGIC);
+            for (final K key : this.repository.keys()) {
+                final CooldownProfile profile = this.repository.getProfileIfExists(key);
+                if (profile == null) {
+                    continue;
+                }
+                for (final CooldownInstance cooldown : profile.cooldowns()) {
+                    final byte[] record = this.setRecord(key, cooldown);
+                    if (record != null && readExpiryTime(record) > currentTime) {
+                        output.writeInt(record.length);
+                        output.writeInt(checksum(record));
+                        output.write(record);
+                    }
+                }
+            }
+            output.flush();
+        } catch (final IOException e) {
+            throw new CooldownStorageException("Failed to write the cooldown snapshot", e);
+        }
+
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE)) {
+            channel.force(true);
+            Files.move(temporaryFile, this.snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            journal.truncate(0L);
+            journal.position(0L);
+            journal.force(true);
+        } catch (final IOException e) {
+            throw new CooldownStorageException("Failed to replace the cooldown snapshot", e);
+        }
+    }
+
+    /**
+     * Flushes the queued records and closes the journal.
+     *
+     * @throws CooldownStorageException if the records cannot be written
+     */
+    @Override
+    public synchronized void close() {
+        if (this.journal == null) {
+            return;
+        }
+        this.flush();
+        try {
+            this.journal.close();
+        } catch (final IOException e) {
+            throw new CooldownStorageException("Failed to close the cooldown journal", e);
+        } finally {
+            this.journal = null;
+        }
+    }
+
+    private @NonNull FileChannel journal() {
+        if (this.journal == null) {
+            throw new IllegalStateException("The journal has not been opened");
+        }
+        return this.journal;
+    }
+
+    private void readSnapshot(final @NonNull Map<String, Map<String, long[]>> cooldowns) throws IOException {
+        final long length = Files.size(this.snapshotFile);
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.snapshotFile)))) {
+            if (length < Integer.BYTES || input.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Invalid cooldown snapshot " + this.snapshotFile);
+            }
+            readRecords(input, length - Integer.BYTES, cooldowns);
+        }
+    }
+
+    private long readJournal(
+            final @NonNull FileChannel journal,
+            final @NonNull Map<String, Map<String, long[]>> cooldowns
+    ) throws IOException {
+        // The stream is not closed, as that would close the channel.
+        final InputStream stream = new BufferedInputStream(Channels.newInputStream(journal.position(0L)));
+        return readRecords(new DataInputStream(stream), journal.size(), cooldowns);
+    }
+
+    // Replays the records until the first invalid record, and returns the number of bytes occupied by the valid records.
+    private static long readRecords(
+            final @NonNull DataInputStream input,
+            final long length,
+            final @NonNull Map<String, Map<String, long[]>> cooldowns
+    ) throws IOException {
+        long validLength = 0L;
+        try {
+            while (length - validLength >= RECORD_HEADER) {
+                final int recordLength = input.readInt();
+                final int recordChecksum = input.readInt();
+                // The length is bounded by the remaining bytes, so that a corrupted length cannot cause a huge allocation.
+                if (recordLength <= 0 || recordLength > length - validLength - RECORD_HEADER) {
+                    break;
+                }
+                final byte[] record = new byte[recordLength];
+                input.readFully(record);
+                if (checksum(record) != recordChecksum || !replay(record, cooldowns)) {
+                    break;
+                }
+                validLength += RECORD_HEADER + recordLength;
+            }
+        } catch (final EOFException ignored) {
+            // The file was shorter than expected, which is handled like any other invalid record.
+        }
+        return validLength;
+    }
+
+    private static int checksum(final byte @NonNull [] record) {
+        final CRC32 checksum = new CRC32();
+        checksum.update(record, 0, record.length);
+        return (int) checksum.getValue();
+    }
+
+    private void apply(
+            final @NonNull CooldownConfiguration<?> configuration,
+            final @NonNull Map<String, Map<String, long[]>> cooldowns
+    ) {
+        final long currentTime = this.clock.millis();
+        final CooldownProfileFactory profileFactory = configuration.profileFactory();
+        final long generation = configuration.generations().current();
+        this.replayingThread = Thread.currentThread();
+        try {
+            cooldowns.forEach((encodedKey, groups) -> groups.forEach((name, times) -> {
+                if (times[1] <= currentTime) {
+                    return;
+                }
+                final CooldownGroup group = CooldownGroup.named(name);
+                final CooldownProfile profile = this.repository.getProfile(this.keyCodec.decode(encodedKey), profileFactory);
+                profile.setCooldown(group, CooldownInstance.builder()
+                        .profile(profile)
+                        .group(group)
+                        .duration(Duration.ofMillis(times[1] - times[0]))
+                        .creationTime(Instant.ofEpochMilli(times[0]))
+                        .generation(generation)
+                        .build());
+            }));
+        } finally {
+            this.replayingThread = null;
+        }
+    }
+
+    private static boolean replay(final byte @NonNull [] record, final @NonNull Map<String, Map<String, long[]>> cooldowns) {
+        // The record is decoded completely before the cooldowns are modified, so that a malformed record has no effect.
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(record))) {
+            final byte type = input.readByte();
+            final String key = input.readUTF();
+            switch (type) {
+                case RECORD_SET:
+                    final String group = input.readUTF();
+                    final long[] times = {input.readLong(), input.readLong()};
+                    cooldowns.computeIfAbsent(key, k -> new HashMap<>()).put(group, times);
+                    return true;
+                case RECORD_DELETE:
+                    final String deletedGroup = input.readUTF();
+                    final Map<String, long[]> groups = cooldowns.get(key);
+                    if (groups != null) {
+                        groups.remove(deletedGroup);
+                    }
+                    return true;
+                case RECORD_DELETE_PROFILE:
+                    cooldowns.remove(key);
+                    return true;
+                default:
+                    return false;
+            }
+        } catch (final IOException e) {
+            return false;
+        }
+    }
+
+    private static long readExpiryTime(final byte @NonNull [] setRecord) {
+        return ByteBuffer.wrap(setRecord, setRecord.length - Long.BYTES, Long.BYTES).getLong();
+    }
+
+    private byte @Nullable [] setRecord(final @NonNull K key, final @NonNull CooldownInstance cooldown) {
+        if (!(cooldown.group() instanceof CooldownGroup.NamedCooldownGroup)) {
+            return null;
+        }
+        final long creationTime = cooldown.creationTime().toEpochMilli();
+        long expiryTime;
+        try {
+            expiryTime = Math.addExact(creationTime, cooldown.duration().toMillis());
+        } catch (final ArithmeticException e) {
+            expiryTime = Long.MAX_VALUE;
+        }
+        return this.record(RECORD_SET, key, cooldown.group(), creationTime, expiryTime);
+    }
+
+    private byte @NonNull [] record(
+            final byte type,
+            final @NonNull K key,
+            final @Nullable CooldownGroup group,
+            final long creationTime,
+            final long expiryTime
+    ) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeByte(type);
+            output.writeUTF(this.keyCodec.encode(key));
+            if (group != null) {
+                output.writeUTF(((CooldownGroup.NamedCooldownGroup) group).name());
+            }
+            if (type == RECORD_SET) {
+                output.writeLong(creationTime);
+                output.writeLong(expiryTime);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private final class JournalingListener implements CooldownRepositoryListener<K> {
+
+        @Override
+        public void cooldownSet(final @NonNull K key, final @NonNull CooldownGroup group, final @NonNull CooldownInstance cooldown) {
+            if (this.isReplaying()) {
+                return;
+            }
+            final byte[] record = JournalCooldownRepository.this.setRecord(key, cooldown);
+            if (record != null) {
+                JournalCooldownRepository.this.pending.add(record);
+            }
+        }
+
+        @Override
+        public void cooldownDeleted(final @NonNull K key, final @NonNull CooldownGroup group) {
+            if (!(group instanceof CooldownGroup.NamedCooldownGroup) || this.isReplaying()) {
+                return;
+            }
+            JournalCooldownRepository.this.pending.add(JournalCooldownRepository.this.record(RECORD_DELETE, key, group, 0L, 0L));
+        }
+
+        @Override
+        public void profileDeleted(final @NonNull K key, final @NonNull CooldownProfile profile) {
+            if (this.isReplaying()) {
+                return;
+            }
+            JournalCooldownRepository.this.pending.add(JournalCooldownRepository.this.record(RECORD_DELETE_PROFILE, key, null, 0L, 0L));
+        }
+
+        private boolean isReplaying() {
+            // Replayed cooldowns are already stored in the journal or the snapshot.
+            return JournalCooldownRepository.this.replayingThread == Thread.currentThread();
+        }
+    }
+}
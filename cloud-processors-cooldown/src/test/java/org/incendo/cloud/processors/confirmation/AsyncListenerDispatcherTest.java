@@ -0,0 +1,180 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.confirmation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongConsumer;
+import org.incendo.cloud.Command;
+import org.incendo.cloud.processors.confirmation.util.TestCommandManager;
+import org.incendo.cloud.processors.confirmation.util.TestCommandSender;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.cooldown.CooldownInstance;
+import org.incendo.cloud.processors.cooldown.listener.AsyncListenerDispatcher;
+import org.incendo.cloud.processors.cooldown.listener.CooldownActiveListener;
+import org.incendo.cloud.processors.cooldown.listener.CooldownCreationListener;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncListenerDispatcherTest {
+
+    @Mock
+    private TestCommandSender sender;
+    @Mock
+    private CooldownProfile profile;
+    @Mock
+    private CooldownActiveListener<TestCommandSender> activeListener;
+    @Mock
+    private CooldownCreationListener<TestCommandSender> creationListener;
+    @Mock
+    private LongConsumer dropReporter;
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private Command<TestCommandSender> command;
+
+    @BeforeEach
+    void setup() {
+        this.command = new TestCommandManager().commandBuilder("command").build();
+    }
+
+    @Test
+    void testDispatchesOnExecutor() {
+        // Arrange
+        final AsyncListenerDispatcher<TestCommandSender> dispatcher = this.dispatcher(16);
+        final CooldownInstance instance = this.instance(CooldownGroup.named("foo"));
+
+        // Act
+        dispatcher.creation(this.creationListener).cooldownCreated(this.sender, this.command, instance);
+
+        // Assert
+        verify(this.creationListener, never()).cooldownCreated(any(), any(), any());
+        assertThat(dispatcher.pendingEvents()).isEqualTo(1);
+        this.runTasks();
+        verify(this.creationListener).cooldownCreated(this.sender, this.command, instance);
+        assertThat(dispatcher.pendingEvents()).isEqualTo(0);
+    }
+
+    @Test
+    void testCoalescesEventsForSameSenderAndGroup() {
+        // Arrange
+        final AsyncListenerDispatcher<TestCommandSender> dispatcher = this.dispatcher(16);
+        final CooldownActiveListener<TestCommandSender> listener = dispatcher.active(this.activeListener);
+        final CooldownInstance instance = this.instance(CooldownGroup.named("foo"));
+
+        // Act
+        listener.cooldownActive(this.sender, this.command, instance, Duration.ofSeconds(3L));
+        listener.cooldownActive(this.sender, this.command, instance, Duration.ofSeconds(2L));
+        listener.cooldownActive(this.sender, this.command, instance, Duration.ofSeconds(1L));
+        this.runTasks();
+
+        // Assert
+        verify(this.activeListener, times(1)).cooldownActive(any(), any(), any(), any());
+        verify(this.activeListener).cooldownActive(this.sender, this.command, instance, Duration.ofSeconds(1L));
+    }
+
+    @Test
+    void testReportsDroppedEvents() {
+        // Arrange
+        final AsyncListenerDispatcher<TestCommandSender> dispatcher = this.dispatcher(1);
+        final CooldownActiveListener<TestCommandSender> listener = dispatcher.active(this.activeListener);
+        final CooldownInstance first = this.instance(CooldownGroup.named("foo"));
+        final CooldownInstance second = this.instance(CooldownGroup.named("bar"));
+
+        // Act
+        listener.cooldownActive(this.sender, this.command, first, Duration.ofSeconds(1L));
+        listener.cooldownActive(this.sender, this.command, second, Duration.ofSeconds(1L));
+        this.runTasks();
+
+        // Assert
+        verify(this.activeListener, times(1)).cooldownActive(any(), any(), any(), any());
+        verify(this.dropReporter).accept(1L);
+        assertThat(dispatcher.droppedEvents()).isEqualTo(1L);
+    }
+
+    @Test
+    void testDropsEventsRejectedByExecutor() {
+        // Arrange
+        final AtomicBoolean rejecting = new AtomicBoolean(true);
+        final AsyncListenerDispatcher<TestCommandSender> dispatcher = AsyncListenerDispatcher.create(
+                task -> {
+                    if (rejecting.get()) {
+                        throw new RejectedExecutionException();
+                    }
+                    this.tasks.add(task);
+                },
+                16,
+                this.dropReporter
+        );
+        final CooldownActiveListener<TestCommandSender> listener = dispatcher.active(this.activeListener);
+        final CooldownInstance first = this.instance(CooldownGroup.named("foo"));
+        final CooldownInstance second = this.instance(CooldownGroup.named("bar"));
+        listener.cooldownActive(this.sender, this.command, first, Duration.ofSeconds(1L));
+        rejecting.set(false);
+
+        // Act
+        listener.cooldownActive(this.sender, this.command, second, Duration.ofSeconds(1L));
+        this.runTasks();
+
+        // Assert
+        verify(this.activeListener).cooldownActive(this.sender, this.command, second, Duration.ofSeconds(1L));
+        verify(this.activeListener, times(1)).cooldownActive(any(), any(), any(), any());
+        verify(this.dropReporter).accept(1L);
+        assertThat(dispatcher.droppedEvents()).isEqualTo(1L);
+        assertThat(dispatcher.pendingEvents()).isEqualTo(0);
+    }
+
+    private AsyncListenerDispatcher<TestCommandSender> dispatcher(final int capacity) {
+        return AsyncListenerDispatcher.create(this.tasks::add, capacity, this.dropReporter);
+    }
+
+    private void runTasks() {
+        for (Runnable task = this.tasks.poll(); task != null; task = this.tasks.poll()) {
+            task.run();
+        }
+    }
+
+    private CooldownInstance instance(final CooldownGroup group) {
+        return CooldownInstance.builder()
+                .profile(this.profile)
+                .group(group)
+                .duration(Duration.ofMinutes(1L))
+                .creationTime(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,146 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.confirmation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.processors.confirmation.util.TestCommandSender;
+import org.incendo.cloud.processors.cooldown.CachingDurationFunction;
+import org.incendo.cloud.processors.cooldown.DurationFunction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingDurationFunctionTest {
+
+    private static final Duration DURATION = Duration.ofMinutes(1L);
+
+    @Mock
+    private TestCommandSender commandSender;
+    @Mock
+    private CommandContext<TestCommandSender> context;
+    @Mock
+    private DurationFunction<TestCommandSender> function;
+    @Mock
+    private Clock clock;
+
+    @Test
+    void testCachesPerSenderUntilExpired() {
+        // Arrange
+        final CachingDurationFunction<TestCommandSender> cachingFunction =
+                CachingDurationFunction.bySender(this.function, Duration.ofSeconds(1L), this.clock);
+        when(this.context.sender()).thenReturn(this.commandSender);
+        when(this.clock.millis()).thenReturn(0L, 500L, 2000L);
+        when(this.function.getDuration(this.context)).thenReturn(DURATION);
+
+        // Act
+        cachingFunction.getDuration(this.context);
+        cachingFunction.getDuration(this.context);
+        final Duration duration = cachingFunction.getDuration(this.context);
+
+        // Assert
+        assertThat(duration).isEqualTo(DURATION);
+        verify(this.function, times(2)).getDuration(this.context);
+    }
+
+    @Test
+    void testInvalidate() {
+        // Arrange
+        final CachingDurationFunction<TestCommandSender> cachingFunction =
+                CachingDurationFunction.bySender(this.function, Duration.ofSeconds(1L), this.clock);
+        when(this.context.sender()).thenReturn(this.commandSender);
+        when(this.clock.millis()).thenReturn(0L);
+        when(this.function.getDuration(this.context)).thenReturn(DURATION);
+        cachingFunction.getDuration(this.context);
+
+        // Act
+        cachingFunction.invalidate(this.commandSender);
+        cachingFunction.getDuration(this.context);
+
+        // Assert
+        verify(this.function, times(2)).getDuration(this.context);
+    }
+
+    @Test
+    void testCachesPerArgumentValues() {
+        // Arrange
+        final CachingDurationFunction<TestCommandSender> cachingFunction =
+                CachingDurationFunction.bySenderAndArguments(this.function, Duration.ofSeconds(1L), this.clock, "target");
+        when(this.context.sender()).thenReturn(this.commandSender);
+        when(this.context.<String>optional("target")).thenReturn(Optional.of("a"), Optional.of("b"), Optional.of("a"));
+        when(this.clock.millis()).thenReturn(0L);
+        when(this.function.getDuration(this.context)).thenReturn(DURATION);
+
+        // Act
+        cachingFunction.getDuration(this.context);
+        cachingFunction.getDuration(this.context);
+        cachingFunction.getDuration(this.context);
+
+        // Assert
+        verify(this.function, times(2)).getDuration(this.context);
+    }
+
+    @Test
+    void testEvictsExpiredArgumentValues() {
+        // Arrange
+        final CachingDurationFunction<TestCommandSender> cachingFunction =
+                CachingDurationFunction.bySenderAndArguments(this.function, Duration.ofSeconds(1L), this.clock, "target");
+        when(this.context.sender()).thenReturn(this.commandSender);
+        when(this.context.<String>optional("target")).thenReturn(Optional.of("a"), Optional.of("b"), Optional.of("c"));
+        when(this.clock.millis()).thenReturn(0L, 500L, 2000L);
+        when(this.function.getDuration(this.context)).thenReturn(DURATION);
+        cachingFunction.getDuration(this.context);
+        cachingFunction.getDuration(this.context);
+
+        // Act
+        cachingFunction.getDuration(this.context);
+
+        // Assert
+        assertThat(cachingFunction.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testConstantSkipsEvaluation() {
+        // Arrange
+        final CachingDurationFunction<TestCommandSender> cachingFunction =
+                CachingDurationFunction.bySender(DurationFunction.constant(DURATION), Duration.ofSeconds(1L), this.clock);
+
+        // Act
+        final Duration duration = cachingFunction.getDuration(this.context);
+
+        // Assert
+        assertThat(duration).isEqualTo(DURATION);
+        verifyNoInteractions(this.clock, this.context);
+    }
+}
@@ -0,0 +1,221 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.confirmation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import org.incendo.cloud.processors.cooldown.CooldownConfiguration;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.cooldown.CooldownInstance;
+import org.incendo.cloud.processors.cooldown.CooldownRepository;
+import org.incendo.cloud.processors.cooldown.profile.CompactCooldownProfileFactory;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CompactCooldownProfileTest {
+
+    private static final Instant NOW = Instant.ofEpochSecond(1000L, 123L);
+
+    @Mock
+    private Clock clock;
+
+    private CooldownProfile profile;
+
+    @BeforeEach
+    void setup() {
+        final CooldownConfiguration<String> configuration = CooldownConfiguration.<String>builder()
+                .repository(CooldownRepository.forMap(new HashMap<>()))
+                .clock(this.clock)
+                .build();
+        this.profile = new CompactCooldownProfileFactory(configuration, 2).create();
+        when(this.clock.instant()).thenReturn(NOW);
+    }
+
+    @Test
+    void testStoresCooldown() {
+        // Arrange
+        final CooldownGroup group = CooldownGroup.named("foo");
+
+        // Act
+        this.addCooldown(group, NOW);
+
+        // Assert
+        final CooldownInstance cooldown = this.profile.getCooldown(group);
+        assertThat(cooldown).isNotNull();
+        assertThat(cooldown.group()).isEqualTo(group);
+        assertThat(cooldown.creationTime()).isEqualTo(NOW);
+        assertThat(cooldown.duration()).isEqualTo(Duration.ofSeconds(10L));
+    }
+
+    @Test
+    void testReturnsStoredInstance() {
+        // Arrange
+        final CooldownGroup group = CooldownGroup.named("foo");
+        final CooldownInstance stored = CooldownInstance.builder()
+                .profile(this.profile)
+                .group(group)
+                .duration(Duration.ofSeconds(10L))
+                .creationTime(NOW)
+                .build();
+        this.profile.setCooldown(group, stored);
+
+        // Act
+        final CooldownInstance cooldown = this.profile.getCooldown(group);
+
+        // Assert
+        assertThat(cooldown).isSameInstanceAs(stored);
+        assertThat(this.profile.cooldowns()).containsExactly(stored);
+    }
+
+    @Test
+    void testRemovesExpiredCooldown() {
+        // Arrange
+        final CooldownGroup group = CooldownGroup.named("foo");
+        this.addCooldown(group, NOW.minusSeconds(20L));
+
+        // Act
+        final CooldownInstance cooldown = this.profile.getCooldown(group);
+
+        // Assert
+        assertThat(cooldown).isNull();
+        assertThat(this.profile.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testPromotesAndShrinks() {
+        // Arrange
+        for (int i = 0; i < 4; i++) {
+            this.addCooldown(CooldownGroup.named("group-" + i), NOW);
+        }
+
+        // Act
+        for (int i = 1; i < 4; i++) {
+            this.profile.deleteCooldown(CooldownGroup.named("group-" + i));
+        }
+
+        // Assert
+        assertThat(this.profile.cooldowns()).hasSize(1);
+        assertThat(this.profile.getCooldown(CooldownGroup.named("group-0"))).isNotNull();
+    }
+
+    @Test
+    void testDeleteExpiredCooldowns() {
+        // Arrange
+        this.addCooldown(CooldownGroup.named("expired"), NOW.minusSeconds(20L));
+        this.addCooldown(CooldownGroup.named("active"), NOW);
+
+        // Act
+        final int deleted = this.profile.deleteExpiredCooldowns().size();
+
+        // Assert
+        assertThat(deleted).isEqualTo(1);
+        assertThat(this.profile.cooldowns()).hasSize(1);
+    }
+
+    @Test
+    void testMarksDeletedOnlyIfEmpty() {
+        // Arrange
+        this.addCooldown(CooldownGroup.named("expired"), NOW.minusSeconds(20L));
+
+        // Act
+        final boolean markedWhileStored = this.profile.markDeletedIfEmpty();
+        this.profile.deleteExpiredCooldowns();
+        final boolean markedWhileEmpty = this.profile.markDeletedIfEmpty();
+
+        // Assert
+        assertThat(markedWhileStored).isFalse();
+        assertThat(markedWhileEmpty).isTrue();
+        assertThat(this.profile.isDeleted()).isTrue();
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedArgumentGroup() {
+        // Arrange
+        final CooldownConfiguration<String> configuration = CooldownConfiguration.<String>builder()
+                .repository(CooldownRepository.forMap(new HashMap<>()))
+                .clock(this.clock)
+                .maxArgumentGroups(2)
+                .build();
+        this.profile = new CompactCooldownProfileFactory(configuration, 2).create();
+        final CooldownGroup parent = CooldownGroup.named("tpa");
+        this.addCooldown(parent, NOW);
+        this.addCooldown(CooldownGroup.argument(parent, 1L), NOW);
+        this.addCooldown(CooldownGroup.argument(parent, 2L), NOW);
+        this.profile.getCooldown(CooldownGroup.argument(parent, 1L));
+
+        // Act
+        this.addCooldown(CooldownGroup.argument(parent, 3L), NOW);
+
+        // Assert
+        assertThat(this.profile.cooldowns()).hasSize(3);
+        assertThat(this.profile.getCooldown(parent)).isNotNull();
+        assertThat(this.profile.getCooldown(CooldownGroup.argument(parent, 1L))).isNotNull();
+        assertThat(this.profile.getCooldown(CooldownGroup.argument(parent, 2L))).isNull();
+        assertThat(this.profile.getCooldown(CooldownGroup.argument(parent, 3L))).isNotNull();
+    }
+
+    @Test
+    void testEvictsExpiredArgumentGroupBeforeActiveOnes() {
+        // Arrange
+        final CooldownConfiguration<String> configuration = CooldownConfiguration.<String>builder()
+                .repository(CooldownRepository.forMap(new HashMap<>()))
+                .clock(this.clock)
+                .maxArgumentGroups(2)
+                .build();
+        this.profile = new CompactCooldownProfileFactory(configuration, 4).create();
+        final CooldownGroup parent = CooldownGroup.named("tpa");
+        this.addCooldown(CooldownGroup.argument(parent, 1L), NOW);
+        this.addCooldown(CooldownGroup.argument(parent, 2L), NOW.minusSeconds(20L));
+
+        // Act
+        this.addCooldown(CooldownGroup.argument(parent, 3L), NOW);
+
+        // Assert
+        assertThat(this.profile.cooldowns()).hasSize(2);
+        assertThat(this.profile.getCooldown(CooldownGroup.argument(parent, 1L))).isNotNull();
+        assertThat(this.profile.getCooldown(CooldownGroup.argument(parent, 3L))).isNotNull();
+    }
+
+    private void addCooldown(final CooldownGroup group, final Instant creationTime) {
+        this.profile.setCooldown(
+                group,
+                CooldownInstance.builder()
+                        .profile(this.profile)
+                        .group(group)
+                        .duration(Duration.ofSeconds(10L))
+                        .creationTime(creationTime)
+                        .build()
+        );
+    }
+}
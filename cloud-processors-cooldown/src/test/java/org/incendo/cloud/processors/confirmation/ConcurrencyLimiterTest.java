@@ -0,0 +1,169 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.confirmation;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.execution.CommandExecutionHandler;
+import org.incendo.cloud.processors.confirmation.util.TestCommandSender;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.cooldown.concurrency.ConcurrencyLimit;
+import org.incendo.cloud.processors.cooldown.concurrency.ConcurrencyLimitListener;
+import org.incendo.cloud.processors.cooldown.concurrency.ConcurrencyLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimiterTest {
+
+    @Mock
+    private ConcurrencyLimitListener<TestCommandSender> listener;
+    @Mock
+    private CommandContext<TestCommandSender> context;
+
+    private ConcurrencyLimiter<TestCommandSender> limiter;
+    private CompletableFuture<Void> pending;
+    private int executions;
+
+    @BeforeEach
+    void setup() {
+        this.limiter = ConcurrencyLimiter.concurrencyLimiter(this.listener);
+        this.pending = new CompletableFuture<>();
+        this.executions = 0;
+    }
+
+    @Test
+    void testRejectsWhenLimitReached() {
+        // Arrange
+        final ConcurrencyLimit limit = ConcurrencyLimit.of(1);
+        final CommandExecutionHandler<TestCommandSender> handler = this.limiter.limit(limit, this.pendingHandler());
+        handler.executeFuture(this.context);
+
+        // Act
+        final CompletableFuture<Void> result = handler.executeFuture(this.context);
+
+        // Assert
+        assertThat(result.isDone()).isTrue();
+        assertThat(this.executions).isEqualTo(1);
+        verify(this.listener).concurrencyLimitReached(this.context, limit);
+    }
+
+    @Test
+    void testReleasesPermitOnCompletion() {
+        // Arrange
+        final CommandExecutionHandler<TestCommandSender> handler = this.limiter.limit(ConcurrencyLimit.of(1), this.pendingHandler());
+        handler.executeFuture(this.context);
+
+        // Act
+        this.pending.complete(null);
+        handler.executeFuture(this.context);
+
+        // Assert
+        assertThat(this.executions).isEqualTo(2);
+        verify(this.listener, never()).concurrencyLimitReached(any(), any());
+    }
+
+    @Test
+    void testGroupSharesPermits() {
+        // Arrange
+        final ConcurrencyLimit limit = ConcurrencyLimit.of(1, CooldownGroup.named("reports"));
+        this.limiter.limit(limit, this.pendingHandler()).executeFuture(this.context);
+
+        // Act
+        this.limiter.limit(limit, this.pendingHandler()).executeFuture(this.context);
+
+        // Assert
+        assertThat(this.executions).isEqualTo(1);
+        verify(this.listener).concurrencyLimitReached(this.context, limit);
+    }
+
+    @Test
+    void testQueuedExecutionRunsWhenPermitIsReleased() {
+        // Arrange
+        final BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+        final ConcurrencyLimit limit = ConcurrencyLimit.builder()
+                .permits(1)
+                .maxWait(Duration.ofMinutes(1L))
+                .executor(tasks::add)
+                .build();
+        final CommandExecutionHandler<TestCommandSender> handler = this.limiter.limit(limit, this.pendingHandler());
+        handler.executeFuture(this.context);
+        final CompletableFuture<Void> queued = handler.executeFuture(this.context);
+
+        // Act
+        this.pending.complete(null);
+        final int executionsOnRelease = this.executions;
+        tasks.remove().run();
+
+        // Assert
+        assertThat(executionsOnRelease).isEqualTo(1);
+        assertThat(queued.isDone()).isTrue();
+        assertThat(this.executions).isEqualTo(2);
+        verify(this.listener, never()).concurrencyLimitReached(any(), eq(limit));
+    }
+
+    @Test
+    void testRejectsQueuedExecutionOnExecutorAfterTimeout() throws InterruptedException {
+        // Arrange
+        final BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+        final ConcurrencyLimit limit = ConcurrencyLimit.builder()
+                .permits(1)
+                .maxWait(Duration.ofMillis(1L))
+                .executor(tasks::add)
+                .build();
+        final CommandExecutionHandler<TestCommandSender> handler = this.limiter.limit(limit, this.pendingHandler());
+        handler.executeFuture(this.context);
+        final CompletableFuture<Void> queued = handler.executeFuture(this.context);
+
+        // Act
+        final Runnable rejection = tasks.poll(5L, TimeUnit.SECONDS);
+        verify(this.listener, never()).concurrencyLimitReached(any(), any());
+        rejection.run();
+
+        // Assert
+        assertThat(queued.isDone()).isTrue();
+        assertThat(this.executions).isEqualTo(1);
+        verify(this.listener).concurrencyLimitReached(this.context, limit);
+    }
+
+    private CommandExecutionHandler.FutureCommandExecutionHandler<TestCommandSender> pendingHandler() {
+        return context -> {
+            this.executions++;
+            return this.pending;
+        };
+    }
+}
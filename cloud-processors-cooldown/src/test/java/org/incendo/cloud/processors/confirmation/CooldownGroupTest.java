@@ -0,0 +1,111 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.confirmation;
+
+import java.util.Map;
+import org.incendo.cloud.Command;
+import org.incendo.cloud.CommandManager;
+import org.incendo.cloud.processors.confirmation.util.TestCommandManager;
+import org.incendo.cloud.processors.confirmation.util.TestCommandSender;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.cooldown.CooldownHierarchy;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CooldownGroupTest {
+
+    @Test
+    void testNamedGroupsAreInterned() {
+        // Act
+        final CooldownGroup first = CooldownGroup.named("group");
+        final CooldownGroup second = CooldownGroup.named(new String("group"));
+
+        // Assert
+        assertThat(first).isSameInstanceAs(second);
+        assertThat(first).isNotEqualTo(CooldownGroup.named("other"));
+    }
+
+    @Test
+    void testCommandGroupsAreInterned() {
+        // Arrange
+        final CommandManager<TestCommandSender> commandManager = new TestCommandManager();
+        final Command<TestCommandSender> command = commandManager.commandBuilder("command").build();
+        final Command<TestCommandSender> otherCommand = commandManager.commandBuilder("command").build();
+
+        // Act
+        final CooldownGroup first = CooldownGroup.command(command);
+        final CooldownGroup second = CooldownGroup.command(command);
+
+        // Assert
+        assertThat(first).isSameInstanceAs(second);
+        assertThat(first).isNotEqualTo(CooldownGroup.command(otherCommand));
+    }
+
+    @Test
+    void testArgumentGroupsUseValueEquality() {
+        // Arrange
+        final CooldownGroup parent = CooldownGroup.named("tpa");
+
+        // Act
+        final CooldownGroup first = CooldownGroup.argument(parent, 42L);
+        final CooldownGroup second = CooldownGroup.argument(parent, 42L);
+
+        // Assert
+        assertThat(first).isEqualTo(second);
+        assertThat(first.hashCode()).isEqualTo(second.hashCode());
+        assertThat(first).isNotEqualTo(CooldownGroup.argument(parent, 43L));
+        assertThat(first).isNotEqualTo(CooldownGroup.argument(CooldownGroup.named("pay"), 42L));
+    }
+
+    @Test
+    void testAncestorChain() {
+        // Arrange
+        final CooldownGroup root = CooldownGroup.named("ancestors-root");
+        final CooldownGroup parent = CooldownGroup.named("ancestors-parent");
+        final CooldownGroup child = CooldownGroup.named("ancestors-child");
+
+        // Act
+        final CooldownHierarchy hierarchy = CooldownHierarchy.of(Map.of(child, parent, parent, root));
+
+        // Assert
+        assertThat(hierarchy.ancestors(child)).containsExactly(parent, root).inOrder();
+        assertThat(hierarchy.ancestors(CooldownGroup.argument(child, 42L))).containsExactly(parent, root).inOrder();
+        assertThat(hierarchy.ancestors(root)).isEmpty();
+        assertThat(CooldownHierarchy.empty().ancestors(child)).isEmpty();
+    }
+
+    @Test
+    void testRejectsCyclicAndArgumentLinks() {
+        // Arrange
+        final CooldownGroup parent = CooldownGroup.named("cycle-parent");
+        final CooldownGroup child = CooldownGroup.named("cycle-child");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> CooldownHierarchy.of(Map.of(child, parent, parent, child)));
+        assertThrows(IllegalArgumentException.class, () -> CooldownHierarchy.of(Map.of(child, child)));
+        assertThrows(IllegalArgumentException.class, () -> CooldownHierarchy.of(Map.of(CooldownGroup.argument(child, 42L), parent)));
+    }
+}
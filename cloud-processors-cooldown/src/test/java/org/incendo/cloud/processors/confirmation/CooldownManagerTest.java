@@ -27,20 +27,35 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
 import org.incendo.cloud.CommandManager;
+import org.incendo.cloud.context.CommandContext;
 import org.incendo.cloud.execution.CommandExecutionHandler;
+import org.incendo.cloud.parser.standard.StringParser;
+import org.incendo.cloud.processors.cache.CachingContextPredicate;
 import org.incendo.cloud.processors.confirmation.util.TestCommandManager;
 import org.incendo.cloud.processors.confirmation.util.TestCommandSender;
+import org.incendo.cloud.processors.cooldown.AsyncCooldownRepository;
 import org.incendo.cloud.processors.cooldown.Cooldown;
 import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.cooldown.CooldownGroupResolver;
+import org.incendo.cloud.processors.cooldown.CooldownHierarchy;
 import org.incendo.cloud.processors.cooldown.CooldownInstance;
 import org.incendo.cloud.processors.cooldown.CooldownManager;
 import org.incendo.cloud.processors.cooldown.CooldownRepository;
 import org.incendo.cloud.processors.cooldown.DurationFunction;
+import org.incendo.cloud.processors.cooldown.EscalationPolicy;
+import org.incendo.cloud.processors.cooldown.RateLimit;
 import org.incendo.cloud.processors.cooldown.listener.CooldownActiveListener;
 import org.incendo.cloud.processors.cooldown.listener.CooldownCreationListener;
 import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+import org.incendo.cloud.processors.lifecycle.SenderLifecycle;
+import org.incendo.cloud.services.type.ConsumerService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -48,8 +63,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -68,6 +85,8 @@ class CooldownManagerTest {
     private Clock clock;
     @Mock
     private CooldownCreationListener<TestCommandSender> listener;
+    @Mock
+    private Predicate<CommandContext<TestCommandSender>> permissionCheck;
 
     private CommandManager<TestCommandSender> commandManager;
     private CooldownManager<TestCommandSender> cooldownManager;
@@ -195,6 +214,57 @@ class CooldownManagerTest {
         verify(this.listener).cooldownCreated(eq(this.commandSender), any(), any());
     }
 
+    @Test
+    void testInvalidateGroup() {
+        // Arrange
+        final Cooldown<TestCommandSender> decorator = Cooldown.of(
+                DurationFunction.constant(Duration.ofHours(1L)),
+                CooldownGroup.named("foo")
+        );
+        this.commandManager.command(
+                this.commandManager.commandBuilder("command")
+                        .apply(decorator)
+                        .handler(this.commandExecutionHandler)
+        );
+
+        when(this.clock.instant()).thenReturn(Instant.now());
+        when(this.commandExecutionHandler.executeFuture(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        this.commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+        this.cooldownManager.invalidateGroup(CooldownGroup.named("foo"));
+        this.commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+
+        // Assert
+        verify(this.commandExecutionHandler, times(2)).executeFuture(any());
+        verify(this.notifier, never()).cooldownActive(eq(this.commandSender), any(), any(), any());
+        verify(this.listener, times(2)).cooldownCreated(eq(this.commandSender), any(), any());
+    }
+
+    @Test
+    void testRateLimit() {
+        // Arrange
+        final Cooldown<TestCommandSender> decorator = Cooldown.rateLimit(RateLimit.of(2, Duration.ofHours(1L)));
+        this.commandManager.command(
+                this.commandManager.commandBuilder("command")
+                        .apply(decorator)
+                        .handler(this.commandExecutionHandler)
+        );
+
+        when(this.clock.millis()).thenReturn(Instant.now().toEpochMilli());
+        when(this.commandExecutionHandler.executeFuture(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        this.commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+        this.commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+        this.commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+
+        // Assert
+        verify(this.commandExecutionHandler, times(2)).executeFuture(any());
+        verify(this.notifier).cooldownActive(eq(this.commandSender), any(), any(), eq(Duration.ofHours(1L)));
+        verify(this.listener, never()).cooldownCreated(any(), any(), any());
+    }
+
     @Test
     void testCooldownDeletion() {
         // Arrange
@@ -216,4 +286,503 @@ class CooldownManagerTest {
         assertThat(profile.isEmpty()).isTrue();
         assertThat(this.cooldownManager.repository().getProfileIfExists(this.commandSender)).isNull();
     }
+
+    @Test
+    void testRemaining() {
+        // Arrange
+        final TestCommandSender otherSender = mock(TestCommandSender.class);
+        final CooldownGroup group = CooldownGroup.named("foo");
+        final Instant now = Instant.ofEpochSecond(1000L);
+        final CooldownProfile profile = this.cooldownManager.repository()
+                .getProfile(this.commandSender, this.cooldownManager.configuration().profileFactory());
+        profile.setCooldown(group, CooldownInstance.builder()
+                .profile(profile)
+                .group(group)
+                .duration(Duration.ofHours(1L))
+                .creationTime(now)
+                .build());
+        when(this.clock.millis()).thenReturn(now.plus(Duration.ofMinutes(10L)).toEpochMilli());
+
+        // Act
+        final long remaining = this.cooldownManager.remaining(this.commandSender, group);
+        final long[] batch = this.cooldownManager.remaining(List.of(this.commandSender, otherSender), group, new long[2]);
+
+        // Assert
+        assertThat(remaining).isEqualTo(Duration.ofMinutes(50L).toNanos());
+        assertThat(batch).asList().containsExactly(Duration.ofMinutes(50L).toNanos(), 0L).inOrder();
+        assertThat(this.cooldownManager.repository().getProfileIfExists(otherSender)).isNull();
+    }
+
+    @Test
+    void testReleaseSenderKeepsActiveCooldowns() {
+        // Arrange
+        final TestCommandSender otherSender = mock(TestCommandSender.class);
+        final CooldownGroup group = CooldownGroup.named("foo");
+        final Instant now = Instant.now();
+        for (final TestCommandSender sender : List.of(this.commandSender, otherSender)) {
+            final CooldownProfile profile = this.cooldownManager.repository()
+                    .getProfile(sender, this.cooldownManager.configuration().profileFactory());
+            profile.setCooldown(group, CooldownInstance.builder()
+                    .profile(profile)
+                    .group(group)
+                    .duration(sender == otherSender ? Duration.ofMinutes(1L) : Duration.ofHours(1L))
+                    .creationTime(now)
+                    .build());
+        }
+        when(this.clock.instant()).thenReturn(now.plus(Duration.ofMinutes(10L)));
+        final SenderLifecycle<TestCommandSender> lifecycle = SenderLifecycle.<TestCommandSender>create()
+                .register(this.cooldownManager);
+
+        // Act
+        lifecycle.release(this.commandSender);
+        lifecycle.release(otherSender);
+
+        // Assert
+        assertThat(this.cooldownManager.repository().getProfileIfExists(this.commandSender)).isNotNull();
+        assertThat(this.cooldownManager.repository().getProfileIfExists(otherSender)).isNull();
+    }
+
+    @Test
+    void testCachesBypassDecisions() {
+        // Arrange
+        final CachingContextPredicate<TestCommandSender> bypass =
+                CachingContextPredicate.of(this.permissionCheck, Duration.ofMinutes(1L), this.clock);
+        final CommandManager<TestCommandSender> commandManager = this.bypassedCommandManager(bypass);
+
+        when(this.clock.millis()).thenReturn(0L);
+        when(this.permissionCheck.test(any())).thenReturn(true);
+        when(this.commandExecutionHandler.executeFuture(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+        commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+
+        // Assert
+        verify(this.commandExecutionHandler, times(2)).executeFuture(any());
+        verify(this.permissionCheck).test(any());
+    }
+
+    @Test
+    void testExpiresBypassDecisions() {
+        // Arrange
+        final CachingContextPredicate<TestCommandSender> bypass =
+                CachingContextPredicate.of(this.permissionCheck, Duration.ofMinutes(1L), this.clock);
+        final CommandManager<TestCommandSender> commandManager = this.bypassedCommandManager(bypass);
+
+        when(this.clock.millis()).thenReturn(0L, 0L, 60_000L);
+        when(this.permissionCheck.test(any())).thenReturn(true);
+        when(this.commandExecutionHandler.executeFuture(any())).thenReturn(CompletableFuture.completedFuture(null));
+        commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+
+        // Act
+        commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+
+        // Assert
+        verify(this.permissionCheck, times(2)).test(any());
+    }
+
+    @Test
+    void testInvalidatesBypassDecisions() {
+        // Arrange
+        final CachingContextPredicate<TestCommandSender> bypass =
+                CachingContextPredicate.of(this.permissionCheck, Duration.ofMinutes(1L), this.clock);
+        final CommandManager<TestCommandSender> commandManager = this.bypassedCommandManager(bypass);
+
+        when(this.clock.millis()).thenReturn(0L);
+        when(this.permissionCheck.test(any())).thenReturn(true);
+        when(this.commandExecutionHandler.executeFuture(any())).thenReturn(CompletableFuture.completedFuture(null));
+        commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+
+        // Act
+        bypass.invalidate(this.commandSender);
+        commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+
+        // Assert
+        verify(this.permissionCheck, times(2)).test(any());
+    }
+
+    @Test
+    void testDropsBypassDecisionsInvalidatedWhileEvaluated() {
+        // Arrange
+        final CachingContextPredicate<TestCommandSender> bypass =
+                CachingContextPredicate.of(this.permissionCheck, Duration.ofMinutes(1L), this.clock);
+        final CommandManager<TestCommandSender> commandManager = this.bypassedCommandManager(bypass);
+
+        when(this.clock.millis()).thenReturn(0L);
+        when(this.permissionCheck.test(any())).thenAnswer(invocation -> {
+            bypass.invalidate(this.commandSender);
+            return true;
+        });
+        when(this.commandExecutionHandler.executeFuture(any())).thenReturn(CompletableFuture.completedFuture(null));
+        commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+
+        // Act
+        commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+
+        // Assert
+        verify(this.permissionCheck, times(2)).test(any());
+    }
+
+    @Test
+    void testPrefetchesProfileFromAsyncRepository() {
+        // Arrange
+        final AsyncCooldownRepository<TestCommandSender> repository =
+                AsyncCooldownRepository.executing(CooldownRepository.forMap(new HashMap<>()), Runnable::run);
+        final CooldownManager<TestCommandSender> cooldownManager = CooldownManager.cooldownManager(configBuilder ->
+                configBuilder.repository(repository)
+                        .addActiveCooldownListener(this.notifier)
+                        .clock(this.clock));
+        final CommandManager<TestCommandSender> commandManager = new TestCommandManager();
+        commandManager.registerCommandPreProcessor(cooldownManager.createPreprocessor());
+        commandManager.registerCommandPostProcessor(cooldownManager.createPostprocessor());
+        commandManager.command(
+                commandManager.commandBuilder("command")
+                        .apply(Cooldown.of(DurationFunction.constant(Duration.ofHours(1L))))
+                        .handler(this.commandExecutionHandler)
+        );
+
+        when(this.clock.instant()).thenReturn(Instant.now());
+        when(this.commandExecutionHandler.executeFuture(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+        commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+
+        // Assert
+        verify(this.commandExecutionHandler).executeFuture(any());
+        verify(this.notifier).cooldownActive(eq(this.commandSender), any(), any(), any());
+        assertThat(repository.getProfileIfExists(this.commandSender)).isNotNull();
+    }
+
+    @Test
+    void testPrefetchDoesNotCreateProfiles() {
+        // Arrange
+        final AsyncCooldownRepository<TestCommandSender> repository =
+                AsyncCooldownRepository.executing(CooldownRepository.forMap(new HashMap<>()), Runnable::run);
+        final CooldownManager<TestCommandSender> cooldownManager = CooldownManager.cooldownManager(configBuilder ->
+                configBuilder.repository(repository).clock(this.clock));
+        final CommandManager<TestCommandSender> commandManager = new TestCommandManager();
+        commandManager.registerCommandPreProcessor(cooldownManager.createPreprocessor());
+        commandManager.registerCommandPostProcessor(cooldownManager.createPostprocessor());
+        commandManager.command(commandManager.commandBuilder("command").handler(this.commandExecutionHandler));
+
+        when(this.commandExecutionHandler.executeFuture(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+
+        // Assert
+        verify(this.commandExecutionHandler).executeFuture(any());
+        assertThat(repository.getProfileIfExists(this.commandSender)).isNull();
+    }
+
+    @Test
+    void testFailsWhenProfileLoadTimesOut() {
+        // Arrange
+        final AsyncCooldownRepository<TestCommandSender> repository =
+                AsyncCooldownRepository.executing(CooldownRepository.forMap(new HashMap<>()), runnable -> {
+                });
+        final CooldownManager<TestCommandSender> cooldownManager = CooldownManager.cooldownManager(configBuilder ->
+                configBuilder.repository(repository)
+                        .clock(this.clock)
+                        .profileLoadTimeout(Duration.ofMillis(10L)));
+        final CommandManager<TestCommandSender> commandManager = new TestCommandManager();
+        commandManager.registerCommandPreProcessor(cooldownManager.createPreprocessor());
+        commandManager.registerCommandPostProcessor(cooldownManager.createPostprocessor());
+        commandManager.command(
+                commandManager.commandBuilder("command")
+                        .apply(Cooldown.of(DurationFunction.constant(Duration.ofHours(1L))))
+                        .handler(this.commandExecutionHandler)
+        );
+
+        // Act & Assert
+        assertThrows(
+                CompletionException.class,
+                () -> commandManager.commandExecutor().executeCommand(this.commandSender, "command").join()
+        );
+        verify(this.commandExecutionHandler, never()).executeFuture(any());
+    }
+
+    @Test
+    void testEscalatesRepeatedBlockedAttempts() {
+        // Arrange
+        final CooldownGroup group = CooldownGroup.named("escalation");
+        final CooldownManager<TestCommandSender> cooldownManager = CooldownManager.cooldownManager(configBuilder ->
+                configBuilder.repository(CooldownRepository.forMap(new HashMap<>()))
+                        .addActiveCooldownListener(this.notifier)
+                        .clock(this.clock)
+                        .escalationPolicy(EscalationPolicy.builder()
+                                .baseExtension(Duration.ofMinutes(1L))
+                                .maxExtension(Duration.ofMinutes(4L))
+                                .silenceThreshold(3)
+                                .maxTotalExtension(Duration.ofMinutes(6L))
+                                .build()));
+        final CommandManager<TestCommandSender> commandManager = new TestCommandManager();
+        commandManager.registerCommandPostProcessor(cooldownManager.createPostprocessor());
+        commandManager.command(
+                commandManager.commandBuilder("command")
+                        .apply(Cooldown.of(DurationFunction.constant(Duration.ofHours(1L)), group))
+                        .handler(this.commandExecutionHandler)
+        );
+
+        when(this.clock.instant()).thenReturn(Instant.now());
+        when(this.commandExecutionHandler.executeFuture(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+        }
+
+        // Assert
+        verify(this.commandExecutionHandler).executeFuture(any());
+        verify(this.notifier, times(3)).cooldownActive(eq(this.commandSender), any(), any(), any());
+        final CooldownInstance cooldown = cooldownManager.repository()
+                .getProfile(this.commandSender, cooldownManager.configuration().profileFactory())
+                .getCooldown(group);
+        assertThat(cooldown).isNotNull();
+        // The extensions of 1, 2 and 4 minutes are capped at a total of 6 minutes.
+        assertThat(cooldown.duration()).isEqualTo(Duration.ofMinutes(66L));
+    }
+
+    @Test
+    void testParentGroupBlocksChildGroups() {
+        // Arrange
+        final CooldownGroup combat = CooldownGroup.named("combat");
+        final CooldownGroup sword = CooldownGroup.named("sword");
+        final CooldownGroup bow = CooldownGroup.named("bow");
+        final CooldownManager<TestCommandSender> cooldownManager = CooldownManager.cooldownManager(configBuilder ->
+                configBuilder.repository(CooldownRepository.forMap(new HashMap<>()))
+                        .addActiveCooldownListener(this.notifier)
+                        .clock(this.clock)
+                        .hierarchy(CooldownHierarchy.of(Map.of(sword, combat, bow, combat))));
+        final CommandManager<TestCommandSender> commandManager = new TestCommandManager();
+        commandManager.registerCommandPostProcessor(cooldownManager.createPostprocessor());
+        commandManager.command(
+                commandManager.commandBuilder("combat")
+                        .apply(Cooldown.of(DurationFunction.constant(Duration.ofHours(1L)), combat))
+                        .handler(this.commandExecutionHandler)
+        );
+        commandManager.command(
+                commandManager.commandBuilder("sword")
+                        .apply(Cooldown.of(DurationFunction.constant(Duration.ofHours(1L)), sword))
+                        .handler(this.commandExecutionHandler)
+        );
+        commandManager.command(
+                commandManager.commandBuilder("bow")
+                        .apply(Cooldown.of(DurationFunction.constant(Duration.ofHours(1L)), bow))
+                        .handler(this.commandExecutionHandler)
+        );
+
+        when(this.clock.instant()).thenReturn(Instant.now());
+        when(this.commandExecutionHandler.executeFuture(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        commandManager.commandExecutor().executeCommand(this.commandSender, "sword").join();
+        commandManager.commandExecutor().executeCommand(this.commandSender, "combat").join();
+        commandManager.commandExecutor().executeCommand(this.commandSender, "bow").join();
+
+        // Assert
+        verify(this.commandExecutionHandler, times(2)).executeFuture(any());
+        verify(this.notifier).cooldownActive(eq(this.commandSender), any(), any(), any());
+        assertThat(cooldownManager.repository().getProfileIfExists(this.commandSender).getCooldown(bow)).isNull();
+    }
+
+    @Test
+    void testArgumentKeyedGroups() {
+        // Arrange
+        final Cooldown<TestCommandSender> decorator = Cooldown.<TestCommandSender>builder()
+                .duration(DurationFunction.constant(Duration.ofHours(1L)))
+                .group(CooldownGroup.named("tpa"))
+                .groupResolver(CooldownGroupResolver.arguments("target"))
+                .build();
+        this.commandManager.command(
+                this.commandManager.commandBuilder("command")
+                        .required("target", StringParser.stringParser())
+                        .apply(decorator)
+                        .handler(this.commandExecutionHandler)
+        );
+
+        when(this.clock.instant()).thenReturn(Instant.now());
+        when(this.commandExecutionHandler.executeFuture(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        this.commandManager.commandExecutor().executeCommand(this.commandSender, "command foo").join();
+        this.commandManager.commandExecutor().executeCommand(this.commandSender, "command foo").join();
+        this.commandManager.commandExecutor().executeCommand(this.commandSender, "command bar").join();
+
+        // Assert
+        verify(this.commandExecutionHandler, times(2)).executeFuture(any());
+        verify(this.notifier).cooldownActive(eq(this.commandSender), any(), any(), any());
+        verify(this.listener, times(2)).cooldownCreated(eq(this.commandSender), any(), any());
+    }
+
+    @Test
+    void testReservationBlocksConcurrentExecutionsUntilCommitted() {
+        // Arrange
+        final CompletableFuture<Void> execution = new CompletableFuture<>();
+        final Cooldown<TestCommandSender> decorator = Cooldown.<TestCommandSender>builder()
+                .duration(DurationFunction.constant(Duration.ofHours(1L)))
+                .reservation(true)
+                .build();
+        this.commandManager.command(
+                this.commandManager.commandBuilder("command")
+                        .apply(decorator)
+                        .handler(this.cooldownManager.reserving(this.commandExecutionHandler))
+        );
+
+        when(this.clock.instant()).thenReturn(Instant.now());
+        when(this.commandExecutionHandler.executeFuture(any())).thenReturn(execution);
+
+        // Act
+        final CompletableFuture<?> first = this.commandManager.commandExecutor().executeCommand(this.commandSender, "command");
+        this.commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+        verify(this.listener, never()).cooldownCreated(any(), any(), any());
+        execution.complete(null);
+        first.join();
+
+        // Assert
+        verify(this.commandExecutionHandler).executeFuture(any());
+        verify(this.notifier).cooldownActive(eq(this.commandSender), any(), any(), any());
+        verify(this.listener).cooldownCreated(eq(this.commandSender), any(), any());
+    }
+
+    @Test
+    void testReservationIsReleasedOnFailure() {
+        // Arrange
+        final Cooldown<TestCommandSender> decorator = Cooldown.<TestCommandSender>builder()
+                .duration(DurationFunction.constant(Duration.ofHours(1L)))
+                .reservation(true)
+                .build();
+        this.commandManager.command(
+                this.commandManager.commandBuilder("command")
+                        .apply(decorator)
+                        .handler(this.cooldownManager.reserving(this.commandExecutionHandler))
+        );
+
+        when(this.clock.instant()).thenReturn(Instant.now());
+        when(this.commandExecutionHandler.executeFuture(any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        this.commandManager.commandExecutor().executeCommand(this.commandSender, "command").exceptionally(throwable -> null).join();
+        this.commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+
+        // Assert
+        verify(this.commandExecutionHandler, times(2)).executeFuture(any());
+        verify(this.notifier, never()).cooldownActive(eq(this.commandSender), any(), any(), any());
+        verify(this.listener).cooldownCreated(eq(this.commandSender), any(), any());
+    }
+
+    @Test
+    void testReservationIsNotLeftBehindByInterruptedExecution() {
+        // Arrange
+        final AtomicBoolean interrupt = new AtomicBoolean(true);
+        final Cooldown<TestCommandSender> decorator = Cooldown.<TestCommandSender>builder()
+                .duration(DurationFunction.constant(Duration.ofHours(1L)))
+                .reservation(true)
+                .build();
+        this.commandManager.registerCommandPostProcessor(context -> {
+            if (interrupt.getAndSet(false)) {
+                ConsumerService.interrupt();
+            }
+        });
+        this.commandManager.command(
+                this.commandManager.commandBuilder("command")
+                        .apply(decorator)
+                        .handler(this.cooldownManager.reserving(this.commandExecutionHandler))
+        );
+
+        when(this.clock.instant()).thenReturn(Instant.now());
+        when(this.commandExecutionHandler.executeFuture(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        this.commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+        this.commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+
+        // Assert
+        verify(this.commandExecutionHandler).executeFuture(any());
+        verify(this.notifier, never()).cooldownActive(eq(this.commandSender), any(), any(), any());
+        verify(this.listener).cooldownCreated(eq(this.commandSender), any(), any());
+    }
+
+    @Test
+    void testRejectsReservationWithoutReservingHandler() {
+        // Arrange
+        final Cooldown<TestCommandSender> decorator = Cooldown.<TestCommandSender>builder()
+                .duration(DurationFunction.constant(Duration.ofHours(1L)))
+                .reservation(true)
+                .build();
+        this.commandManager.command(
+                this.commandManager.commandBuilder("command")
+                        .apply(decorator)
+                        .handler(this.commandExecutionHandler)
+        );
+
+        // Act & Assert
+        assertThrows(
+                CompletionException.class,
+                () -> this.commandManager.commandExecutor().executeCommand(this.commandSender, "command").join()
+        );
+        verify(this.commandExecutionHandler, never()).executeFuture(any());
+    }
+
+    @Test
+    void testCommitsReservationExtendedByEscalation() {
+        // Arrange
+        final CompletableFuture<Void> execution = new CompletableFuture<>();
+        final CooldownManager<TestCommandSender> cooldownManager = CooldownManager.cooldownManager(configBuilder ->
+                configBuilder.repository(CooldownRepository.forMap(new HashMap<>()))
+                        .clock(this.clock)
+                        .addCreationListener(this.listener)
+                        .escalationPolicy(EscalationPolicy.builder()
+                                .baseExtension(Duration.ofMinutes(1L))
+                                .maxExtension(Duration.ofMinutes(1L))
+                                .freeAttempts(0)
+                                .build()));
+        final CommandManager<TestCommandSender> commandManager = new TestCommandManager();
+        commandManager.registerCommandPostProcessor(cooldownManager.createPostprocessor());
+        final CooldownGroup group = CooldownGroup.named("reserved");
+        commandManager.command(
+                commandManager.commandBuilder("command")
+                        .apply(Cooldown.<TestCommandSender>builder()
+                                .duration(DurationFunction.constant(Duration.ofHours(1L)))
+                                .group(group)
+                                .reservation(true)
+                                .build())
+                        .handler(cooldownManager.reserving(this.commandExecutionHandler))
+        );
+
+        when(this.clock.instant()).thenReturn(Instant.now());
+        when(this.commandExecutionHandler.executeFuture(any())).thenReturn(execution);
+
+        // Act
+        final CompletableFuture<?> first = commandManager.commandExecutor().executeCommand(this.commandSender, "command");
+        commandManager.commandExecutor().executeCommand(this.commandSender, "command").join();
+        execution.complete(null);
+        first.join();
+
+        // Assert
+        verify(this.listener).cooldownCreated(eq(this.commandSender), any(), any());
+        final CooldownInstance cooldown = cooldownManager.repository()
+                .getProfile(this.commandSender, cooldownManager.configuration().profileFactory())
+                .getCooldown(group);
+        assertThat(cooldown).isNotNull();
+        assertThat(cooldown.duration()).isEqualTo(Duration.ofMinutes(61L));
+    }
+
+    private CommandManager<TestCommandSender> bypassedCommandManager(final CachingContextPredicate<TestCommandSender> bypass) {
+        final CooldownManager<TestCommandSender> cooldownManager = CooldownManager.cooldownManager(configBuilder ->
+                configBuilder.repository(CooldownRepository.forMap(new HashMap<>()))
+                        .clock(this.clock)
+                        .bypassCooldown(bypass));
+        final CommandManager<TestCommandSender> commandManager = new TestCommandManager();
+        commandManager.registerCommandPostProcessor(cooldownManager.createPostprocessor());
+        commandManager.command(
+                commandManager.commandBuilder("command")
+                        .apply(Cooldown.of(DurationFunction.constant(Duration.ofHours(1L))))
+                        .handler(this.commandExecutionHandler)
+        );
+        return commandManager;
+    }
 }
@@ -0,0 +1,233 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.confirmation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import org.incendo.cloud.processors.cooldown.CooldownConfiguration;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.cooldown.CooldownInstance;
+import org.incendo.cloud.processors.cooldown.CooldownRepository;
+import org.incendo.cloud.processors.cooldown.listener.CooldownRepositoryListener;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfileFactory;
+import org.incendo.cloud.processors.cooldown.storage.CooldownKeyCodec;
+import org.incendo.cloud.processors.cooldown.storage.CooldownSnapshot;
+import org.incendo.cloud.processors.cooldown.storage.CooldownStorageException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class CooldownSnapshotTest {
+
+    private static final CooldownGroup FOO = CooldownGroup.named("foo");
+    private static final CooldownGroup BAR = CooldownGroup.named("bar");
+
+    private CooldownConfiguration<String> configuration;
+    private CooldownProfileFactory profileFactory;
+
+    @BeforeEach
+    void setup() {
+        this.configuration = CooldownConfiguration.<String>builder()
+                .repository(CooldownRepository.forMap(new HashMap<>()))
+                .clock(Clock.systemUTC())
+                .build();
+        this.profileFactory = this.configuration.profileFactory();
+    }
+
+    @Test
+    void testRoundTripsManyCooldowns() {
+        // Arrange
+        final Instant now = Instant.now();
+        final CooldownRepository<String> repository = CooldownRepository.forMap(new HashMap<>());
+        for (int index = 0; index < 20_000; index++) {
+            this.addCooldown(repository, "sender-" + index, FOO, now);
+        }
+        this.addCooldown(repository, "sender-0", BAR, now);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final long written = CooldownSnapshot.write(repository, CooldownKeyCodec.string(), now, output);
+        final CooldownRepository<String> restored = CooldownRepository.forMap(new HashMap<>());
+
+        // Act
+        final long read = CooldownSnapshot.read(
+                restored,
+                CooldownKeyCodec.string(),
+                this.configuration,
+                now,
+                new ByteArrayInputStream(output.toByteArray())
+        );
+
+        // Assert
+        assertThat(written).isEqualTo(20_001L);
+        assertThat(read).isEqualTo(20_001L);
+        assertThat(restored.keys()).hasSize(20_000);
+        assertThat(restored.getProfileIfExists("sender-0").cooldowns()).hasSize(2);
+        final CooldownInstance cooldown = restored.getProfileIfExists("sender-19999").getCooldown(FOO);
+        assertThat(cooldown.creationTime()).isEqualTo(Instant.ofEpochMilli(now.toEpochMilli()));
+        assertThat(cooldown.duration()).isEqualTo(Duration.ofHours(1L));
+        assertThat(cooldown.profile()).isSameInstanceAs(restored.getProfileIfExists("sender-19999"));
+    }
+
+    @Test
+    void testSkipsExpiredAndUnnamedCooldowns() {
+        // Arrange
+        final Instant now = Instant.now();
+        final CooldownRepository<String> repository = CooldownRepository.forMap(new HashMap<>());
+        this.addCooldown(repository, "expired", FOO, now.minus(Duration.ofHours(2L)));
+        this.addCooldown(repository, "unnamed", CooldownGroup.argument(FOO, 42L), now);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        final long written = CooldownSnapshot.write(repository, CooldownKeyCodec.string(), now, output);
+
+        // Assert
+        assertThat(written).isEqualTo(0L);
+    }
+
+    @Test
+    void testMergesIntoExistingProfiles() {
+        // Arrange
+        final Instant now = Instant.now();
+        final CooldownRepository<String> repository = CooldownRepository.forMap(new HashMap<>());
+        this.addCooldown(repository, "sender", FOO, now);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CooldownSnapshot.write(repository, CooldownKeyCodec.string(), now, output);
+        final CooldownRepository<String> restored = CooldownRepository.forMap(new HashMap<>());
+        this.addCooldown(restored, "sender", BAR, now);
+        final CooldownProfile existing = restored.getProfileIfExists("sender");
+
+        // Act
+        CooldownSnapshot.read(
+                restored,
+                CooldownKeyCodec.string(),
+                this.configuration,
+                now,
+                new ByteArrayInputStream(output.toByteArray())
+        );
+
+        // Assert
+        assertThat(restored.getProfileIfExists("sender")).isSameInstanceAs(existing);
+        assertThat(existing.cooldowns()).hasSize(2);
+        assertThat(existing.getCooldown(FOO).profile()).isSameInstanceAs(existing);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testNotifiesListenersAboutReadCooldowns() {
+        // Arrange
+        final Instant now = Instant.now();
+        final CooldownRepository<String> repository = CooldownRepository.forMap(new HashMap<>());
+        this.addCooldown(repository, "sender", FOO, now);
+        this.addCooldown(repository, "other", FOO, now);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CooldownSnapshot.write(repository, CooldownKeyCodec.string(), now, output);
+        final CooldownRepositoryListener<String> listener = mock(CooldownRepositoryListener.class);
+        final CooldownRepository<String> restored = CooldownRepository.observing(
+                CooldownRepository.forMap(new HashMap<>()),
+                listener
+        );
+        this.addCooldown(restored, "other", BAR, now);
+
+        // Act
+        CooldownSnapshot.read(
+                restored,
+                CooldownKeyCodec.string(),
+                this.configuration,
+                now,
+                new ByteArrayInputStream(output.toByteArray())
+        );
+
+        // Assert
+        verify(listener).cooldownSet(eq("sender"), eq(FOO), any());
+        verify(listener).cooldownSet(eq("other"), eq(FOO), any());
+    }
+
+    @Test
+    void testStampsCurrentGeneration() {
+        // Arrange
+        final Instant now = Instant.now();
+        final CooldownRepository<String> repository = CooldownRepository.forMap(new HashMap<>());
+        this.addCooldown(repository, "sender", FOO, now);
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        CooldownSnapshot.write(repository, CooldownKeyCodec.string(), now, output);
+        final CooldownRepository<String> restored = CooldownRepository.forMap(new HashMap<>());
+        this.configuration.generations().invalidateAll();
+
+        // Act
+        CooldownSnapshot.read(
+                restored,
+                CooldownKeyCodec.string(),
+                this.configuration,
+                now,
+                new ByteArrayInputStream(output.toByteArray())
+        );
+
+        // Assert
+        assertThat(restored.getProfileIfExists("sender").getCooldown(FOO)).isNotNull();
+    }
+
+    @Test
+    void testRejectsInvalidSnapshot() {
+        // Arrange
+        final CooldownRepository<String> repository = CooldownRepository.forMap(new HashMap<>());
+        final byte[] snapshot = {0, 0, 0, 42, 1};
+
+        // Act & Assert
+        assertThrows(
+                CooldownStorageException.class,
+                () -> CooldownSnapshot.read(
+                        repository,
+                        CooldownKeyCodec.string(),
+                        this.configuration,
+                        Instant.now(),
+                        new ByteArrayInputStream(snapshot)
+                )
+        );
+    }
+
+    private void addCooldown(
+            final CooldownRepository<String> repository,
+            final String key,
+            final CooldownGroup group,
+            final Instant creationTime
+    ) {
+        final CooldownProfile profile = repository.getProfile(key, this.profileFactory);
+        profile.setCooldown(group, CooldownInstance.builder()
+                .profile(profile)
+                .group(group)
+                .duration(Duration.ofHours(1L))
+                .creationTime(creationTime)
+                .build());
+    }
+}
@@ -0,0 +1,109 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.confirmation;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.stream.Stream;
+import org.incendo.cloud.processors.cooldown.CooldownConfiguration;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.cooldown.CooldownRepository;
+import org.incendo.cloud.processors.cooldown.CooldownStrategy;
+import org.incendo.cloud.processors.cooldown.RateLimit;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class CooldownStrategyTest {
+
+    private static final long NOW = 10_000L;
+    private static final CooldownGroup GROUP = CooldownGroup.named("foo");
+
+    private CooldownProfile profile;
+
+    @BeforeEach
+    void setup() {
+        final CooldownConfiguration<String> configuration = CooldownConfiguration.<String>builder()
+                .repository(CooldownRepository.forMap(new HashMap<>()))
+                .build();
+        this.profile = configuration.profileFactory().create();
+    }
+
+    static Stream<Arguments> testBurstIsLimited() {
+        return Stream.of(
+                Arguments.arguments(CooldownStrategy.tokenBucket(), 1000L),
+                Arguments.arguments(CooldownStrategy.fixedWindow(), 2000L),
+                Arguments.arguments(CooldownStrategy.slidingWindow(), 2001L),
+                Arguments.arguments(CooldownStrategy.gcra(), 1000L)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testBurstIsLimited(final CooldownStrategy strategy, final long expectedWait) {
+        // Arrange
+        final RateLimit rateLimit = RateLimit.of(2, Duration.ofSeconds(1L), strategy);
+
+        // Act
+        final long first = strategy.tryAcquire(this.profile, GROUP, rateLimit, NOW);
+        final long second = strategy.tryAcquire(this.profile, GROUP, rateLimit, NOW);
+        final long third = strategy.tryAcquire(this.profile, GROUP, rateLimit, NOW);
+
+        // Assert
+        assertThat(first).isEqualTo(0L);
+        assertThat(second).isEqualTo(0L);
+        assertThat(third).isEqualTo(expectedWait);
+    }
+
+    static Stream<Arguments> testPermitAvailableAfterWait() {
+        return Stream.of(
+                Arguments.arguments(CooldownStrategy.tokenBucket()),
+                Arguments.arguments(CooldownStrategy.fixedWindow()),
+                Arguments.arguments(CooldownStrategy.slidingWindow()),
+                Arguments.arguments(CooldownStrategy.gcra())
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    void testPermitAvailableAfterWait(final CooldownStrategy strategy) {
+        // Arrange
+        final RateLimit rateLimit = RateLimit.of(2, Duration.ofSeconds(1L), strategy);
+        strategy.tryAcquire(this.profile, GROUP, rateLimit, NOW);
+        strategy.tryAcquire(this.profile, GROUP, rateLimit, NOW);
+        final long wait = strategy.tryAcquire(this.profile, GROUP, rateLimit, NOW);
+
+        // Act
+        final long beforeWait = strategy.tryAcquire(this.profile, GROUP, rateLimit, NOW + wait - 1L);
+        final long afterWait = strategy.tryAcquire(this.profile, GROUP, rateLimit, NOW + wait);
+
+        // Assert
+        assertThat(beforeWait).isGreaterThan(0L);
+        assertThat(afterWait).isEqualTo(0L);
+    }
+}
@@ -0,0 +1,133 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.confirmation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import org.incendo.cloud.processors.cooldown.CooldownConfiguration;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.cooldown.CooldownInstance;
+import org.incendo.cloud.processors.cooldown.CooldownRepository;
+import org.incendo.cloud.processors.cooldown.CooldownSweeper;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CooldownSweeperTest {
+
+    private static final Instant NOW = Instant.ofEpochSecond(1000L);
+
+    @Mock
+    private Clock clock;
+
+    private CooldownRepository<String> repository;
+    private CooldownConfiguration<String> configuration;
+
+    @BeforeEach
+    void setup() {
+        this.repository = CooldownRepository.forMap(new HashMap<>());
+        this.configuration = CooldownConfiguration.<String>builder()
+                .repository(this.repository)
+                .clock(this.clock)
+                .build();
+        when(this.clock.instant()).thenReturn(NOW);
+    }
+
+    @Test
+    void testSweepRemovesExpiredCooldownsAndEmptyProfiles() {
+        // Arrange
+        this.addCooldown("expired", CooldownGroup.named("foo"), Duration.ofSeconds(10L), NOW.minusSeconds(20L));
+        this.addCooldown("active", CooldownGroup.named("foo"), Duration.ofSeconds(10L), NOW.minusSeconds(20L));
+        this.addCooldown("active", CooldownGroup.named("bar"), Duration.ofSeconds(10L), NOW);
+
+        // Act
+        final int deleted = CooldownSweeper.of(this.repository, 10).sweep();
+
+        // Assert
+        assertThat(deleted).isEqualTo(1);
+        assertThat(this.repository.keys()).containsExactly("active");
+        assertThat(this.repository.getProfileIfExists("active").cooldowns()).hasSize(1);
+    }
+
+    @Test
+    void testSweepIsIncremental() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            this.addCooldown("sender-" + i, CooldownGroup.named("foo"), Duration.ofSeconds(10L), NOW.minusSeconds(20L));
+        }
+        final CooldownSweeper<String> sweeper = CooldownSweeper.of(this.repository, 2);
+
+        // Act & Assert
+        assertThat(sweeper.sweep()).isEqualTo(2);
+        assertThat(this.repository.keys()).hasSize(3);
+        assertThat(sweeper.sweep()).isEqualTo(2);
+        assertThat(sweeper.sweep()).isEqualTo(1);
+        assertThat(this.repository.keys()).isEmpty();
+    }
+
+    @Test
+    void testSweepsConcurrentMappingRepository() {
+        // Arrange
+        final CooldownRepository<String> backingRepository = CooldownRepository.forMap(new ConcurrentHashMap<>());
+        this.repository = CooldownRepository.mapping(key -> "id-" + key, id -> id.substring(3), backingRepository);
+        this.addCooldown("expired", CooldownGroup.named("foo"), Duration.ofSeconds(10L), NOW.minusSeconds(20L));
+        this.addCooldown("active", CooldownGroup.named("foo"), Duration.ofSeconds(10L), NOW);
+
+        // Act
+        final int deleted = CooldownSweeper.of(this.repository, 10).sweep();
+
+        // Assert
+        assertThat(deleted).isEqualTo(1);
+        assertThat(this.repository.keys()).containsExactly("active");
+        assertThat(backingRepository.keys()).containsExactly("id-active");
+    }
+
+    private void addCooldown(
+            final String key,
+            final CooldownGroup group,
+            final Duration duration,
+            final Instant creationTime
+    ) {
+        final CooldownProfile profile = this.repository.getProfile(key, this.configuration.profileFactory());
+        profile.setCooldown(
+                group,
+                CooldownInstance.builder()
+                        .profile(profile)
+                        .group(group)
+                        .duration(duration)
+                        .creationTime(creationTime)
+                        .build()
+        );
+    }
+}
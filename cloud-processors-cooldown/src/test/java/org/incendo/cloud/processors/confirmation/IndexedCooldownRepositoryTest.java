@@ -0,0 +1,125 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.confirmation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import org.incendo.cloud.processors.cooldown.CooldownConfiguration;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.cooldown.CooldownInstance;
+import org.incendo.cloud.processors.cooldown.CooldownRepository;
+import org.incendo.cloud.processors.cooldown.IndexedCooldownRepository;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IndexedCooldownRepositoryTest {
+
+    private static final Instant NOW = Instant.ofEpochSecond(1000L);
+    private static final CooldownGroup GROUP = CooldownGroup.named("kit");
+
+    @Mock(strictness = Mock.Strictness.LENIENT)
+    private Clock clock;
+
+    private IndexedCooldownRepository<String> repository;
+    private CooldownConfiguration<String> configuration;
+
+    @BeforeEach
+    void setup() {
+        this.repository = CooldownRepository.indexed(CooldownRepository.forMap(new HashMap<>()));
+        this.configuration = CooldownConfiguration.<String>builder()
+                .repository(this.repository)
+                .clock(this.clock)
+                .build();
+        when(this.clock.instant()).thenReturn(NOW);
+    }
+
+    @Test
+    void testCountActive() {
+        // Arrange
+        this.addCooldown("a", GROUP, Duration.ofHours(1L));
+        this.addCooldown("b", GROUP, Duration.ofHours(1L));
+        this.addCooldown("c", CooldownGroup.named("other"), Duration.ofHours(1L));
+        this.addCooldown("d", GROUP, Duration.ZERO);
+
+        // Act
+        final int active = this.repository.countActive(GROUP);
+
+        // Assert
+        assertThat(active).isEqualTo(2);
+        assertThat(this.repository.streamActive(GROUP)).containsExactly("a", "b");
+    }
+
+    @Test
+    void testDeletionUpdatesIndex() {
+        // Arrange
+        this.addCooldown("a", GROUP, Duration.ofHours(1L));
+        this.addCooldown("b", GROUP, Duration.ofHours(1L));
+
+        // Act
+        this.repository.deleteCooldown("a", GROUP);
+
+        // Assert
+        assertThat(this.repository.streamActive(GROUP)).containsExactly("b");
+        assertThat(this.repository.getProfileIfExists("a")).isNull();
+    }
+
+    @Test
+    void testResetGroup() {
+        // Arrange
+        this.addCooldown("a", GROUP, Duration.ofHours(1L));
+        this.addCooldown("b", GROUP, Duration.ofHours(1L));
+        this.addCooldown("b", CooldownGroup.named("other"), Duration.ofHours(1L));
+
+        // Act
+        this.repository.resetGroup(GROUP);
+
+        // Assert
+        assertThat(this.repository.countActive(GROUP)).isEqualTo(0);
+        assertThat(this.repository.keys()).containsExactly("b");
+        assertThat(this.repository.getProfileIfExists("b").getCooldown(CooldownGroup.named("other"))).isNotNull();
+    }
+
+    private void addCooldown(final String key, final CooldownGroup group, final Duration duration) {
+        final CooldownProfile profile = this.repository.getProfile(key, this.configuration.profileFactory());
+        profile.setCooldown(
+                group,
+                CooldownInstance.builder()
+                        .profile(profile)
+                        .group(group)
+                        .duration(duration)
+                        .creationTime(NOW)
+                        .build()
+        );
+    }
+}
@@ -0,0 +1,142 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.confirmation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import org.h2.jdbcx.JdbcDataSource;
+import org.incendo.cloud.processors.cooldown.CooldownConfiguration;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.cooldown.CooldownInstance;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfileFactory;
+import org.incendo.cloud.processors.cooldown.storage.CooldownKeyCodec;
+import org.incendo.cloud.processors.cooldown.storage.JdbcCooldownRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class JdbcCooldownRepositoryTest {
+
+    private static final CooldownGroup GROUP = CooldownGroup.named("foo");
+
+    private JdbcDataSource dataSource;
+    private JdbcCooldownRepository<String> repository;
+    private CooldownConfiguration<String> configuration;
+    private CooldownProfileFactory profileFactory;
+
+    @BeforeEach
+    void setup() {
+        this.dataSource = new JdbcDataSource();
+        this.dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        this.repository = this.createRepository();
+        this.repository.createTable();
+        this.configuration = CooldownConfiguration.<String>builder()
+                .repository(this.repository)
+                .clock(Clock.systemUTC())
+                .build();
+        this.profileFactory = this.configuration.profileFactory();
+    }
+
+    @Test
+    void testWarmUpLoadsFlushedCooldowns() {
+        // Arrange
+        this.addCooldown(Instant.now());
+        final int written = this.repository.flush();
+        final JdbcCooldownRepository<String> otherRepository = this.createRepository();
+
+        // Act
+        otherRepository.warmUp(this.configuration, Runnable::run).join();
+
+        // Assert
+        assertThat(written).isEqualTo(1);
+        final CooldownProfile profile = otherRepository.getProfileIfExists("sender");
+        assertThat(profile).isNotNull();
+        assertThat(profile.getCooldown(GROUP)).isNotNull();
+    }
+
+    @Test
+    void testWarmUpLoadsCooldownsAfterInvalidation() {
+        // Arrange
+        this.addCooldown(Instant.now());
+        this.repository.flush();
+        final JdbcCooldownRepository<String> otherRepository = this.createRepository();
+        this.configuration.generations().invalidateAll();
+
+        // Act
+        otherRepository.warmUp(this.configuration, Runnable::run).join();
+
+        // Assert
+        assertThat(otherRepository.getProfileIfExists("sender").getCooldown(GROUP)).isNotNull();
+    }
+
+    @Test
+    void testCoalescesDeletion() {
+        // Arrange
+        this.addCooldown(Instant.now());
+        this.repository.flush();
+        this.addCooldown(Instant.now());
+        this.repository.deleteCooldown("sender", GROUP);
+        final JdbcCooldownRepository<String> otherRepository = this.createRepository();
+
+        // Act
+        final int written = this.repository.flush();
+        otherRepository.warmUp(this.configuration, Runnable::run).join();
+
+        // Assert
+        assertThat(written).isEqualTo(1);
+        assertThat(otherRepository.getProfileIfExists("sender")).isNull();
+    }
+
+    @Test
+    void testWarmUpSkipsExpiredCooldowns() {
+        // Arrange
+        this.addCooldown(Instant.now().minus(Duration.ofHours(2L)));
+        this.repository.flush();
+        final JdbcCooldownRepository<String> otherRepository = this.createRepository();
+
+        // Act
+        otherRepository.warmUp(this.configuration, Runnable::run).join();
+
+        // Assert
+        assertThat(otherRepository.getProfileIfExists("sender")).isNull();
+    }
+
+    private JdbcCooldownRepository<String> createRepository() {
+        return JdbcCooldownRepository.create(this.dataSource, CooldownKeyCodec.string(), "cooldowns");
+    }
+
+    private void addCooldown(final Instant creationTime) {
+        final CooldownProfile profile = this.repository.getProfile("sender", this.profileFactory);
+        profile.setCooldown(GROUP, CooldownInstance.builder()
+                .profile(profile)
+                .group(GROUP)
+                .duration(Duration.ofHours(1L))
+                .creationTime(creationTime)
+                .build());
+    }
+}
@@ -0,0 +1,241 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.confirmation;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import org.incendo.cloud.processors.cooldown.CooldownConfiguration;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.cooldown.CooldownInstance;
+import org.incendo.cloud.processors.cooldown.CooldownRepository;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfileFactory;
+import org.incendo.cloud.processors.cooldown.storage.CooldownKeyCodec;
+import org.incendo.cloud.processors.cooldown.storage.JournalCooldownRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class JournalCooldownRepositoryTest {
+
+    private static final CooldownGroup FOO = CooldownGroup.named("foo");
+    private static final CooldownGroup BAR = CooldownGroup.named("bar");
+
+    @TempDir
+    private Path directory;
+
+    private CooldownConfiguration<String> configuration;
+    private CooldownProfileFactory profileFactory;
+
+    @BeforeEach
+    void setup() {
+        this.configuration = CooldownConfiguration.<String>builder()
+                .repository(CooldownRepository.forMap(new HashMap<>()))
+                .clock(Clock.systemUTC())
+                .build();
+        this.profileFactory = this.configuration.profileFactory();
+    }
+
+    @Test
+    void testReplaysJournal() {
+        // Arrange
+        final JournalCooldownRepository<String> repository = this.openRepository();
+        this.addCooldown(repository, FOO, Instant.now());
+        final int appended = repository.flush();
+        repository.close();
+
+        // Act
+        final JournalCooldownRepository<String> replayed = this.openRepository();
+
+        // Assert
+        assertThat(appended).isEqualTo(1);
+        assertThat(replayed.getProfileIfExists("sender").getCooldown(FOO)).isNotNull();
+    }
+
+    @Test
+    void testReplaysJournalAfterInvalidation() {
+        // Arrange
+        final JournalCooldownRepository<String> repository = this.openRepository();
+        this.addCooldown(repository, FOO, Instant.now());
+        repository.flush();
+        repository.close();
+        this.configuration.generations().invalidateAll();
+
+        // Act
+        final JournalCooldownRepository<String> replayed = this.openRepository();
+
+        // Assert
+        assertThat(replayed.getProfileIfExists("sender").getCooldown(FOO)).isNotNull();
+    }
+
+    @Test
+    void testReplaysSnapshotAndJournalTail() throws IOException {
+        // Arrange
+        final JournalCooldownRepository<String> repository = this.openRepository();
+        this.addCooldown(repository, FOO, Instant.now());
+        repository.snapshot();
+        final long truncatedLength = Files.size(this.directory.resolve("cooldowns.journal"));
+        this.addCooldown(repository, BAR, Instant.now());
+        repository.close();
+
+        // Act
+        final JournalCooldownRepository<String> replayed = this.openRepository();
+
+        // Assert
+        assertThat(truncatedLength).isEqualTo(0L);
+        assertThat(replayed.getProfileIfExists("sender").cooldowns()).hasSize(2);
+    }
+
+    @Test
+    void testSkipsExpiredCooldowns() {
+        // Arrange
+        final JournalCooldownRepository<String> repository = this.openRepository();
+        this.addCooldown(repository, FOO, Instant.now().minus(Duration.ofHours(2L)));
+        repository.close();
+
+        // Act
+        final JournalCooldownRepository<String> replayed = this.openRepository();
+
+        // Assert
+        assertThat(replayed.getProfileIfExists("sender")).isNull();
+    }
+
+    @Test
+    void testUsesClockToSkipExpiredCooldowns() {
+        // Arrange
+        final JournalCooldownRepository<String> repository = this.openRepository();
+        this.addCooldown(repository, FOO, Instant.now());
+        repository.close();
+        final Clock clock = Clock.offset(Clock.systemUTC(), Duration.ofHours(2L));
+
+        // Act
+        final JournalCooldownRepository<String> replayed = this.openRepository(clock);
+
+        // Assert
+        assertThat(replayed.getProfileIfExists("sender")).isNull();
+    }
+
+    @Test
+    void testDiscardsTornRecord() throws IOException {
+        // Arrange
+        final JournalCooldownRepository<String> repository = this.openRepository();
+        this.addCooldown(repository, FOO, Instant.now());
+        repository.close();
+        Files.write(this.directory.resolve("cooldowns.journal"), new byte[] {0, 0, 0, 42, 0}, StandardOpenOption.APPEND);
+
+        // Act
+        final JournalCooldownRepository<String> replayed = this.openRepository();
+
+        // Assert
+        assertThat(replayed.getProfileIfExists("sender").getCooldown(FOO)).isNotNull();
+    }
+
+    @Test
+    void testTruncatesAtGarbageLength() throws IOException {
+        // Arrange
+        final JournalCooldownRepository<String> repository = this.openRepository();
+        this.addCooldown(repository, FOO, Instant.now());
+        repository.close();
+        final Path journal = this.directory.resolve("cooldowns.journal");
+        final long validLength = Files.size(journal);
+        Files.write(journal, new byte[] {(byte) 0x7f, (byte) 0xff, (byte) 0xff, (byte) 0xff, 0, 0, 0, 0, 1}, StandardOpenOption.APPEND);
+
+        // Act
+        final JournalCooldownRepository<String> replayed = this.openRepository();
+
+        // Assert
+        assertThat(replayed.getProfileIfExists("sender").getCooldown(FOO)).isNotNull();
+        assertThat(Files.size(journal)).isEqualTo(validLength);
+    }
+
+    @Test
+    void testTruncatesAtZeroLengthRecord() throws IOException {
+        // Arrange
+        final Path journal = this.directory.resolve("cooldowns.journal");
+        Files.write(journal, new byte[16]);
+
+        // Act
+        final JournalCooldownRepository<String> replayed = this.openRepository();
+
+        // Assert
+        assertThat(replayed.getProfileIfExists("sender")).isNull();
+        assertThat(Files.size(journal)).isEqualTo(0L);
+    }
+
+    @Test
+    void testTruncatesAtChecksumMismatch() throws IOException {
+        // Arrange
+        final JournalCooldownRepository<String> repository = this.openRepository();
+        this.addCooldown(repository, FOO, Instant.now());
+        repository.flush();
+        final Path journal = this.directory.resolve("cooldowns.journal");
+        final long validLength = Files.size(journal);
+        this.addCooldown(repository, BAR, Instant.now());
+        repository.close();
+        final byte[] bytes = Files.readAllBytes(journal);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(journal, bytes);
+
+        // Act
+        final JournalCooldownRepository<String> replayed = this.openRepository();
+
+        // Assert
+        assertThat(replayed.getProfileIfExists("sender").getCooldown(FOO)).isNotNull();
+        assertThat(replayed.getProfileIfExists("sender").getCooldown(BAR)).isNull();
+        assertThat(Files.size(journal)).isEqualTo(validLength);
+    }
+
+    private JournalCooldownRepository<String> openRepository() {
+        return this.openRepository(Clock.systemUTC());
+    }
+
+    private JournalCooldownRepository<String> openRepository(final Clock clock) {
+        final JournalCooldownRepository<String> repository = JournalCooldownRepository.create(
+                CooldownRepository.forMap(new HashMap<>()),
+                CooldownKeyCodec.string(),
+                this.directory,
+                clock
+        );
+        repository.open(this.configuration);
+        return repository;
+    }
+
+    private void addCooldown(final CooldownRepository<String> repository, final CooldownGroup group, final Instant creationTime) {
+        final CooldownProfile profile = repository.getProfile("sender", this.profileFactory);
+        profile.setCooldown(group, CooldownInstance.builder()
+                .profile(profile)
+                .group(group)
+                .duration(Duration.ofHours(1L))
+                .creationTime(creationTime)
+                .build());
+    }
+}
@@ -0,0 +1,81 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.confirmation;
+
+import java.time.Duration;
+import org.incendo.cloud.processors.cooldown.LoadScaler;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class LoadScalerTest {
+
+    @Test
+    void testStretchesUpToMaxScale() {
+        // Arrange
+        final LoadScaler scaler = LoadScaler.of(() -> 10.0D, 1.0D, 3.0D, Duration.ZERO);
+
+        // Act
+        final Duration duration = scaler.scale(Duration.ofSeconds(10L));
+
+        // Assert
+        assertThat(duration).isEqualTo(Duration.ofSeconds(30L));
+    }
+
+    @Test
+    void testShrinksDownToMinScale() {
+        // Arrange
+        final LoadScaler scaler = LoadScaler.of(() -> 0.25D, 0.5D, 3.0D, Duration.ZERO);
+
+        // Act
+        final Duration duration = scaler.scale(Duration.ofSeconds(10L));
+
+        // Assert
+        assertThat(duration).isEqualTo(Duration.ofSeconds(5L));
+    }
+
+    @Test
+    void testSmoothsSpikes() {
+        // Arrange
+        final LoadScaler scaler = LoadScaler.of(() -> 10.0D, 1.0D, 10.0D, Duration.ofHours(1L));
+
+        // Act
+        final double scale = scaler.scale();
+
+        // Assert
+        assertThat(scale).isLessThan(1.1D);
+    }
+
+    @Test
+    void testIgnoresInvalidSamples() {
+        // Arrange
+        final LoadScaler scaler = LoadScaler.of(() -> Double.NaN, 0.5D, 2.0D, Duration.ZERO);
+
+        // Act
+        final double scale = scaler.scale();
+
+        // Assert
+        assertThat(scale).isEqualTo(1.0D);
+    }
+}
@@ -0,0 +1,126 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.confirmation;
+
+import java.util.List;
+import org.incendo.cloud.Command;
+import org.incendo.cloud.CommandManager;
+import org.incendo.cloud.processors.confirmation.util.TestCommandManager;
+import org.incendo.cloud.processors.confirmation.util.TestCommandSender;
+import org.incendo.cloud.processors.cooldown.offender.Offender;
+import org.incendo.cloud.processors.cooldown.offender.OffenderTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.mock;
+
+@ExtendWith(MockitoExtension.class)
+class OffenderTrackerTest {
+
+    @Mock
+    private TestCommandSender spammer;
+    @Mock
+    private TestCommandSender other;
+
+    private Command<TestCommandSender> command;
+    private Command<TestCommandSender> otherCommand;
+    private OffenderTracker<TestCommandSender> tracker;
+
+    @BeforeEach
+    void setup() {
+        final CommandManager<TestCommandSender> commandManager = new TestCommandManager();
+        this.command = commandManager.commandBuilder("command").build();
+        this.otherCommand = commandManager.commandBuilder("other").build();
+        this.tracker = OffenderTracker.create(2);
+    }
+
+    @Test
+    void testTracksHeavyHitters() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            this.tracker.recordBlocked(this.spammer, this.command);
+        }
+        for (int i = 0; i < 3; i++) {
+            this.tracker.recordBlocked(this.other, this.otherCommand);
+        }
+        this.tracker.recordBlocked(mock(TestCommandSender.class), this.otherCommand);
+        this.tracker.recordBlocked(mock(TestCommandSender.class), this.otherCommand);
+        this.tracker.recordBlocked(this.spammer, this.command);
+
+        // Act
+        final List<Offender<Object>> offenders = this.tracker.topOffenders(1);
+        final List<Offender<Command<TestCommandSender>>> commands = this.tracker.topCommands(2);
+
+        // Assert
+        assertThat(offenders).hasSize(1);
+        assertThat(offenders.get(0).key()).isSameInstanceAs(this.spammer);
+        assertThat(offenders.get(0).blocked()).isEqualTo(6L);
+        assertThat(offenders.get(0).error()).isEqualTo(0L);
+        assertThat(commands.get(0).key()).isSameInstanceAs(this.command);
+        assertThat(commands.get(1).key()).isSameInstanceAs(this.otherCommand);
+        assertThat(commands.get(0).blocked()).isEqualTo(6L);
+        assertThat(commands.get(1).blocked()).isEqualTo(5L);
+    }
+
+    @Test
+    void testEvictedKeysInheritMinimumAsError() {
+        // Arrange
+        this.tracker.recordBlocked(this.spammer, this.command);
+        this.tracker.recordBlocked(this.spammer, this.command);
+        this.tracker.recordBlocked(this.other, this.command);
+        final TestCommandSender newcomer = mock(TestCommandSender.class);
+
+        // Act
+        this.tracker.recordBlocked(newcomer, this.command);
+
+        // Assert
+        final List<Offender<Object>> offenders = this.tracker.topOffenders(2);
+        assertThat(offenders).hasSize(2);
+        final Offender<Object> offender = offenders.stream()
+                .filter(candidate -> candidate.key() == newcomer)
+                .findFirst()
+                .orElseThrow();
+        assertThat(offender.blocked()).isEqualTo(2L);
+        assertThat(offender.error()).isEqualTo(1L);
+    }
+
+    @Test
+    void testCountsCreationsOfTrackedKeys() {
+        // Arrange
+        this.tracker.recordBlocked(this.spammer, this.command);
+
+        // Act
+        this.tracker.recordCreated(this.spammer, this.command);
+        this.tracker.recordCreated(this.other, this.command);
+
+        // Assert
+        final List<Offender<Object>> offenders = this.tracker.topOffenders(10);
+        assertThat(offenders).hasSize(1);
+        assertThat(offenders.get(0).created()).isEqualTo(1L);
+    }
+}
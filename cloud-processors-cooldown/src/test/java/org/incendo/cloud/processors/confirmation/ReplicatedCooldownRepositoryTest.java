@@ -0,0 +1,145 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.confirmation;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import org.incendo.cloud.processors.cooldown.CooldownConfiguration;
+import org.incendo.cloud.processors.cooldown.CooldownGroup;
+import org.incendo.cloud.processors.cooldown.CooldownInstance;
+import org.incendo.cloud.processors.cooldown.CooldownRepository;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfile;
+import org.incendo.cloud.processors.cooldown.profile.CooldownProfileFactory;
+import org.incendo.cloud.processors.cooldown.replication.LoopbackCooldownTransport;
+import org.incendo.cloud.processors.cooldown.replication.ReplicatedCooldownRepository;
+import org.incendo.cloud.processors.cooldown.storage.CooldownKeyCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+class ReplicatedCooldownRepositoryTest {
+
+    private static final CooldownGroup GROUP = CooldownGroup.named("foo");
+
+    private ReplicatedCooldownRepository<String> first;
+    private ReplicatedCooldownRepository<String> second;
+    private CooldownProfileFactory profileFactory;
+    private CooldownConfiguration<String> secondConfiguration;
+
+    @BeforeEach
+    void setup() {
+        final LoopbackCooldownTransport transport = LoopbackCooldownTransport.create();
+        this.first = ReplicatedCooldownRepository.create(
+                CooldownRepository.forMap(new HashMap<>()),
+                CooldownKeyCodec.string(),
+                transport.endpoint()
+        );
+        this.second = ReplicatedCooldownRepository.create(
+                CooldownRepository.forMap(new HashMap<>()),
+                CooldownKeyCodec.string(),
+                transport.endpoint()
+        );
+        final CooldownConfiguration<String> firstConfiguration = CooldownConfiguration.<String>builder()
+                .repository(this.first)
+                .clock(Clock.systemUTC())
+                .build();
+        this.secondConfiguration = CooldownConfiguration.<String>builder()
+                .repository(this.second)
+                .clock(Clock.systemUTC())
+                .build();
+        this.profileFactory = firstConfiguration.profileFactory();
+        this.first.connect(firstConfiguration);
+        this.second.connect(this.secondConfiguration);
+    }
+
+    @Test
+    void testReplicatesCreation() {
+        // Arrange
+        this.addCooldown(this.first);
+
+        // Act
+        final int published = this.first.flush();
+
+        // Assert
+        assertThat(published).isEqualTo(1);
+        final CooldownProfile profile = this.second.getProfileIfExists("sender");
+        assertThat(profile).isNotNull();
+        assertThat(profile.getCooldown(GROUP)).isNotNull();
+    }
+
+    @Test
+    void testReplicatesCreationAfterInvalidation() {
+        // Arrange
+        this.secondConfiguration.generations().invalidateAll();
+        this.addCooldown(this.first);
+
+        // Act
+        this.first.flush();
+
+        // Assert
+        assertThat(this.second.getProfileIfExists("sender").getCooldown(GROUP)).isNotNull();
+    }
+
+    @Test
+    void testReplicatesDeletion() {
+        // Arrange
+        this.addCooldown(this.first);
+        this.first.flush();
+        this.second.deleteCooldown("sender", GROUP);
+
+        // Act
+        this.second.flush();
+
+        // Assert
+        assertThat(this.first.getProfileIfExists("sender")).isNull();
+    }
+
+    @Test
+    void testCoalescesModifications() {
+        // Arrange
+        this.addCooldown(this.first);
+        this.first.deleteCooldown("sender", GROUP);
+        this.addCooldown(this.first);
+
+        // Act
+        final int published = this.first.flush();
+
+        // Assert
+        assertThat(published).isEqualTo(1);
+        assertThat(this.second.getProfileIfExists("sender").getCooldown(GROUP)).isNotNull();
+    }
+
+    private void addCooldown(final ReplicatedCooldownRepository<String> repository) {
+        final CooldownProfile profile = repository.getProfile("sender", this.profileFactory);
+        profile.setCooldown(GROUP, CooldownInstance.builder()
+                .profile(profile)
+                .group(GROUP)
+                .duration(Duration.ofHours(1L))
+                .creationTime(Instant.now())
+                .build());
+    }
+}
@@ -0,0 +1,136 @@
+//
+// MIT License
+//
+// Copyright (c) 2024 Incendo
+//
+// Permission is hereby granted, free of charge, to any person obtaining a copy
+// of this software and associated documentation files (the "Software"), to deal
+// in the Software without restriction, including without limitation the rights
+// to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+// copies of the Software, and to permit persons to whom the Software is
+// furnished to do so, subject to the following conditions:
+//
+// The above copyright notice and this permission notice shall be included in all
+// copies or substantial portions of the Software.
+//
+// THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+// IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+// FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+// AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+// LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+// OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+// SOFTWARE.
+//
+package org.incendo.cloud.processors.confirmation;
+
+import java.time.Duration;
+import org.incendo.cloud.context.CommandContext;
+import org.incendo.cloud.processors.confirmation.util.TestCommandSender;
+import org.incendo.cloud.processors.cooldown.sketch.SketchLimit;
+import org.incendo.cloud.processors.cooldown.sketch.SketchLimitListener;
+import org.incendo.cloud.processors.cooldown.sketch.SketchRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SketchRateLimiterTest {
+
+    private static final long NOW = 60_000L;
+
+    @Mock
+    private SketchLimitListener<TestCommandSender> listener;
+    @Mock
+    private CommandContext<TestCommandSender> context;
+
+    private SketchRateLimiter<TestCommandSender> limiter;
+    private String key;
+
+    @BeforeEach
+    void setup() {
+        this.limiter = SketchRateLimiter.create(SketchLimit.of(2, Duration.ofMinutes(1L)), context -> this.key, this.listener);
+        this.key = "127.0.0.1";
+    }
+
+    @Test
+    void testRejectsWhenLimitReached() {
+        // Arrange
+        this.limiter.tryAcquire(this.context, NOW);
+        this.limiter.tryAcquire(this.context, NOW);
+
+        // Act
+        final boolean allowed = this.limiter.tryAcquire(this.context, NOW);
+
+        // Assert
+        assertThat(allowed).isFalse();
+        verify(this.listener).sketchLimitReached(this.context, this.limiter.limit());
+    }
+
+    @Test
+    void testCountsKeysSeparately() {
+        // Arrange
+        this.limiter.tryAcquire(this.context, NOW);
+        this.limiter.tryAcquire(this.context, NOW);
+        this.key = "127.0.0.2";
+
+        // Act
+        final boolean allowed = this.limiter.tryAcquire(this.context, NOW);
+
+        // Assert
+        assertThat(allowed).isTrue();
+        assertThat(this.limiter.estimate("127.0.0.1", NOW)).isEqualTo(2D);
+    }
+
+    @Test
+    void testSlidingWindowDecays() {
+        // Arrange
+        this.limiter.tryAcquire(this.context, NOW);
+        this.limiter.tryAcquire(this.context, NOW);
+
+        // Act
+        final boolean allowedHalfway = this.limiter.tryAcquire(this.context, NOW + 90_000L);
+        final boolean allowedLater = this.limiter.tryAcquire(this.context, NOW + 180_000L);
+
+        // Assert
+        assertThat(allowedHalfway).isTrue();
+        assertThat(allowedLater).isTrue();
+    }
+
+    @Test
+    void testEstimateNeverUndercounts() {
+        // Arrange
+        final SketchRateLimiter<TestCommandSender> limiter = SketchRateLimiter.create(
+                SketchLimit.builder().limit(1_000).window(Duration.ofMinutes(1L)).width(64).depth(2).build(),
+                context -> this.key,
+                this.listener
+        );
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            this.key = "key-" + (i % 500);
+            limiter.tryAcquire(this.context, NOW);
+        }
+
+        // Assert
+        for (int i = 0; i < 500; i++) {
+            assertThat(limiter.estimate("key-" + i, NOW)).isAtLeast(20D);
+        }
+    }
+
+    @Test
+    void testFalsePositiveRate() {
+        // Arrange
+        final SketchLimit limit = SketchLimit.of(10, Duration.ofMinutes(1L));
+
+        // Act
+        final double rate = limit.falsePositiveRate(1_000L);
+
+        // Assert
+        assertThat(rate).isLessThan(0.0001D);
+    }
+}